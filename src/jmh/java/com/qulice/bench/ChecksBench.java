@@ -0,0 +1,212 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.bench;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.ConfigurationLoader;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.PropertiesExpander;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.InputSource;
+
+/**
+ * Throughput of every custom Checkstyle check, alone, on synthetic
+ * sources of growing size.
+ *
+ * <p>Every check is configured as in {@code checks.xml}, or with no
+ * properties if it's not there, inside a {@code TreeWalker} if it's
+ * a tree check. Run with {@code -prof gc} to see the allocation rate.</p>
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChecksBench {
+
+    /**
+     * Package of custom checks.
+     */
+    private static final String PKG = "com.qulice.checkstyle.";
+
+    /**
+     * Simple name of the check.
+     * @checkstyle VisibilityModifierCheck (50 lines)
+     */
+    @Param({
+        "BracketsStructureCheck", "CascadeIndentationCheck",
+        "ConditionalRegexpMultilineCheck", "ConstantUsageCheck",
+        "ConstructorsCodeFreeCheck", "ConstructorsOrderCheck",
+        "CurlyBracketsStructureCheck", "DiamondOperatorCheck",
+        "EmptyLineBeforeFirstMemberCheck", "EmptyLinesCheck",
+        "EnumValueNameCheck", "ExtraSemicolonCheck",
+        "FinalSemicolonInTryWithResourcesCheck", "IfThenThrowElseCheck",
+        "ImportCohesionCheck", "JavadocEmptyLineBeforeTagCheck",
+        "JavadocEmptyLineCheck", "JavadocFirstLineCheck",
+        "JavadocLocationCheck", "JavadocParameterOrderCheck",
+        "JavadocTagsCheck", "JavadocTagsDotCheck", "JavadocThrowsCheck",
+        "MethodBodyCommentsCheck", "MethodDeclarationLengthCheck",
+        "MethodsOrderCheck", "MultiLineCommentCheck",
+        "MultilineJavadocTagsCheck", "NestedSwitchCheck",
+        "NoJavadocForOverriddenMethodsCheck", "NonStaticMethodCheck",
+        "ProhibitFieldsInTestClassesCheck",
+        "ProhibitLineSeparatorInStringsCheck",
+        "ProhibitNonFinalClassesCheck", "ProhibitTestExpectedCheck",
+        "ProhibitTestMethodNameCheck",
+        "ProhibitUnusedPrivateConstructorCheck",
+        "ProtectedMethodInFinalClassCheck", "QualifyInnerClassCheck",
+        "RedundantSuperConstructorCheck", "SimpleStringSplitCheck",
+        "SingleLineCommentCheck", "StaticAccessViaInstanceCheck",
+        "StringLiteralsConcatenationCheck",
+    })
+    public String check;
+
+    /**
+     * Number of methods in the synthetic source.
+     */
+    @Param({"10", "100", "1000"})
+    public int methods;
+
+    /**
+     * Temporary directory.
+     */
+    private Path dir;
+
+    /**
+     * The synthetic source.
+     */
+    private List<File> files;
+
+    /**
+     * Checker with the check only.
+     */
+    private Checker checker;
+
+    /**
+     * Prepare the checker and the source.
+     * @throws Exception If fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.dir = Files.createTempDirectory("qulice-bench");
+        this.files = Collections.singletonList(
+            new Synthetic(this.methods).save(this.dir).toFile()
+        );
+        final DefaultConfiguration root = new DefaultConfiguration("Checker");
+        root.addProperty("charset", "UTF-8");
+        root.addChild(ChecksBench.module(ChecksBench.PKG.concat(this.check)));
+        this.checker = new Checker();
+        this.checker.setModuleClassLoader(Thread.currentThread().getContextClassLoader());
+        this.checker.configure(root);
+    }
+
+    /**
+     * Remove the source.
+     * @throws IOException If fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.checker.destroy();
+        FileUtils.deleteDirectory(this.dir.toFile());
+    }
+
+    /**
+     * Check the source.
+     * @return Number of violations
+     * @throws CheckstyleException If fails
+     */
+    @Benchmark
+    public int process() throws CheckstyleException {
+        return this.checker.process(this.files);
+    }
+
+    /**
+     * Configuration of the check, as in {@code checks.xml}, to be put
+     * right under the {@code Checker}.
+     * @param name Full name of the check
+     * @return Configuration
+     * @throws Exception If fails
+     */
+    private static Configuration module(final String name) throws Exception {
+        final Configuration all = ChecksBench.all();
+        Configuration found = null;
+        for (final Configuration child : all.getChildren()) {
+            if (name.equals(child.getName())) {
+                found = child;
+                break;
+            }
+            if ("TreeWalker".equals(child.getName())) {
+                for (final Configuration leaf : child.getChildren()) {
+                    if (name.equals(leaf.getName())) {
+                        found = ChecksBench.walker(leaf);
+                        break;
+                    }
+                }
+            }
+            if (found != null) {
+                break;
+            }
+        }
+        if (found == null) {
+            found = ChecksBench.walker(new DefaultConfiguration(name));
+        }
+        return found;
+    }
+
+    /**
+     * Put the check inside a {@code TreeWalker}.
+     * @param check Configuration of the check
+     * @return Configuration of the walker
+     */
+    private static Configuration walker(final Configuration check) {
+        final DefaultConfiguration walker = new DefaultConfiguration("TreeWalker");
+        walker.addChild(check);
+        return walker;
+    }
+
+    /**
+     * Configuration from {@code checks.xml}.
+     * @return Configuration
+     * @throws Exception If fails
+     */
+    private static Configuration all() throws Exception {
+        try (InputStream stream = ChecksBench.class.getResourceAsStream(
+            "/com/qulice/checkstyle/checks.xml"
+        )) {
+            return ConfigurationLoader.loadConfiguration(
+                new InputSource(stream),
+                new PropertiesExpander(new Properties()),
+                ConfigurationLoader.IgnoredModulesOptions.OMIT
+            );
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import net.sourceforge.pmd.PMDConfiguration;
+import net.sourceforge.pmd.PmdAnalysis;
+import net.sourceforge.pmd.lang.rule.Rule;
+import net.sourceforge.pmd.lang.rule.RuleSet;
+import net.sourceforge.pmd.lang.rule.RuleSetLoader;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of every custom PMD rule, alone, on synthetic sources of
+ * growing size.
+ *
+ * <p>Every rule is configured as in {@code ruleset.xml}. The time
+ * includes parsing of the source by PMD, which is the same for all
+ * rules, so compare them with each other, not with Checkstyle
+ * checks. Run with {@code -prof gc} to see the allocation rate.</p>
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RulesBench {
+
+    /**
+     * Simple name of the rule class.
+     * @checkstyle VisibilityModifierCheck (20 lines)
+     */
+    @Param({
+        "ProhibitFormatInLoggerRule", "ProhibitPlainJunitAssertionsRule",
+        "UnitTestContainsTooManyAssertsRule", "UnitTestShouldIncludeAssertRule",
+        "UnnecessaryLocalRule", "UseCollectionsSingletonListRule",
+        "UseStringIsEmptyRule",
+    })
+    public String rule;
+
+    /**
+     * Number of methods in the synthetic source.
+     */
+    @Param({"10", "100", "1000"})
+    public int methods;
+
+    /**
+     * Temporary directory.
+     */
+    private Path dir;
+
+    /**
+     * The synthetic source.
+     */
+    private Path file;
+
+    /**
+     * PMD configuration.
+     */
+    private PMDConfiguration config;
+
+    /**
+     * Ruleset with the rule only.
+     */
+    private RuleSet single;
+
+    /**
+     * Prepare the rule and the source.
+     * @throws IOException If fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.dir = Files.createTempDirectory("qulice-bench");
+        this.file = new Synthetic(this.methods).save(this.dir);
+        this.config = new PMDConfiguration();
+        this.config.setIgnoreIncrementalAnalysis(true);
+        Rule found = null;
+        for (final Rule each : RuleSetLoader.fromPmdConfig(this.config)
+            .loadFromResource("com/qulice/pmd/ruleset.xml").getRules()) {
+            if (each.getRuleClass().endsWith(".".concat(this.rule))) {
+                found = each;
+            }
+        }
+        if (found == null) {
+            throw new IllegalStateException(
+                String.format("Rule %s is not in ruleset.xml", this.rule)
+            );
+        }
+        this.single = RuleSet.forSingleRule(found);
+    }
+
+    /**
+     * Remove the source.
+     * @throws IOException If fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.dir.toFile());
+    }
+
+    /**
+     * Analyze the source.
+     * @return Number of violations
+     */
+    @Benchmark
+    public int analyze() {
+        try (PmdAnalysis analysis = PmdAnalysis.create(this.config)) {
+            analysis.addRuleSet(RuleSet.copy(this.single));
+            analysis.files().addFile(this.file);
+            return analysis.performAnalysisAndCollectReport().getViolations().size();
+        }
+    }
+}
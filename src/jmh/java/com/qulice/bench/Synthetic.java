@@ -0,0 +1,127 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Synthetic Java source of the given size, for benchmarks.
+ *
+ * <p>The source is a test class with constants, fields, constructors,
+ * Javadoc, comments, loggers, switches, string concatenation,
+ * try-with-resources and JUnit assertions, repeated as many times as
+ * needed, so that every custom check and rule finds something to visit,
+ * and a check which is quadratic in the size of the file shows it.</p>
+ *
+ * @since 1.0
+ */
+public final class Synthetic {
+
+    /**
+     * Number of methods.
+     */
+    private final int methods;
+
+    /**
+     * Ctor.
+     * @param methods Number of methods
+     */
+    public Synthetic(final int methods) {
+        this.methods = methods;
+    }
+
+    /**
+     * Save the source into the directory.
+     * @param dir Directory
+     * @return Path of the file saved, named after the class
+     * @throws IOException If fails
+     */
+    public Path save(final Path dir) throws IOException {
+        final Path file = dir.resolve(
+            String.format("foo/Synthetic%dTest.java", this.methods)
+        );
+        Files.createDirectories(file.getParent());
+        return Files.write(file, this.text().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The source.
+     * @return Java source
+     */
+    public String text() {
+        final StringBuilder out = new StringBuilder(this.methods * 1024);
+        out.append("/*\n * This is not a real license.\n */\n")
+            .append("package foo;\n\n")
+            .append("import com.jcabi.log.Logger;\n")
+            .append("import java.io.IOException;\n")
+            .append("import java.io.StringReader;\n")
+            .append("import java.util.ArrayList;\n")
+            .append("import java.util.Arrays;\n")
+            .append("import java.util.List;\n")
+            .append("import org.hamcrest.MatcherAssert;\n")
+            .append("import org.hamcrest.Matchers;\n")
+            .append("import org.junit.jupiter.api.Assertions;\n")
+            .append("import org.junit.jupiter.api.Test;\n\n")
+            .append("/**\n * Synthetic class.\n * @since 1.0\n */\n")
+            .append(String.format("final class Synthetic%dTest {%n%n", this.methods));
+        for (int idx = 0; idx < this.methods; ++idx) {
+            out.append(
+                String.format(
+                    String.join(
+                        "\n",
+                        "    /**",
+                        "     * Constant number %1$d.",
+                        "     */",
+                        "    private static final String NAME%1$d = \"name-%1$d\";",
+                        "",
+                        "    /**",
+                        "     * Field number %1$d.",
+                        "     */",
+                        "    private final List<String> items%1$d = new ArrayList<>(%1$d);",
+                        "",
+                        "    @Test",
+                        "    void checksItems%1$d() throws IOException {",
+                        "        // Collect the items first",
+                        "        final List<String> list = new ArrayList<String>(1);",
+                        "        for (int pos = 0; pos < %1$d; ++pos) {",
+                        "            list.add(Synthetic%2$dTest.NAME%1$d + \"-\" + pos);",
+                        "        }",
+                        "        /* Old style comment */",
+                        "        final String text = String.format(\"%%d items\", list.size());",
+                        "        Logger.info(this, String.format(\"Found %%s\", text));",
+                        "        switch (list.size() %% 3) {",
+                        "            case 0:",
+                        "                Assertions.assertEquals(0, list.size() %% 3);",
+                        "                break;",
+                        "            default:",
+                        "                if (\"\".equals(text)) {",
+                        "                    throw new IllegalStateException(\"empty\");",
+                        "                }",
+                        "                break;",
+                        "        }",
+                        "        try (StringReader reader = new StringReader(text);) {",
+                        "            MatcherAssert.assertThat(",
+                        "                \"must be read\", reader.read(), Matchers.greaterThan(0)",
+                        "            );",
+                        "        }",
+                        "        final List<String> single = Arrays.asList(text);",
+                        "        this.items%1$d.addAll(single);",
+                        "        MatcherAssert.assertThat(",
+                        "            \"must not be empty\", this.items%1$d, Matchers.not(Matchers.empty())",
+                        "        );",
+                        "    }",
+                        "",
+                        ""
+                    ),
+                    idx, this.methods
+                )
+            );
+        }
+        return out.append("}\n").toString();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.api.AbstractCheck;
+import com.puppycrawl.tools.checkstyle.api.DetailAST;
+import com.puppycrawl.tools.checkstyle.utils.TokenUtil;
+import com.qulice.spi.Budget;
+import java.util.Arrays;
+
+/**
+ * Check which never complains, but stops the walk over the tree
+ * as soon as the {@link Budget} of the file is exceeded.
+ *
+ * <p>{@code TreeWalker} calls all its checks node by node, so this one
+ * is called between any two nodes visited by the others, and gives up
+ * the whole walk, throwing, when some check on the way takes too long.
+ * {@link BudgetedCheck} catches it and reports the file. When there is
+ * no clock on the current thread, the check does nothing. It gives up
+ * the walk when the thread is interrupted too, so that a cancelled
+ * validation stops in the middle of a file.</p>
+ *
+ * <p>The clock and the thread are looked at once in {@link #STRIDE}
+ * nodes, so that the walk costs almost nothing more, even when there
+ * is no budget.</p>
+ *
+ * @since 1.0
+ */
+public final class BudgetCheck extends AbstractCheck {
+
+    /**
+     * How many nodes to visit between two looks at the clock.
+     */
+    private static final int STRIDE = 1024;
+
+    /**
+     * How many nodes are visited, on this thread, since the last look.
+     */
+    private int visited;
+
+    @Override
+    public int[] getDefaultTokens() {
+        return Arrays.stream(TokenUtil.getAllTokenIds())
+            .filter(token -> !TokenUtil.isCommentType(token))
+            .toArray();
+    }
+
+    @Override
+    public int[] getAcceptableTokens() {
+        return this.getDefaultTokens();
+    }
+
+    @Override
+    public int[] getRequiredTokens() {
+        return new int[0];
+    }
+
+    @Override
+    public void visitToken(final DetailAST ast) {
+        this.visited += 1;
+        if (this.visited == BudgetCheck.STRIDE) {
+            this.visited = 0;
+            if (Budget.exceeded()) {
+                throw new IllegalStateException(
+                    String.format("Time is over at line %d", ast.getLineNo())
+                );
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException(
+                    String.format("Checkstyle was interrupted at line %d", ast.getLineNo())
+                );
+            }
+        }
+    }
+}
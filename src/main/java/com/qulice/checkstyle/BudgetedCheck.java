@@ -0,0 +1,117 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.Context;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.MessageDispatcher;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+import com.qulice.spi.Budget;
+import java.io.File;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * File set check which is skipped when the {@link Budget} of the file
+ * is exceeded, and which gives up the file, when {@link BudgetCheck}
+ * stops it in the middle.
+ *
+ * <p>The first check skipped reports the file, with a violation of its
+ * own, so that the file never gets into the cache of Checkstyle as
+ * a clean one.</p>
+ *
+ * @since 1.0
+ */
+final class BudgetedCheck implements FileSetCheck {
+
+    /**
+     * The check.
+     */
+    private final FileSetCheck origin;
+
+    /**
+     * Ctor.
+     * @param origin The check
+     */
+    BudgetedCheck(final FileSetCheck origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public void setMessageDispatcher(final MessageDispatcher dispatcher) {
+        this.origin.setMessageDispatcher(dispatcher);
+    }
+
+    @Override
+    public void init() {
+        this.origin.init();
+    }
+
+    @Override
+    public void destroy() {
+        this.origin.destroy();
+    }
+
+    @Override
+    public void beginProcessing(final String charset) {
+        this.origin.beginProcessing(charset);
+    }
+
+    @Override
+    public SortedSet<Violation> process(final File file, final FileText text)
+        throws CheckstyleException {
+        SortedSet<Violation> violations;
+        if (Budget.exceeded()) {
+            violations = BudgetedCheck.skipped();
+        } else {
+            try {
+                violations = this.origin.process(file, text);
+            } catch (final IllegalStateException ex) {
+                if (!Budget.exceeded()) {
+                    throw ex;
+                }
+                violations = BudgetedCheck.skipped();
+            }
+        }
+        return violations;
+    }
+
+    @Override
+    public void finishProcessing() {
+        this.origin.finishProcessing();
+    }
+
+    @Override
+    public void configure(final Configuration config) throws CheckstyleException {
+        this.origin.configure(config);
+    }
+
+    @Override
+    public void contextualize(final Context context) throws CheckstyleException {
+        this.origin.contextualize(context);
+    }
+
+    /**
+     * Violations of a skipped check.
+     * @return The violation about the exceeded budget, if nobody has
+     *  reported it yet, or nothing
+     */
+    private static SortedSet<Violation> skipped() {
+        final SortedSet<Violation> violations = new TreeSet<>();
+        if (Budget.notice()) {
+            violations.add(
+                new Violation(
+                    1, "com.qulice.checkstyle.messages", "budget.exceeded",
+                    new Object[0], null, BudgetCheck.class,
+                    Budget.explain("Checkstyle")
+                )
+            );
+        }
+        return violations;
+    }
+}
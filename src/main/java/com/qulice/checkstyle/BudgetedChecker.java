@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+
+/**
+ * Checker which skips the rest of the checks of a file, when its
+ * {@link com.qulice.spi.Budget} is exceeded, see {@link BudgetedCheck}.
+ *
+ * @since 1.0
+ */
+final class BudgetedChecker extends Checker {
+
+    @Override
+    public void addFileSetCheck(final FileSetCheck check) {
+        super.addFileSetCheck(new BudgetedCheck(check));
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Pool of configured checkers, which may be shared by many
+ * {@link CheckstyleValidator}s, for example by all modules of a
+ * Maven session.
+ *
+ * <p>The configuration is loaded and the checkers are configured only
+ * once, by the first validator which needs them. A checker is never used
+ * by two threads at once and never sees the same directory twice.
+ * Checkers have no {@code cacheFile}, even if the configuration sets
+ * one: each of them would rewrite the whole file with its own entries
+ * only, concurrently with the others, and the entries of the others
+ * would be lost. The validator of every module keeps a cache of its
+ * own instead, see {@link ModuleCache}.</p>
+ *
+ * <p>When all checkers of the pool have seen some of the directories,
+ * for example when the same files are validated again in
+ * {@code qulice:watch}, the one used least recently is destroyed and
+ * a new one is configured instead, since checks can't forget the
+ * directories they have seen. The pool keeps no more checkers than
+ * its limit, destroying the ones used least recently.</p>
+ *
+ * <p>Checkers for large files, see {@link #linear(Configuration)}, run
+ * only the checks which look at one line at a time, and thus take linear
+ * time on any file.</p>
+ *
+ * @since 1.0
+ */
+public final class Checkers {
+
+    /**
+     * Checks of the top level which look at one line at a time.
+     */
+    private static final Set<String> LINEAR = Set.of(
+        "NewlineAtEndOfFile", "FileLength", "FileTabCharacter",
+        "RegexpSingleline", "LineLength"
+    );
+
+    /**
+     * Checkers which are configured and not in use right now.
+     */
+    private final List<Checkers.Pooled> pool;
+
+    /**
+     * Class loader of checks.
+     */
+    private final ClassLoader loader;
+
+    /**
+     * Shall checkers measure the time of every check?
+     */
+    private final boolean timed;
+
+    /**
+     * Shall checkers run only the checks which take linear time?
+     */
+    private final boolean reduced;
+
+    /**
+     * How many checkers the pool keeps at most.
+     */
+    private final int limit;
+
+    /**
+     * Configuration loaded from {@code checks.xml}, on first use.
+     */
+    private Configuration config;
+
+    /**
+     * Ctor, with checks loaded by the context class loader of the
+     * current thread.
+     */
+    public Checkers() {
+        this(false);
+    }
+
+    /**
+     * Ctor, with checks loaded by the context class loader of the
+     * current thread.
+     * @param timed TRUE to make {@link TimedChecker}s
+     */
+    Checkers(final boolean timed) {
+        this(timed, false);
+    }
+
+    /**
+     * Ctor, with checks loaded by the context class loader of the
+     * current thread.
+     * @param timed TRUE to make {@link TimedChecker}s
+     * @param reduced TRUE to run only the checks which take linear time
+     */
+    Checkers(final boolean timed, final boolean reduced) {
+        this(timed, reduced, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Ctor, with checks loaded by the context class loader of the
+     * current thread.
+     * @param timed TRUE to make {@link TimedChecker}s
+     * @param reduced TRUE to run only the checks which take linear time
+     * @param limit How many checkers the pool keeps at most
+     */
+    Checkers(final boolean timed, final boolean reduced, final int limit) {
+        this.pool = new LinkedList<>();
+        this.loader = Thread.currentThread().getContextClassLoader();
+        this.timed = timed;
+        this.reduced = reduced;
+        this.limit = limit;
+    }
+
+    /**
+     * Take a checker from the pool which hasn't seen any of the given
+     * directories yet, or create a new one, destroying the checker of
+     * the pool used least recently, if any.
+     * @param dirs Directories of the files to be processed
+     * @param loading Loader of the configuration, called once
+     * @return The checker
+     */
+    Checkers.Pooled borrow(final Set<File> dirs,
+        final Supplier<Configuration> loading) {
+        Checkers.Pooled found = null;
+        Checkers.Pooled stale = null;
+        synchronized (this.pool) {
+            final Iterator<Checkers.Pooled> iterator = this.pool.iterator();
+            while (iterator.hasNext()) {
+                final Checkers.Pooled pooled = iterator.next();
+                if (Collections.disjoint(pooled.dirs, dirs)) {
+                    iterator.remove();
+                    found = pooled;
+                    break;
+                }
+            }
+            if (found == null && !this.pool.isEmpty()) {
+                stale = this.pool.remove(0);
+            }
+        }
+        if (stale != null) {
+            this.discard(stale);
+        }
+        if (found == null) {
+            final Checker checker;
+            if (this.timed) {
+                checker = new TimedChecker();
+            } else {
+                checker = new BudgetedChecker();
+            }
+            checker.setModuleClassLoader(this.loader);
+            try {
+                if (this.reduced) {
+                    checker.configure(Checkers.linear(this.configuration(loading)));
+                } else if (this.timed) {
+                    checker.configure(TimedChecker.split(this.configuration(loading)));
+                } else {
+                    checker.configure(this.configuration(loading));
+                }
+            } catch (final CheckstyleException ex) {
+                throw new IllegalStateException("Failed to configure checker", ex);
+            }
+            found = new Checkers.Pooled(checker);
+        }
+        return found;
+    }
+
+    /**
+     * Return the checker into the pool.
+     * @param pooled The checker taken from the pool
+     * @param dirs Directories it has processed
+     */
+    void release(final Checkers.Pooled pooled, final Set<File> dirs) {
+        pooled.dirs.addAll(dirs);
+        final List<Checkers.Pooled> extra = new LinkedList<>();
+        synchronized (this.pool) {
+            this.pool.add(pooled);
+            while (this.pool.size() > this.limit) {
+                extra.add(this.pool.remove(0));
+            }
+        }
+        for (final Checkers.Pooled stale : extra) {
+            this.discard(stale);
+        }
+    }
+
+    /**
+     * Drop the checker for good, for example the one which failed in the
+     * middle of its files, since its checks may keep the state of the
+     * file they gave up.
+     * @param pooled The checker taken from the pool
+     */
+    void discard(final Checkers.Pooled pooled) {
+        pooled.checker.destroy();
+    }
+
+    /**
+     * How many checkers are in the pool now.
+     * @return Number of checkers not in use
+     */
+    int size() {
+        synchronized (this.pool) {
+            return this.pool.size();
+        }
+    }
+
+    /**
+     * Configuration with the filters and the checks which take linear
+     * time only, without the cache file.
+     * @param origin Original configuration
+     * @return Reduced configuration
+     * @throws CheckstyleException If fails
+     */
+    static Configuration linear(final Configuration origin) throws CheckstyleException {
+        return Checkers.copy(
+            origin,
+            child -> child.getName().endsWith("Filter")
+                || Checkers.LINEAR.contains(child.getName())
+        );
+    }
+
+    /**
+     * Configuration with all the checks, without the cache file.
+     * @param origin Original configuration
+     * @return Configuration for a pooled checker
+     * @throws CheckstyleException If fails
+     */
+    static Configuration uncached(final Configuration origin) throws CheckstyleException {
+        return Checkers.copy(origin, child -> true);
+    }
+
+    /**
+     * Checkstyle configuration, loaded once, without the cache file.
+     * @param loading Loader of the configuration
+     * @return The configuration
+     * @throws CheckstyleException If fails
+     */
+    synchronized Configuration configuration(
+        final Supplier<Configuration> loading) throws CheckstyleException {
+        if (this.config == null) {
+            this.config = Checkers.uncached(loading.get());
+        }
+        return this.config;
+    }
+
+    /**
+     * Copy of the top level of the configuration, without the cache file.
+     * @param origin Original configuration
+     * @param kept Which modules of the top level to keep
+     * @return Copy
+     * @throws CheckstyleException If fails
+     */
+    private static Configuration copy(final Configuration origin,
+        final Predicate<Configuration> kept) throws CheckstyleException {
+        final DefaultConfiguration root = new DefaultConfiguration(origin.getName());
+        for (final String prop : origin.getPropertyNames()) {
+            if (!"cacheFile".equals(prop)) {
+                root.addProperty(prop, origin.getProperty(prop));
+            }
+        }
+        for (final Map.Entry<String, String> msg : origin.getMessages().entrySet()) {
+            root.addMessage(msg.getKey(), msg.getValue());
+        }
+        for (final Configuration child : origin.getChildren()) {
+            if (kept.test(child)) {
+                root.addChild(child);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Configured checker with the directories it has processed.
+     *
+     * <p>Some checks, like {@code JavadocPackage}, report once per
+     * directory and never forget the directories they have seen, so
+     * a checker must not be reused for the same directory again.</p>
+     *
+     * @since 1.0
+     */
+    static final class Pooled {
+
+        /**
+         * The checker.
+         */
+        private final Checker checker;
+
+        /**
+         * Directories processed by the checker.
+         */
+        private final Set<File> dirs;
+
+        /**
+         * Ctor.
+         * @param checker The checker
+         */
+        Pooled(final Checker checker) {
+            this.checker = checker;
+            this.dirs = new HashSet<>(0);
+        }
+
+        /**
+         * The checker.
+         * @return Checker
+         */
+        Checker checker() {
+            return this.checker;
+        }
+    }
+}
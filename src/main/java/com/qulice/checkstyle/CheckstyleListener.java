@@ -7,15 +7,24 @@ package com.qulice.checkstyle;
 import com.jcabi.log.Logger;
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.qulice.spi.Budget;
 import com.qulice.spi.Environment;
 import com.qulice.spi.Relative;
+import com.qulice.spi.Violation;
+import com.qulice.spi.ViolationSink;
 import java.io.File;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Listener of Checkstyle events.
+ *
+ * <p>The clock of the {@link Budget} of every file starts when Checkstyle
+ * starts the file and stops when it finishes it, on the thread which
+ * runs the checks. A file whose time is over is reported to the sink as
+ * {@link ViolationSink#unsure(File) unsure}, since another run may
+ * check it in time.</p>
+ *
  * @since 0.3
  * @checkstyle ClassDataAbstractionCoupling (260 lines)
  */
@@ -27,17 +36,30 @@ final class CheckstyleListener implements AuditListener {
     private final Environment env;
 
     /**
-     * Collection of events collected.
+     * Where to push violations.
      */
-    private final List<AuditEvent> all;
+    private final ViolationSink sink;
+
+    /**
+     * Budget of every file.
+     */
+    private final Budget budget;
+
+    /**
+     * Files reported, or checked out of time, absolute.
+     */
+    private final Set<File> dirty;
 
     /**
      * Public ctor.
      * @param environ The environment
+     * @param sink Where to push violations
      */
-    CheckstyleListener(final Environment environ) {
-        this.all = new ArrayList<>(0);
+    CheckstyleListener(final Environment environ, final ViolationSink sink) {
+        this.sink = sink;
         this.env = environ;
+        this.budget = Budget.of(environ);
+        this.dirty = new HashSet<>(0);
     }
 
     @Override
@@ -52,28 +74,48 @@ final class CheckstyleListener implements AuditListener {
 
     @Override
     public void fileStarted(final AuditEvent event) {
-        // intentionally empty
+        if (Thread.currentThread().isInterrupted()) {
+            throw new IllegalStateException(
+                String.format("Checkstyle was interrupted before %s", event.getFileName())
+            );
+        }
+        this.budget.start();
     }
 
     @Override
     public void fileFinished(final AuditEvent event) {
-        // intentionally empty
+        if (Budget.exceeded()) {
+            this.dirty.add(new File(event.getFileName()).getAbsoluteFile());
+            this.sink.unsure(new File(event.getFileName()));
+        }
+        Budget.stop();
     }
 
     @Override
     public void addError(final AuditEvent event) {
+        this.dirty.add(new File(event.getFileName()).getAbsoluteFile());
         final String path = new Relative(
             this.env.basedir(), new File(event.getFileName())
         ).path();
         if (!this.env.exclude("checkstyle", path)
             && !this.skipJavadocPackage(event, path)) {
-            this.all.add(event);
+            final String check = event.getSourceName();
+            this.sink.accept(
+                new Violation.Default(
+                    "Checkstyle",
+                    check.substring(check.lastIndexOf('.') + 1),
+                    event.getFileName(),
+                    String.valueOf(event.getLine()),
+                    event.getMessage()
+                )
+            );
         }
     }
 
     @Override
     public void addException(final AuditEvent event,
         final Throwable throwable) {
+        this.dirty.add(new File(event.getFileName()).getAbsoluteFile());
         final String check = event.getSourceName();
         Logger.error(
             this,
@@ -89,11 +131,12 @@ final class CheckstyleListener implements AuditListener {
     }
 
     /**
-     * Get all events.
-     * @return List of events
+     * Files Checkstyle reported something about, even excluded, or
+     * checked out of time, which must not be cached as clean ones.
+     * @return Absolute files
      */
-    List<AuditEvent> events() {
-        return Collections.unmodifiableList(this.all);
+    Set<File> dirty() {
+        return this.dirty;
     }
 
     /**
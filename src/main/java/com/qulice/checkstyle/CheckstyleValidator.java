@@ -5,19 +5,23 @@
 package com.qulice.checkstyle;
 
 import com.jcabi.log.Logger;
-import com.puppycrawl.tools.checkstyle.Checker;
 import com.puppycrawl.tools.checkstyle.ConfigurationLoader;
 import com.puppycrawl.tools.checkstyle.PropertiesExpander;
-import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
 import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.qulice.spi.Budget;
 import com.qulice.spi.Environment;
+import com.qulice.spi.Parallel;
 import com.qulice.spi.Relative;
 import com.qulice.spi.ResourceValidator;
+import com.qulice.spi.Shards;
+import com.qulice.spi.Timings;
 import com.qulice.spi.Violation;
+import com.qulice.spi.ViolationSink;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Properties;
@@ -27,7 +31,7 @@ import org.xml.sax.InputSource;
 /**
  * Validator with Checkstyle.
  * @since 0.3
- * @checkstyle ClassDataAbstractionCoupling (260 lines)
+ * @checkstyle ClassDataAbstractionCoupling (360 lines)
  */
 public final class CheckstyleValidator implements ResourceValidator {
 
@@ -43,43 +47,89 @@ public final class CheckstyleValidator implements ResourceValidator {
     );
 
     /**
-     * Checkstyle checker.
+     * Environment to use.
      */
-    private final Checker checker;
+    private final Environment env;
 
     /**
-     * Listener of checkstyle messages.
-      */
-    private final CheckstyleListener listener;
+     * Configured checkers.
+     */
+    private final Checkers checkers;
 
     /**
-     * Environment to use.
+     * Checkers which measure the time of every check, used instead
+     * of the shared ones when timing is on.
      */
-    private final Environment env;
+    private final Checkers timed;
+
+    /**
+     * Checkers which run only the checks of linear time, for large files.
+     */
+    private final Checkers reduced;
+
+    /**
+     * Files of the module found clean before.
+     */
+    private final ModuleCache cache;
 
     /**
      * Constructor.
      * @param env Environment to use
      */
     public CheckstyleValidator(final Environment env) {
+        this(env, new Checkers());
+    }
+
+    /**
+     * Constructor.
+     * @param env Environment to use
+     * @param checkers Configured checkers, which may be shared
+     */
+    public CheckstyleValidator(final Environment env, final Checkers checkers) {
         this.env = env;
-        this.checker = new Checker();
-        this.listener = new CheckstyleListener(this.env);
+        this.checkers = checkers;
+        this.timed = new Checkers(true);
+        this.reduced = new Checkers(false, true);
+        this.cache = new ModuleCache(
+            new File(env.tempdir(), "checkstyle/checkstyle.cache")
+        );
     }
 
     @Override
     public Collection<Violation> validate(final Collection<File> files) {
-        this.checker.setModuleClassLoader(
-            Thread.currentThread().getContextClassLoader()
-        );
-        try {
-            this.checker.configure(this.configuration());
-        } catch (final CheckstyleException ex) {
-            throw new IllegalStateException("Failed to configure checker", ex);
-        }
-        this.checker.addListener(this.listener);
+        final ViolationSink.Buffer buffer = new ViolationSink.Buffer();
+        this.validate(files, buffer);
+        return buffer.violations();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Files are split into {@code checkstyle.threads} partitions,
+     * processed concurrently, each by a {@link Checker} taken from the
+     * pool with its own listener, which pushes violations into the sink
+     * right when Checkstyle reports them. A {@link Checker} is never used
+     * by two threads at once, since custom checks keep per-file mutable
+     * state, so this method is safe to call concurrently for disjoint
+     * shards of files.</p>
+     *
+     * <p>When the {@code timings} parameter is set, checkers with every
+     * check in a {@code TreeWalker} of its own are used instead, see
+     * {@link TimedChecker}, which are much slower, and the time of every
+     * check and file is added to the {@link Timings} of the environment.</p>
+     *
+     * <p>Files which are large by the {@link Budget} of the environment
+     * are checked only with the checks which take linear time, see
+     * {@link Checkers}. Checks of a file which take longer than its budget
+     * are given up, the file is reported as a violation.</p>
+     *
+     * <p>Files found clean before, which didn't change since, are not
+     * checked again, see {@link ModuleCache}, unless timing is on. Large
+     * files are always checked.</p>
+     */
+    @Override
+    public void validate(final Collection<File> files, final ViolationSink sink) {
         final List<File> sources = this.getNonExcludedFiles(files);
-        final Collection<Violation> results = new ArrayList<>(0);
         if (sources.isEmpty()) {
             Logger.debug(
                 this,
@@ -87,27 +137,17 @@ public final class CheckstyleValidator implements ResourceValidator {
                 files.size()
             );
         } else {
-            try {
-                Logger.debug(this, "Checkstyle processing %d files", sources.size());
-                this.checker.process(sources);
-                Logger.debug(this, "Checkstyle processed %d files", sources.size());
-            } catch (final CheckstyleException ex) {
-                throw new IllegalStateException("Failed to process files", ex);
-            }
-            for (final AuditEvent event : this.listener.events()) {
-                final String check = event.getSourceName();
-                results.add(
-                    new Violation.Default(
-                        this.name(),
-                        check.substring(check.lastIndexOf('.') + 1),
-                        event.getFileName(),
-                        String.valueOf(event.getLine()),
-                        event.getMessage()
-                    )
-                );
-            }
+            final List<List<File>> parts = new Shards(
+                sources, Integer.parseInt(this.env.param("checkstyle.threads", "1"))
+            ).all();
+            Logger.debug(
+                this, "Checkstyle processing %d files in %d partitions",
+                sources.size(), parts.size()
+            );
+            new Parallel(part -> this.process(part, sink)).apply(parts);
+            this.cache.save();
+            Logger.debug(this, "Checkstyle processed %d files", sources.size());
         }
-        return results;
     }
 
     @Override public String name() {
@@ -140,47 +180,114 @@ public final class CheckstyleValidator implements ResourceValidator {
     }
 
     /**
-     * Load checkstyle configuration.
-     * @return The configuration just loaded
-     * @see #validate(Collection)
+     * Process files, the large ones separately.
+     * @param sources Files to process
+     * @param sink Where to push violations
      */
-    private Configuration configuration() {
-        final File cache =
-            new File(this.env.tempdir(), "checkstyle/checkstyle.cache");
-        final File parent = cache.getParentFile();
-        if (!parent.exists() && !parent.mkdirs()) {
-            throw new IllegalStateException(
-                String.format(
-                    "Unable to create directories needed for %s",
-                    cache.getPath()
-                )
-            );
+    private void process(final List<File> sources, final ViolationSink sink) {
+        final Budget budget = Budget.of(this.env);
+        final List<File> normal = new ArrayList<>(sources.size());
+        final List<File> large = new ArrayList<>(0);
+        for (final File file : sources) {
+            if (budget.large(file, this.env.encoding())) {
+                Logger.info(
+                    this, "%s is large, only the checks of linear time are applied",
+                    new Relative(this.env.basedir(), file).path()
+                );
+                large.add(file);
+            } else {
+                normal.add(file);
+            }
         }
-        if (!parent.canWrite()) {
-            throw new IllegalStateException(
-                String.format(
-                    "Cannot write to %s, check filesystem permissions",
-                    parent.getAbsolutePath()
-                )
-            );
+        final Timings timings = Timings.of(this.env);
+        if (!normal.isEmpty()) {
+            if (timings.enabled()) {
+                this.process(normal, sink, this.timed);
+            } else {
+                final List<File> stale = this.cache.stale(normal, this::configuration);
+                if (!stale.isEmpty()) {
+                    this.cache.update(stale, this.process(stale, sink, this.checkers));
+                }
+            }
         }
-        final Properties props = new Properties();
-        props.setProperty("cache.file", cache.getPath());
-        final Configuration config;
+        if (!large.isEmpty()) {
+            this.process(large, sink, this.reduced);
+        }
+    }
+
+    /**
+     * Process files with a checker from the pool, and return it into
+     * the pool, unless it failed or was interrupted in the middle.
+     * @param sources Files to process
+     * @param sink Where to push violations
+     * @param pool Checkers to take one from
+     * @return Files Checkstyle reported something about, absolute
+     */
+    private Set<File> process(final List<File> sources, final ViolationSink sink,
+        final Checkers pool) {
+        final Set<File> dirs = new HashSet<>(0);
+        for (final File file : sources) {
+            dirs.add(file.getAbsoluteFile().getParentFile());
+        }
+        final Timings timings = Timings.of(this.env);
+        final Checkers.Pooled pooled = pool.borrow(dirs, this::load);
+        final CheckstyleListener listener = new CheckstyleListener(this.env, sink);
+        pooled.checker().addListener(listener);
+        boolean done = false;
+        try {
+            pooled.checker().process(sources);
+            done = true;
+        } catch (final CheckstyleException ex) {
+            throw new IllegalStateException("Failed to process files", ex);
+        } finally {
+            Budget.stop();
+            pooled.checker().removeListener(listener);
+            if (pooled.checker() instanceof TimedChecker) {
+                ((TimedChecker) pooled.checker()).drain(timings, this.env.basedir());
+            }
+            if (done) {
+                pool.release(pooled, dirs);
+            } else {
+                pool.discard(pooled);
+            }
+        }
+        return listener.dirty();
+    }
+
+    /**
+     * Configuration of the shared checkers.
+     * @return The configuration
+     */
+    private Configuration configuration() {
+        try {
+            return this.checkers.configuration(this::load);
+        } catch (final CheckstyleException ex) {
+            throw new IllegalStateException("Failed to load config", ex);
+        }
+    }
+
+    /**
+     * Load checkstyle configuration, which doesn't depend on the module,
+     * since it is shared by all modules of the session, see {@link Checkers}.
+     * @return The configuration just loaded
+     * @see #validate(Collection)
+     */
+    private Configuration load() {
+        final Configuration loaded;
         try (java.io.InputStream stream = this.getClass().getResourceAsStream("checks.xml")) {
             if (stream == null) {
                 throw new IllegalStateException(
                     "Checkstyle configuration file 'checks.xml' not found in classpath."
                 );
             }
-            config = ConfigurationLoader.loadConfiguration(
+            loaded = ConfigurationLoader.loadConfiguration(
                 new InputSource(stream),
-                new PropertiesExpander(props),
+                new PropertiesExpander(new Properties()),
                 ConfigurationLoader.IgnoredModulesOptions.OMIT
             );
         } catch (final CheckstyleException | java.io.IOException ex) {
             throw new IllegalStateException("Failed to load config", ex);
         }
-        return config;
+        return loaded;
     }
 }
@@ -0,0 +1,138 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.PropertyCacheFile;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the files of one module which Checkstyle found clean.
+ *
+ * <p>Checkers of the pool are shared by all modules and have no
+ * {@code cacheFile}, see {@link Checkers}, so the validator of every
+ * module keeps its own cache, in the format of the {@code cacheFile}
+ * of Checkstyle, and doesn't give the files found in it to checkers.
+ * A file is cached by its modification time, when Checkstyle reported
+ * nothing about it and checked it in time. The cache is dropped when
+ * the configuration changes.</p>
+ *
+ * @since 1.0
+ */
+final class ModuleCache {
+
+    /**
+     * File of the cache.
+     */
+    private final File file;
+
+    /**
+     * Cache, loaded on first use.
+     */
+    private PropertyCacheFile cache;
+
+    /**
+     * Ctor.
+     * @param file File of the cache
+     */
+    ModuleCache(final File file) {
+        this.file = file;
+    }
+
+    /**
+     * Files which are not in the cache or changed since.
+     * @param files Files to check
+     * @param config Configuration of checkers
+     * @return Files to give to checkers
+     */
+    synchronized List<File> stale(final Collection<File> files,
+        final Supplier<Configuration> config) {
+        final PropertyCacheFile props = this.props(config);
+        final List<File> stale = new ArrayList<>(files.size());
+        for (final File source : files) {
+            if (!props.isInCache(source.getAbsolutePath(), source.lastModified())) {
+                stale.add(source);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Remember the files just checked.
+     * @param checked Files checked
+     * @param dirty Absolute files Checkstyle reported something about
+     */
+    synchronized void update(final Collection<File> checked, final Set<File> dirty) {
+        for (final File source : checked) {
+            final String path = source.getAbsolutePath();
+            if (dirty.contains(source.getAbsoluteFile())) {
+                this.cache.remove(path);
+            } else {
+                this.cache.put(path, source.lastModified());
+            }
+        }
+    }
+
+    /**
+     * Save the cache, if it was used.
+     */
+    synchronized void save() {
+        if (this.cache != null) {
+            try {
+                this.cache.persist();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(
+                    String.format("Failed to save Checkstyle cache %s", this.file), ex
+                );
+            }
+        }
+    }
+
+    /**
+     * The cache, loading it on first use.
+     * @param config Configuration of checkers
+     * @return The cache
+     */
+    private PropertyCacheFile props(final Supplier<Configuration> config) {
+        if (this.cache == null) {
+            final File parent = this.file.getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                throw new IllegalStateException(
+                    String.format(
+                        "Unable to create directories needed for %s",
+                        this.file.getPath()
+                    )
+                );
+            }
+            if (!parent.canWrite()) {
+                throw new IllegalStateException(
+                    String.format(
+                        "Cannot write to %s, check filesystem permissions",
+                        parent.getAbsolutePath()
+                    )
+                );
+            }
+            final PropertyCacheFile props = new PropertyCacheFile(
+                config.get(), this.file.getPath()
+            );
+            try {
+                props.load();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(
+                    String.format("Failed to load Checkstyle cache %s", this.file), ex
+                );
+            }
+            this.cache = props;
+        }
+        return this.cache;
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.api.AbstractViolationReporter;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import com.puppycrawl.tools.checkstyle.api.Context;
+import com.puppycrawl.tools.checkstyle.api.FileSetCheck;
+import com.puppycrawl.tools.checkstyle.api.FileText;
+import com.puppycrawl.tools.checkstyle.api.MessageDispatcher;
+import com.puppycrawl.tools.checkstyle.api.Violation;
+import com.qulice.spi.Relative;
+import com.qulice.spi.Timings;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+
+/**
+ * Checker which measures the time spent by every check.
+ *
+ * <p>Checks inside a {@code TreeWalker} are called by the walker itself,
+ * node by node, so there is no way to time them separately. That's why
+ * {@link #split(Configuration)} gives every such check its own
+ * {@code TreeWalker}, with the filters of the original one. Every walker
+ * parses the file again, so the time of parsing, measured by a walker
+ * with one cheap check only, is subtracted from the time of every other
+ * walker and reported once, as {@code TreeWalker}.</p>
+ *
+ * <p>Like {@link BudgetedChecker}, it skips the rest of the checks of
+ * a file when its budget is exceeded. Like any {@link Checker}, it must
+ * not be used by two threads at once.</p>
+ *
+ * @since 1.0
+ */
+final class TimedChecker extends Checker {
+
+    /**
+     * Name of the walker which measures parsing.
+     */
+    private static final String WALKER = "TreeWalker";
+
+    /**
+     * Cheap check, which makes the walker parse the file, and which
+     * never complains, since it's configured with a huge maximum.
+     */
+    private static final String CHEAP = "OuterTypeNumber";
+
+    /**
+     * Totals of checks: time in nanoseconds and number of files.
+     */
+    private final Map<String, long[]> checks;
+
+    /**
+     * Time spent on files, in nanoseconds.
+     */
+    private final Map<File, long[]> files;
+
+    /**
+     * Time the current file took to parse, in nanoseconds.
+     */
+    private long parsing;
+
+    /**
+     * Ctor.
+     */
+    TimedChecker() {
+        super();
+        this.checks = new HashMap<>(0);
+        this.files = new HashMap<>(0);
+    }
+
+    @Override
+    public void addFileSetCheck(final FileSetCheck check) {
+        super.addFileSetCheck(new BudgetedCheck(new TimedChecker.Timed(check, this)));
+    }
+
+    /**
+     * Configuration with every check of every {@code TreeWalker} in
+     * a walker of its own, right after a walker which only parses, and
+     * without the cache file, since files found in it are not checked
+     * and timed at all.
+     * @param origin Original configuration
+     * @return Configuration to configure this checker with
+     * @throws CheckstyleException If fails
+     */
+    static Configuration split(final Configuration origin) throws CheckstyleException {
+        final DefaultConfiguration root = TimedChecker.copy(origin);
+        for (final Configuration child : origin.getChildren()) {
+            if (TimedChecker.WALKER.equals(child.getName())) {
+                final List<Configuration> shared = new ArrayList<>(1);
+                final List<Configuration> own = new ArrayList<>(child.getChildren().length);
+                for (final Configuration leaf : child.getChildren()) {
+                    if (leaf.getName().endsWith("Filter") || leaf.getName().endsWith("Holder")) {
+                        shared.add(leaf);
+                    } else {
+                        own.add(leaf);
+                    }
+                }
+                final DefaultConfiguration cheap =
+                    new DefaultConfiguration(TimedChecker.CHEAP);
+                cheap.addProperty("max", String.valueOf(Integer.MAX_VALUE));
+                root.addChild(
+                    TimedChecker.walker(child, shared, cheap, TimedChecker.WALKER)
+                );
+                for (final Configuration leaf : own) {
+                    root.addChild(
+                        TimedChecker.walker(child, shared, leaf, TimedChecker.name(leaf))
+                    );
+                }
+            } else {
+                root.addChild(child);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Push the times measured so far into the timings and start over.
+     * @param timings Where to push them
+     * @param base Base directory of files
+     */
+    void drain(final Timings timings, final File base) {
+        for (final Map.Entry<String, long[]> entry : this.checks.entrySet()) {
+            timings.check("Checkstyle", entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+        }
+        for (final Map.Entry<File, long[]> entry : this.files.entrySet()) {
+            timings.file(
+                "Checkstyle", new Relative(base, entry.getKey()).path(), entry.getValue()[0]
+            );
+        }
+        this.checks.clear();
+        this.files.clear();
+    }
+
+    /**
+     * Record the time of one check on one file.
+     * @param name Name of the check
+     * @param file The file
+     * @param nanos Time spent, including parsing for tree checks
+     */
+    private void record(final String name, final File file, final long nanos) {
+        final long net;
+        if (TimedChecker.WALKER.equals(name)) {
+            this.parsing = nanos;
+            net = nanos;
+        } else if (name.startsWith(TimedChecker.WALKER)) {
+            net = Math.max(0L, nanos - this.parsing);
+        } else {
+            net = nanos;
+        }
+        final long[] check = this.checks.computeIfAbsent(
+            name.substring(name.indexOf(' ') + 1), key -> new long[2]
+        );
+        check[0] += net;
+        check[1] += 1L;
+        this.files.computeIfAbsent(file, key -> new long[1])[0] += net;
+    }
+
+    /**
+     * Walker with the filters and one check.
+     * @param origin Original walker
+     * @param shared Filters of the original walker
+     * @param check The check
+     * @param name Name to report the time of the walker by
+     * @return Configuration of the walker
+     * @throws CheckstyleException If fails
+     * @checkstyle ParameterNumber (4 lines)
+     */
+    private static Configuration walker(final Configuration origin,
+        final List<Configuration> shared, final Configuration check,
+        final String name) throws CheckstyleException {
+        final DefaultConfiguration walker = TimedChecker.copy(origin);
+        walker.addProperty("id", name);
+        for (final Configuration filter : shared) {
+            walker.addChild(filter);
+        }
+        walker.addChild(check);
+        return walker;
+    }
+
+    /**
+     * Name of a check inside a walker.
+     * @param check Configuration of the check
+     * @return Its id, if any, or its name, after the name of the walker
+     * @throws CheckstyleException If fails
+     */
+    private static String name(final Configuration check) throws CheckstyleException {
+        String name = check.getName();
+        for (final String prop : check.getPropertyNames()) {
+            if ("id".equals(prop)) {
+                name = check.getProperty(prop);
+            }
+        }
+        return String.format("%s %s", TimedChecker.WALKER, name);
+    }
+
+    /**
+     * Copy of the module without children and the cache file.
+     * @param origin Original configuration
+     * @return Configuration
+     * @throws CheckstyleException If fails
+     */
+    private static DefaultConfiguration copy(final Configuration origin)
+        throws CheckstyleException {
+        final DefaultConfiguration copy = new DefaultConfiguration(origin.getName());
+        for (final String prop : origin.getPropertyNames()) {
+            if (!"id".equals(prop) && !"cacheFile".equals(prop)) {
+                copy.addProperty(prop, origin.getProperty(prop));
+            }
+        }
+        for (final Map.Entry<String, String> msg : origin.getMessages().entrySet()) {
+            copy.addMessage(msg.getKey(), msg.getValue());
+        }
+        return copy;
+    }
+
+    /**
+     * File set check which reports the time of every file it processes.
+     * @since 1.0
+     */
+    private static final class Timed implements FileSetCheck {
+
+        /**
+         * The check.
+         */
+        private final FileSetCheck origin;
+
+        /**
+         * Checker to report to.
+         */
+        private final TimedChecker owner;
+
+        /**
+         * Ctor.
+         * @param origin The check
+         * @param owner Checker to report to
+         */
+        Timed(final FileSetCheck origin, final TimedChecker owner) {
+            this.origin = origin;
+            this.owner = owner;
+        }
+
+        @Override
+        public void setMessageDispatcher(final MessageDispatcher dispatcher) {
+            this.origin.setMessageDispatcher(dispatcher);
+        }
+
+        @Override
+        public void init() {
+            this.origin.init();
+        }
+
+        @Override
+        public void destroy() {
+            this.origin.destroy();
+        }
+
+        @Override
+        public void beginProcessing(final String charset) {
+            this.origin.beginProcessing(charset);
+        }
+
+        @Override
+        public SortedSet<Violation> process(final File file, final FileText text)
+            throws CheckstyleException {
+            final long start = System.nanoTime();
+            try {
+                return this.origin.process(file, text);
+            } finally {
+                this.owner.record(this.name(), file, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void finishProcessing() {
+            this.origin.finishProcessing();
+        }
+
+        @Override
+        public void configure(final Configuration config) throws CheckstyleException {
+            this.origin.configure(config);
+        }
+
+        @Override
+        public void contextualize(final Context context) throws CheckstyleException {
+            this.origin.contextualize(context);
+        }
+
+        /**
+         * Name to report the time by.
+         * @return Id of the check, if any, or its class name
+         */
+        private String name() {
+            String name = this.origin.getClass().getSimpleName();
+            if (this.origin instanceof AbstractViolationReporter
+                && ((AbstractViolationReporter) this.origin).getId() != null) {
+                name = ((AbstractViolationReporter) this.origin).getId();
+            }
+            return name;
+        }
+    }
+}
@@ -7,21 +7,31 @@ package com.qulice.errorprone;
 import com.google.common.base.Splitter;
 import com.jcabi.log.Logger;
 import com.qulice.spi.Environment;
+import com.qulice.spi.Parallel;
 import com.qulice.spi.Relative;
 import com.qulice.spi.ResourceValidator;
+import com.qulice.spi.Scheduler;
+import com.qulice.spi.Shards;
 import com.qulice.spi.Violation;
-import com.yegor256.Jaxec;
-import com.yegor256.Result;
+import com.qulice.spi.ViolationSink;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
 
 /**
  * Validates source code with Google ErrorProne.
@@ -33,7 +43,9 @@ import java.util.regex.Pattern;
  * flags ErrorProne needs to reach internal {@code jdk.compiler} packages
  * are passed to the forked JVM via {@code javac}'s {@code -J} prefix; the
  * JVM hosting Maven and Qulice is unaffected, so consumers do not have to
- * touch their own {@code .mvn/jvm.config} to use this validator.</p>
+ * touch their own {@code .mvn/jvm.config} to use this validator.
+ * If the validating thread is interrupted, the forked process is
+ * killed.</p>
  *
  * <p>Diagnostics from the forked {@code javac} are parsed from the
  * combined stdout/stderr stream. Only lines that match the standard
@@ -42,7 +54,27 @@ import java.util.regex.Pattern;
  * {@link Violation}s — plain compile errors caused by the project not
  * being built yet are ignored. {@code -proc:none} is passed to keep
  * regular annotation processors (Lombok, Hibernate-Validator, etc.) out
- * of the ErrorProne pass.</p>
+ * of the ErrorProne pass. Since {@code javac} stops before ErrorProne
+ * when there are such errors, all the sources of the compilation are
+ * reported to the sink as {@link ViolationSink#unsure(File) unsure},
+ * so that nobody stores their results as clean.</p>
+ *
+ * <p>With the {@code errorprone.batches} parameter greater than one,
+ * sources are split into that many batches, keeping each directory
+ * in one batch, and the batches are compiled concurrently, each against
+ * the module's output directory, its test output directory, given by the
+ * {@code test.outdir} parameter, and classpath. This requires the module
+ * to be compiled already, which is normally the case, since Qulice runs
+ * in the {@code verify} phase. The same happens when the {@code partial}
+ * parameter is {@code true}, that is, only some of the sources of the
+ * module are given, like the ones changed in Git or one shard of them.</p>
+ *
+ * <p>When the {@code errorprone.fork} parameter is {@code false},
+ * {@code javac} runs inside the Maven JVM instead, through
+ * {@link Javac}, and its diagnostics are captured directly, without
+ * parsing. ErrorProne stays loaded for the whole Maven session then,
+ * but the JVM must be started with the same {@code --add-exports} and
+ * {@code --add-opens} flags; if it isn't, {@code javac} is forked.</p>
  *
  * @since 1.0
  */
@@ -78,8 +110,22 @@ public final class ErrorProneValidator implements ResourceValidator {
     );
 
     /**
-     * Splits a multi-line stdout block into individual lines, on any
-     * line terminator (\\n, \\r, \\r\\n, etc.).
+     * Message of an in-process diagnostic with an ErrorProne
+     * {@code [CheckName]} prefix: {@code [Name] body}.
+     */
+    private static final Pattern MESSAGE = Pattern.compile(
+        "^\\[([A-Za-z][A-Za-z0-9_]*)] (.+)$"
+    );
+
+    /**
+     * Any {@code javac} error, with or without a file:
+     * {@code path:line: error: body} or {@code error: body}.
+     */
+    private static final Pattern ERROR = Pattern.compile("^(?:.+?:\\d+: )?error: .+$");
+
+    /**
+     * Splits a multi-line diagnostic message into individual lines, on
+     * any line terminator (\\n, \\r, \\r\\n, etc.).
      */
     private static final Pattern NEWLINE = Pattern.compile("\\R");
 
@@ -98,8 +144,14 @@ public final class ErrorProneValidator implements ResourceValidator {
 
     @Override
     public Collection<Violation> validate(final Collection<File> files) {
+        final ViolationSink.Buffer buffer = new ViolationSink.Buffer();
+        this.validate(files, buffer);
+        return buffer.violations();
+    }
+
+    @Override
+    public void validate(final Collection<File> files, final ViolationSink sink) {
         final List<File> sources = this.relevant(files);
-        final Collection<Violation> violations = new ArrayList<>(0);
         if (sources.isEmpty()) {
             Logger.debug(
                 this,
@@ -107,11 +159,27 @@ public final class ErrorProneValidator implements ResourceValidator {
                 files.size()
             );
         } else {
-            Logger.debug(this, "ErrorProne processing %d files", sources.size());
-            violations.addAll(this.parse(this.run(sources)));
+            final List<List<File>> batches = new Shards(
+                sources, Integer.parseInt(this.env.param("errorprone.batches", "1"))
+            ).all();
+            Logger.debug(
+                this, "ErrorProne processing %d files in %d batches",
+                sources.size(), batches.size()
+            );
+            final boolean embedded = this.embedded();
+            final boolean batched = batches.size() > 1
+                || Boolean.parseBoolean(this.env.param("partial", "false"));
+            new Parallel(
+                batch -> {
+                    if (embedded) {
+                        this.compile(batch, batched, sink);
+                    } else {
+                        this.parse(batch, this.run(batch, batched), sink);
+                    }
+                }
+            ).apply(batches);
             Logger.debug(this, "ErrorProne processed %d files", sources.size());
         }
-        return violations;
     }
 
     @Override
@@ -119,22 +187,98 @@ public final class ErrorProneValidator implements ResourceValidator {
         return "ErrorProne";
     }
 
+    /**
+     * Shall {@code javac} run in-process? Only if the {@code errorprone.fork}
+     * parameter is {@code false} and this JVM grants ErrorProne access to
+     * {@code jdk.compiler} internals.
+     * @return TRUE if in-process
+     */
+    private boolean embedded() {
+        boolean embedded = !Boolean.parseBoolean(
+            this.env.param("errorprone.fork", "true")
+        );
+        if (embedded && !Javac.available(ErrorProneValidator.JVM_FLAGS)) {
+            Logger.warn(
+                this,
+                "jdk.compiler internals aren't exported, forking javac: %s",
+                String.join(" ", ErrorProneValidator.JVM_FLAGS)
+            );
+            embedded = false;
+        }
+        return embedded;
+    }
+
+    /**
+     * Run in-process {@code javac} with ErrorProne enabled.
+     * @param sources Java source files to feed
+     * @param batched Is it one of many batches of the module?
+     * @param sink Where to push violations, as {@code javac} reports them
+     */
+    private void compile(final List<File> sources, final boolean batched,
+        final ViolationSink sink) {
+        final AtomicBoolean broken = new AtomicBoolean();
+        new Javac(ErrorProneValidator.pluginClasspath()).compile(
+            this.options(batched), sources,
+            diagnostic -> {
+                if (!this.translate(diagnostic, sink)
+                    && diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    broken.set(true);
+                }
+            }
+        );
+        if (broken.get()) {
+            this.broken(sources, sink);
+        }
+    }
+
     /**
      * Run the forked {@code javac} process with ErrorProne enabled.
      * @param sources Java source files to feed
+     * @param batched Is it one of many batches of the module?
      * @return Combined stdout/stderr of the process, line by line
+     * @throws IllegalStateException If interrupted, after killing the process
      */
-    private List<String> run(final List<File> sources) {
-        final Result result = new Jaxec(this.command(sources))
-            .withRedirect(true)
-            .withCheck(false)
-            .exec();
-        final String stdout = result.stdout();
+    private List<String> run(final List<File> sources, final boolean batched) {
+        final File argfile;
+        try {
+            argfile = File.createTempFile(
+                "errorprone-args", ".txt", this.env.tempdir()
+            );
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(
+                String.format("Unable to create argfile in %s", this.env.tempdir()),
+                ex
+            );
+        }
+        final File output = new File(
+            argfile.getParentFile(), argfile.getName().replace("-args", "-output")
+        );
         final List<String> lines;
-        if (stdout.isEmpty()) {
-            lines = List.of();
-        } else {
-            lines = List.of(ErrorProneValidator.NEWLINE.split(stdout));
+        try {
+            final Process process = new ProcessBuilder(
+                this.command(sources, argfile, batched)
+            ).redirectErrorStream(true).redirectOutput(output).start();
+            final int held = Scheduler.shared().pause();
+            try {
+                process.waitFor();
+            } catch (final InterruptedException ex) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(
+                    "ErrorProne was interrupted, javac is killed", ex
+                );
+            } finally {
+                Scheduler.shared().resume(held);
+            }
+            lines = Files.readAllLines(output.toPath(), Charset.defaultCharset());
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Unable to run javac", ex);
+        } finally {
+            for (final File file : new File[] {argfile, output}) {
+                if (file.exists() && !file.delete()) {
+                    Logger.debug(this, "Unable to delete %s", file);
+                }
+            }
         }
         return lines;
     }
@@ -147,9 +291,13 @@ public final class ErrorProneValidator implements ResourceValidator {
      * flags (which {@code javac} forbids inside argfiles) is written
      * to a temporary argfile and passed as {@code @argfile}.
      * @param sources Java source files to feed
+     * @param argfile Where to write the argfile, unique per call, so
+     *  that shards of the same module may run concurrently
+     * @param batched Is it one of many batches of the module?
      * @return Argv
      */
-    private List<String> command(final List<File> sources) {
+    private List<String> command(final List<File> sources, final File argfile,
+        final boolean batched) {
         final List<String> command = new ArrayList<>(
             ErrorProneValidator.JVM_FLAGS.size() + 2
         );
@@ -157,13 +305,31 @@ public final class ErrorProneValidator implements ResourceValidator {
         for (final String flag : ErrorProneValidator.JVM_FLAGS) {
             command.add("-J".concat(flag));
         }
+        final List<String> args = this.options(batched);
+        for (final File source : sources) {
+            args.add(source.getAbsolutePath());
+        }
+        command.add(
+            "@".concat(new Argfile(argfile, args).save().getAbsolutePath())
+        );
+        return command;
+    }
+
+    /**
+     * Options of {@code javac} that enable ErrorProne, without sources.
+     * A batch is compiled against the classes of the module already
+     * built by Maven, since the sources of other batches are missing.
+     * @param batched Is it one of many batches of the module?
+     * @return Mutable list of options
+     */
+    private List<String> options(final boolean batched) {
         final File outdir = new File(this.env.tempdir(), "errorprone-classes");
         if (!outdir.exists() && !outdir.mkdirs()) {
             throw new IllegalStateException(
                 String.format("Unable to create %s", outdir)
             );
         }
-        final List<String> args = new ArrayList<>(sources.size() + 11);
+        final List<String> args = new ArrayList<>(11);
         args.add("-XDcompilePolicy=simple");
         args.add("-XDaddTypeAnnotationsToSymbol=true");
         args.add("--should-stop=ifError=FLOW");
@@ -173,37 +339,39 @@ public final class ErrorProneValidator implements ResourceValidator {
         args.add(ErrorProneValidator.pluginClasspath());
         args.add("-d");
         args.add(outdir.getAbsolutePath());
-        final Collection<String> classpath = this.env.classpath();
+        final Collection<String> classpath = new ArrayList<>(0);
+        if (batched) {
+            classpath.add(this.env.outdir().getAbsolutePath());
+            final String tests = this.env.param("test.outdir", "");
+            if (!tests.isEmpty()) {
+                classpath.add(tests);
+            }
+        }
+        classpath.addAll(this.env.classpath());
         if (!classpath.isEmpty()) {
             args.add("-classpath");
             args.add(String.join(File.pathSeparator, classpath));
         }
-        for (final File source : sources) {
-            args.add(source.getAbsolutePath());
-        }
-        command.add(
-            "@".concat(
-                new Argfile(
-                    new File(this.env.tempdir(), "errorprone-args.txt"), args
-                ).save().getAbsolutePath()
-            )
-        );
-        return command;
+        return args;
     }
 
     /**
      * Translate diagnostic lines into Qulice violations, keeping only
      * those messages prefixed by an ErrorProne bug-pattern name.
+     * @param sources Java source files compiled
      * @param output Combined stdout/stderr of the forked process
-     * @return Violations
+     * @param sink Where to push violations
      */
-    private Collection<Violation> parse(final List<String> output) {
-        final Collection<Violation> violations = new ArrayList<>(0);
+    private void parse(final List<File> sources, final List<String> output,
+        final ViolationSink sink) {
+        boolean broken = false;
         for (final String line : output) {
             final Matcher matcher = ErrorProneValidator.DIAGNOSTIC.matcher(line);
-            if (matcher.matches()) {
+            if (!matcher.matches()) {
+                broken = broken || ErrorProneValidator.ERROR.matcher(line).matches();
+            } else {
                 final String check = matcher.group(3);
-                violations.add(
+                sink.accept(
                     new Violation.Default(
                         this.name(),
                         check,
@@ -214,7 +382,61 @@ public final class ErrorProneValidator implements ResourceValidator {
                 );
             }
         }
-        return violations;
+        if (broken) {
+            this.broken(sources, sink);
+        }
+    }
+
+    /**
+     * Report the sources of a compilation which failed, so that their
+     * results, missing the violations ErrorProne would have found, are
+     * not stored.
+     * @param sources Java source files compiled
+     * @param sink Where to report them
+     */
+    private void broken(final List<File> sources, final ViolationSink sink) {
+        Logger.debug(
+            this, "javac failed to compile %d files, ErrorProne didn't check them",
+            sources.size()
+        );
+        for (final File source : sources) {
+            sink.unsure(source);
+        }
+    }
+
+    /**
+     * Translate a diagnostic into a Qulice violation, if it's a warning
+     * or an error prefixed by an ErrorProne bug-pattern name.
+     * @param diagnostic Diagnostic of in-process {@code javac}
+     * @param sink Where to push the violation
+     * @return TRUE if it is a violation of ErrorProne
+     */
+    private boolean translate(final Diagnostic<? extends JavaFileObject> diagnostic,
+        final ViolationSink sink) {
+        boolean found = false;
+        if (diagnostic.getKind() != Diagnostic.Kind.NOTE
+            && diagnostic.getKind() != Diagnostic.Kind.OTHER
+            && diagnostic.getSource() != null) {
+            final Matcher matcher = ErrorProneValidator.MESSAGE.matcher(
+                ErrorProneValidator.NEWLINE.split(
+                    diagnostic.getMessage(Locale.ROOT), 2
+                )[0]
+            );
+            if (matcher.matches()) {
+                final String check = matcher.group(1);
+                sink.accept(
+                    new Violation.Default(
+                        this.name(),
+                        check,
+                        new File(diagnostic.getSource().toUri()).getPath(),
+                        String.valueOf(diagnostic.getLineNumber()),
+                        String.format("[%s] %s", check, matcher.group(2))
+                    )
+                );
+                found = true;
+            }
+        }
+        return found;
     }
 
     /**
@@ -0,0 +1,240 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.errorprone;
+
+import com.google.common.base.Splitter;
+import com.jcabi.log.Logger;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.tools.DiagnosticListener;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+/**
+ * The {@code javac} of the running JDK, invoked in-process through
+ * {@link JavaCompiler}.
+ *
+ * <p>The class loader ErrorProne is loaded by is created once per
+ * processor path and kept in a static map, so that all modules of a
+ * Maven session share the same, already loaded and JIT-compiled,
+ * ErrorProne classes. {@code javac} closes the processor class loader
+ * at the end of every compilation, that's why it gets a
+ * {@link Javac.Shield} in front of the cached one. The compilation
+ * stops at the next phase once the calling thread is interrupted.</p>
+ *
+ * <p>ErrorProne can only run in-process if the JVM hosting Maven
+ * exports internal {@code jdk.compiler} packages to unnamed modules,
+ * for example via {@code .mvn/jvm.config}; see {@link #available(Collection)}.</p>
+ *
+ * @since 1.0
+ */
+final class Javac {
+
+    /**
+     * Class loaders of ErrorProne, by processor path.
+     */
+    private static final Map<String, ClassLoader> LOADERS =
+        new ConcurrentHashMap<>(1);
+
+    /**
+     * Module access flag, like {@code --add-exports=jdk.compiler/pkg=ALL-UNNAMED}.
+     */
+    private static final Pattern FLAG = Pattern.compile(
+        "--add-(exports|opens)=jdk\\.compiler/([a-z.]+)=ALL-UNNAMED"
+    );
+
+    /**
+     * Processor path with ErrorProne on it.
+     */
+    private final String processorpath;
+
+    /**
+     * Ctor.
+     * @param processorpath Processor path with ErrorProne on it
+     */
+    Javac(final String processorpath) {
+        this.processorpath = processorpath;
+    }
+
+    /**
+     * Can ErrorProne run inside this JVM?
+     * @param flags Module access flags ErrorProne requires
+     * @return TRUE if the JDK has a compiler and all packages are
+     *  exported and opened as required
+     */
+    static boolean available(final Collection<String> flags) {
+        final Optional<Module> compiler = ModuleLayer.boot().findModule("jdk.compiler");
+        boolean available = compiler.isPresent()
+            && ToolProvider.getSystemJavaCompiler() != null;
+        final Module unnamed = Javac.class.getModule();
+        for (final String flag : flags) {
+            if (!available) {
+                break;
+            }
+            final Matcher matcher = Javac.FLAG.matcher(flag);
+            if (matcher.matches()) {
+                if ("exports".equals(matcher.group(1))) {
+                    available = compiler.get().isExported(matcher.group(2), unnamed);
+                } else {
+                    available = compiler.get().isOpen(matcher.group(2), unnamed);
+                }
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Compile the sources.
+     * @param options Options of {@code javac}, without the sources
+     * @param sources Java source files
+     * @param listener Listener of diagnostics, called as {@code javac}
+     *  reports them
+     */
+    void compile(final List<String> options, final List<File> sources,
+        final DiagnosticListener<JavaFileObject> listener) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final StringWriter output = new StringWriter();
+        try (StandardJavaFileManager files =
+            compiler.getStandardFileManager(listener, null, null)) {
+            final JavacTask task = (JavacTask) compiler.getTask(
+                output,
+                new Javac.Processors(files, this.loader()),
+                listener,
+                options,
+                null,
+                files.getJavaFileObjectsFromFiles(sources)
+            );
+            task.addTaskListener(new Javac.Interruptible());
+            final boolean success = task.call();
+            Logger.debug(
+                this, "In-process javac finished, success=%b: %s",
+                success, output
+            );
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Unable to close file manager", ex);
+        }
+    }
+
+    /**
+     * Class loader of ErrorProne, created on first use.
+     * @return Class loader
+     */
+    private ClassLoader loader() {
+        return Javac.LOADERS.computeIfAbsent(
+            this.processorpath,
+            path -> {
+                final List<URL> urls = new ArrayList<>(0);
+                for (final String entry
+                    : Splitter.on(File.pathSeparatorChar).omitEmptyStrings().split(path)) {
+                    try {
+                        urls.add(new File(entry).toURI().toURL());
+                    } catch (final MalformedURLException ex) {
+                        throw new IllegalStateException(
+                            String.format("Invalid processor path entry %s", entry),
+                            ex
+                        );
+                    }
+                }
+                Logger.debug(
+                    Javac.class, "Loading ErrorProne from %d entries", urls.size()
+                );
+                return new URLClassLoader(
+                    urls.toArray(new URL[0]),
+                    ToolProvider.getSystemJavaCompiler().getClass().getClassLoader()
+                );
+            }
+        );
+    }
+
+    /**
+     * File manager which loads processors and plugins with the cached
+     * class loader.
+     * @since 1.0
+     */
+    private static final class Processors
+        extends ForwardingJavaFileManager<JavaFileManager> {
+
+        /**
+         * Class loader of ErrorProne.
+         */
+        private final ClassLoader loader;
+
+        /**
+         * Ctor.
+         * @param origin Original file manager
+         * @param loader Class loader of ErrorProne
+         */
+        Processors(final JavaFileManager origin, final ClassLoader loader) {
+            super(origin);
+            this.loader = loader;
+        }
+
+        @Override
+        public ClassLoader getClassLoader(final JavaFileManager.Location location) {
+            final ClassLoader result;
+            if (location == StandardLocation.ANNOTATION_PROCESSOR_PATH) {
+                result = new Javac.Shield(this.loader);
+            } else {
+                result = super.getClassLoader(location);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Listener which stops the compilation once the thread running it is
+     * interrupted, since {@code javac} itself never checks that.
+     * @since 1.0
+     */
+    private static final class Interruptible implements TaskListener {
+
+        @Override
+        public void started(final TaskEvent event) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException(
+                    String.format("javac was interrupted at %s", event.getKind())
+                );
+            }
+        }
+    }
+
+    /**
+     * Class loader which only delegates to its parent and, unlike a
+     * {@link URLClassLoader}, can't be closed.
+     * @since 1.0
+     */
+    private static final class Shield extends ClassLoader {
+
+        /**
+         * Ctor.
+         * @param parent Class loader to delegate to
+         */
+        Shield(final ClassLoader parent) {
+            super(parent);
+        }
+    }
+}
@@ -133,6 +133,11 @@ public abstract class AbstractQuliceMojo extends AbstractMojo
             return;
         }
         this.environment.setProject(this.project);
+        if (this.project.getBuild().getTestOutputDirectory() != null) {
+            this.environment.properties().setProperty(
+                "test.outdir", this.project.getBuild().getTestOutputDirectory()
+            );
+        }
         this.environment.setMojoExecutor(
             new MojoExecutor(this.manager, this.sess)
         );
@@ -0,0 +1,154 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Files changed or added in the local Git repository, according to its
+ * index and working tree.
+ *
+ * <p>The {@code git} executable is called, which never touches the
+ * network for these commands. Either the files staged for commit are
+ * listed, or the files which differ from the given reference, staged or
+ * not, together with untracked files, which are not ignored. Deleted
+ * files are never listed.</p>
+ *
+ * @since 1.0
+ */
+final class Changes {
+
+    /**
+     * Directory inside of the repository.
+     */
+    private final File dir;
+
+    /**
+     * Reference to compare with, empty to list the staged files.
+     */
+    private final String since;
+
+    /**
+     * Ctor.
+     * @param dir Directory inside of the repository
+     * @param since Reference to compare with, like {@code origin/master},
+     *  or empty to list the files staged for commit
+     */
+    Changes(final File dir, final String since) {
+        this.dir = dir;
+        this.since = since;
+    }
+
+    /**
+     * Changed and added files.
+     * @return Canonical files
+     */
+    Set<File> files() {
+        final File root = new File(
+            Changes.git(this.dir, "rev-parse", "--show-toplevel").get(0)
+        );
+        final List<String> names = new ArrayList<>(0);
+        if (this.since.isEmpty()) {
+            names.addAll(
+                Changes.git(root, "diff", "--cached", "--name-only", "--diff-filter=ACMR", "-z")
+            );
+        } else {
+            names.addAll(
+                Changes.git(
+                    root, "diff", "--name-only", "--diff-filter=ACMR", "-z",
+                    this.since, "--"
+                )
+            );
+            names.addAll(
+                Changes.git(root, "ls-files", "--others", "--exclude-standard", "-z")
+            );
+        }
+        final Set<File> files = new HashSet<>(names.size());
+        for (final String name : names) {
+            files.add(Changes.canonical(new File(root, name)));
+        }
+        return files;
+    }
+
+    /**
+     * Canonical file, which is what the environment lists too.
+     * @param file The file
+     * @return Canonical file
+     */
+    static File canonical(final File file) {
+        try {
+            return file.getCanonicalFile();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(
+                String.format("Can't resolve %s", file), ex
+            );
+        }
+    }
+
+    /**
+     * Run Git and split its output, either by NUL characters, if
+     * the {@code -z} option is given, or by lines.
+     * @param home Working directory
+     * @param args Arguments of {@code git}
+     * @return Non-empty items of the output
+     */
+    private static List<String> git(final File home, final String... args) {
+        final List<String> command = new ArrayList<>(args.length + 1);
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        final String output;
+        final int code;
+        try {
+            final Process process = new ProcessBuilder(command)
+                .directory(home)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+            process.getOutputStream().close();
+            try (InputStream input = process.getInputStream()) {
+                output = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            code = process.waitFor();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(
+                String.format("Can't run %s in %s", command, home), ex
+            );
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                String.format("Interrupted while running %s", command), ex
+            );
+        }
+        if (code != 0) {
+            throw new IllegalStateException(
+                String.format(
+                    "%s failed in %s with code %d, is it a Git repository?",
+                    command, home, code
+                )
+            );
+        }
+        final String separator;
+        if (command.contains("-z")) {
+            separator = "\u0000";
+        } else {
+            separator = "\\R";
+        }
+        final List<String> items = new ArrayList<>(0);
+        for (final String item : output.split(separator)) {
+            if (!item.isEmpty()) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+}
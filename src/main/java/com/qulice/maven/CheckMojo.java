@@ -5,23 +5,40 @@
 package com.qulice.maven;
 
 import com.jcabi.log.Logger;
+import com.qulice.checkstyle.CheckstyleValidator;
+import com.qulice.errorprone.ErrorProneValidator;
+import com.qulice.pmd.PmdValidator;
+import com.qulice.spi.Budget;
 import com.qulice.spi.ResourceValidator;
+import com.qulice.spi.Scheduler;
+import com.qulice.spi.Sources;
+import com.qulice.spi.Shards;
+import com.qulice.spi.Timings;
 import com.qulice.spi.ValidationException;
 import com.qulice.spi.Validator;
 import com.qulice.spi.Violation;
+import com.qulice.spi.ViolationSink;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.Callable;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -41,16 +58,16 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 public final class CheckMojo extends AbstractQuliceMojo {
 
     /**
-     * Executors for validators.
+     * How many violations to keep in memory while sorting them for
+     * reports, before spilling them to disk.
      */
-    private final ExecutorService executors =
-        Executors.newFixedThreadPool(5);
+    private static final int SPOOLED = 10_000;
 
     /**
-     * Provider of validators.
+     * Provider of validators, created on first use with the
+     * configurations shared by all modules of the session.
      */
-    private ValidatorsProvider provider =
-        new DefaultValidatorsProvider(this.env());
+    private ValidatorsProvider provider;
 
     /**
      * Check timeout.
@@ -59,10 +76,192 @@ public final class CheckMojo extends AbstractQuliceMojo {
      * Time units are 's' for seconds, 'm' for minutes, 'h' for hours.
      * Can also be a string 'forever' to disable timeout.
      * Defaults to 10 minutes.
+     * It is one deadline for all validators together, when it is over
+     * they are cancelled and the violations found so far are reported.
      */
     @Parameter(property = "qulice.check-timeout", defaultValue = "10")
     private String timeout;
 
+    /**
+     * How many shards to split the files of each validator into.
+     * Every shard is validated as an independent task, so setting this
+     * to the number of available cores lets Checkstyle, PMD and
+     * ErrorProne use all of them. Defaults to one shard per validator.
+     */
+    @Parameter(property = "qulice.shards", defaultValue = "1")
+    private int shards = 1;
+
+    /**
+     * Shall we replay stored results for files that haven't changed?
+     * Results are stored in {@code target/qulice/incremental}, per
+     * validator, together with the fingerprint of the configuration
+     * and, for ErrorProne, of the classpath. The inventory of source
+     * files is stored in {@code target/qulice/inventory.bin}, so that
+     * unchanged files aren't sniffed for binary content again.
+     */
+    @Parameter(property = "qulice.incremental", defaultValue = "false")
+    private boolean incremental;
+
+    /**
+     * Directory to keep PMD incremental analysis cache in. It may be
+     * shared between modules and builds, for example on a CI agent.
+     * Defaults to {@code pmd} inside the output directory.
+     */
+    @Parameter(property = "qulice.pmd-cache")
+    private String pmdcache;
+
+    /**
+     * Number of PMD worker threads. By default, it's the number of
+     * available cores minus the ones taken by the other validators,
+     * split evenly between the shards of PMD and Checkstyle. Zero makes
+     * PMD analyze all files sequentially on the calling thread.
+     */
+    @Parameter(property = "qulice.pmd-threads", defaultValue = "-1")
+    private int pmdthreads = -1;
+
+    /**
+     * Number of threads, each with its own Checker, that Checkstyle
+     * processes the files of a shard with. By default, it's the number
+     * of cores left by the other validators and by the threads of PMD,
+     * shared among the shards of Checkstyle.
+     */
+    @Parameter(property = "qulice.checkstyle-threads", defaultValue = "-1")
+    private int checkstylethreads = -1;
+
+    /**
+     * Shall ErrorProne run in a forked {@code javac}? If not, it runs
+     * inside the Maven JVM and stays loaded for the whole session, but
+     * the JVM must export {@code jdk.compiler} internals to unnamed
+     * modules, for example via {@code .mvn/jvm.config}.
+     */
+    @Parameter(property = "qulice.errorprone-fork", defaultValue = "true")
+    private boolean fork = true;
+
+    /**
+     * How many batches to split the sources of one ErrorProne shard into,
+     * compiled concurrently against the classes already built. Defaults
+     * to one batch, compiled together.
+     */
+    @Parameter(property = "qulice.errorprone-batches", defaultValue = "1")
+    private int batches = 1;
+
+    /**
+     * Stop after this many violations: the validators still running are
+     * cancelled, the forked {@code javac} is killed, and Maven validators
+     * are skipped. Zero, the default, means never stop early.
+     */
+    @Parameter(property = "qulice.fail-fast", defaultValue = "0")
+    private int failfast;
+
+    /**
+     * How many cores validators of all modules may keep busy at once.
+     * Validators run on virtual threads of one scheduler, shared by all
+     * modules built in parallel with {@code mvn -T}, so the cap of the
+     * first module is kept for the whole session. Zero, the default,
+     * means as many as there are cores, without any extra cap.
+     */
+    @Parameter(property = "qulice.threads", defaultValue = "0")
+    private int cap;
+
+    /**
+     * How many of the slowest Checkstyle checks, PMD rules and files
+     * to log. The time of all of them is saved to
+     * {@code target/qulice/timings.json}. Checkstyle is much slower
+     * while its checks are timed, since every check parses every file
+     * again. Results stored by {@code qulice.incremental} and
+     * {@code qulice.store} and the PMD cache are not used then, so that
+     * every file is validated and timed. Zero, the default, means no
+     * timing.
+     */
+    @Parameter(property = "qulice.timings", defaultValue = "0")
+    private int timings;
+
+    /**
+     * Comma-separated formats of reports to write into
+     * {@code target/qulice}, as violations are found: {@code sarif} for
+     * {@code qulice.sarif} and {@code checkstyle} for
+     * {@code checkstyle-result.xml}. Violations are grouped by file with
+     * a merge sort on disk, so memory stays bounded however many there
+     * are. Empty, the default, means no reports, only the log.
+     */
+    @Parameter(property = "qulice.reports", defaultValue = "")
+    private String reports = "";
+
+    /**
+     * How many megabytes of decoded source files to keep in memory, so
+     * that PMD and the scanners of imports and suppressions, in all
+     * modules of the build, read every file once. The least recently
+     * used files are dropped when there are more. Zero means read them
+     * every time.
+     */
+    @Parameter(property = "qulice.source-cache", defaultValue = "64")
+    private int sourcecache = 64;
+
+    /**
+     * Git reference, like {@code origin/master}, to validate only the
+     * files changed since, staged or not, and the untracked ones. Other
+     * files are still on the classpath of ErrorProne, through the output
+     * directory, so the module must be compiled. Empty, the default,
+     * means all files.
+     */
+    @Parameter(property = "qulice.since", defaultValue = "")
+    private String since = "";
+
+    /**
+     * Validate only the files staged for commit, for pre-commit hooks.
+     * Ignored if {@code qulice.since} is set.
+     */
+    @Parameter(property = "qulice.staged", defaultValue = "false")
+    private boolean staged;
+
+    /**
+     * Take results from the store shared by all builds of the machine,
+     * for directories with the same files, validated with the same
+     * configuration, in any checkout, and save new results into it.
+     */
+    @Parameter(property = "qulice.store", defaultValue = "false")
+    private boolean shared;
+
+    /**
+     * Directory of the shared store.
+     */
+    @Parameter(
+        property = "qulice.store-dir",
+        defaultValue = "${user.home}/.m2/qulice-store"
+    )
+    private String storedir = new File(
+        System.getProperty("user.home"), ".m2/qulice-store"
+    ).getPath();
+
+    /**
+     * How many megabytes the shared store may take. The results used
+     * least recently are deleted when there are more.
+     */
+    @Parameter(property = "qulice.store-size", defaultValue = "512")
+    private int storesize = 512;
+
+    /**
+     * How many seconds Checkstyle and PMD may spend on one file. The rest
+     * of their checks of a file which takes longer are skipped, and the
+     * file is reported. Zero means no limit.
+     */
+    @Parameter(property = "qulice.file-timeout", defaultValue = "60")
+    private int filetimeout = 60;
+
+    /**
+     * Lines of a large file, which Checkstyle checks only with the checks
+     * of linear time and PMD doesn't analyze. Zero means no limit.
+     */
+    @Parameter(property = "qulice.large-lines", defaultValue = "10000")
+    private int largelines = 10_000;
+
+    /**
+     * Kilobytes of a large file, like {@code qulice.large-lines}. Zero
+     * means no limit.
+     */
+    @Parameter(property = "qulice.large-size", defaultValue = "1024")
+    private int largesize = 1024;
+
     @Override
     public void doExecute() throws MojoFailureException {
         try {
@@ -92,96 +291,782 @@ public final class CheckMojo extends AbstractQuliceMojo {
         this.timeout = time;
     }
 
+    /**
+     * Set number of shards per validator.
+     * @param count Number of shards
+     */
+    public void setShards(final int count) {
+        this.shards = count;
+    }
+
+    /**
+     * Set incremental mode.
+     * @param flag TRUE to replay results for unchanged files
+     */
+    public void setIncremental(final boolean flag) {
+        this.incremental = flag;
+    }
+
+    /**
+     * Set directory of PMD incremental analysis cache.
+     * @param dir The directory
+     */
+    public void setPmdCache(final String dir) {
+        this.pmdcache = dir;
+    }
+
+    /**
+     * Set number of PMD worker threads.
+     * @param count Number of threads, negative to calculate
+     */
+    public void setPmdThreads(final int count) {
+        this.pmdthreads = count;
+    }
+
+    /**
+     * Set number of Checkstyle threads.
+     * @param count Number of threads, negative to calculate
+     */
+    public void setCheckstyleThreads(final int count) {
+        this.checkstylethreads = count;
+    }
+
+    /**
+     * Set whether ErrorProne runs in a forked {@code javac}.
+     * @param flag FALSE to run it in-process
+     */
+    public void setErrorproneFork(final boolean flag) {
+        this.fork = flag;
+    }
+
+    /**
+     * Set number of concurrent ErrorProne batches.
+     * @param count Number of batches
+     */
+    public void setErrorproneBatches(final int count) {
+        this.batches = count;
+    }
+
+    /**
+     * Set the number of violations to stop after.
+     * @param count Number of violations, zero to never stop early
+     */
+    public void setFailFast(final int count) {
+        this.failfast = count;
+    }
+
+    /**
+     * Set the number of cores validators may keep busy at once.
+     * @param count Number of cores, zero for no cap
+     */
+    public void setThreads(final int count) {
+        this.cap = count;
+    }
+
+    /**
+     * Set the number of the slowest checks and files to log.
+     * @param count Number of them, zero for no timing
+     */
+    public void setTimings(final int count) {
+        this.timings = count;
+    }
+
+    /**
+     * Set formats of reports.
+     * @param formats Comma-separated formats, empty for none
+     */
+    public void setReports(final String formats) {
+        this.reports = formats;
+    }
+
+    /**
+     * Set the size of the cache of decoded source files.
+     * @param megs Megabytes, zero for no cache
+     */
+    public void setSourceCache(final int megs) {
+        this.sourcecache = megs;
+    }
+
+    /**
+     * Set the Git reference to validate the files changed since.
+     * @param ref The reference, empty for all files
+     */
+    public void setSince(final String ref) {
+        this.since = ref;
+    }
+
+    /**
+     * Set whether to validate only the files staged for commit.
+     * @param flag TRUE for staged files only
+     */
+    public void setStaged(final boolean flag) {
+        this.staged = flag;
+    }
+
+    /**
+     * Set whether to use the store shared by all builds.
+     * @param flag TRUE to use it
+     */
+    public void setStore(final boolean flag) {
+        this.shared = flag;
+    }
+
+    /**
+     * Set the directory of the shared store.
+     * @param dir The directory
+     */
+    public void setStoreDir(final String dir) {
+        this.storedir = dir;
+    }
+
+    /**
+     * Set the size cap of the shared store.
+     * @param megs Megabytes
+     */
+    public void setStoreSize(final int megs) {
+        this.storesize = megs;
+    }
+
+    /**
+     * Set how long Checkstyle and PMD may spend on one file.
+     * @param seconds Seconds, zero for no limit
+     */
+    public void setFileTimeout(final int seconds) {
+        this.filetimeout = seconds;
+    }
+
+    /**
+     * Set the lines of a large file.
+     * @param lines Lines, zero for no limit
+     */
+    public void setLargeLines(final int lines) {
+        this.largelines = lines;
+    }
+
+    /**
+     * Set the size of a large file.
+     * @param kilos Kilobytes, zero for no limit
+     */
+    public void setLargeSize(final int kilos) {
+        this.largesize = kilos;
+    }
+
     /**
      * Run them all.
      * @throws ValidationException If any of them fail
      */
     @SuppressWarnings("PMD.CognitiveComplexity")
     private void run() throws ValidationException {
-        final List<Violation> results = new ArrayList<>(0);
+        final Collection<Future<?>> futures = new CopyOnWriteArrayList<>();
+        final CheckMojo.Printed printed = new CheckMojo.Printed(
+            this::root,
+            this.failfast,
+            () -> CheckMojo.cancel(futures)
+        );
         final MavenEnvironment env = this.env();
-        final Collection<File> files = env.files("*.*");
+        final Spool spool = new Spool(
+            new File(CheckMojo.workdir(env), "spool"), CheckMojo.SPOOLED
+        );
+        final AtomicBoolean open = new AtomicBoolean(true);
+        final ViolationSink sink;
+        if (this.formats().isEmpty()) {
+            sink = violation -> {
+                if (open.get()) {
+                    printed.accept(violation);
+                }
+            };
+        } else {
+            sink = violation -> {
+                if (open.get()) {
+                    printed.accept(violation);
+                    spool.accept(violation);
+                }
+            };
+        }
+        Engine.of(this.session()).limit(this.cap);
+        Sources.shared().limit((long) this.sourcecache << 20);
+        if (this.pmdcache != null && !this.pmdcache.isEmpty()) {
+            env.properties().setProperty("pmd.cache", this.pmdcache);
+        }
+        env.properties().setProperty("errorprone.fork", String.valueOf(this.fork));
+        env.properties().setProperty("jars.index", this.jars(env).getAbsolutePath());
+        env.properties().setProperty(
+            "errorprone.batches", String.valueOf(this.batches)
+        );
+        env.properties().setProperty(
+            "file.timeout", String.valueOf(TimeUnit.SECONDS.toMillis(this.filetimeout))
+        );
+        env.properties().setProperty("large.lines", String.valueOf(this.largelines));
+        env.properties().setProperty("large.size", String.valueOf(this.largesize));
+        if (this.timings > 0) {
+            env.properties().setProperty(
+                "timings",
+                new File(CheckMojo.workdir(env), "timings.json").getAbsolutePath()
+            );
+        }
+        if (this.incremental) {
+            env.properties().setProperty(
+                "inventory.store",
+                new File(CheckMojo.workdir(env), "inventory.bin").getAbsolutePath()
+            );
+        }
+        final Collection<File> files = this.changed(env, env.files("*.*"));
+        env.inventory().save();
         if (!files.isEmpty()) {
-            final Collection<Future<Collection<Violation>>> futures =
-                this.submit(env, files, this.provider.externalResource());
-            for (final Future<Collection<Violation>> future : futures) {
-                try {
-                    if ("forever".equalsIgnoreCase(this.timeout)) {
-                        results.addAll(future.get());
-                    } else {
-                        final long value = this.timeoutValue();
-                        final TimeUnit units = this.timeoutUnits();
-                        Logger.debug(
-                            this,
-                            "Waiting up to %d %s for validator result",
-                            value,
-                            units
-                        );
-                        results.addAll(future.get(value, units));
-                    }
-                } catch (final InterruptedException ex) {
-                    Thread.currentThread().interrupt();
-                    throw new IllegalStateException(ex);
-                } catch (final ExecutionException | TimeoutException ex) {
-                    throw new IllegalStateException(ex);
+            final Collection<ResourceValidator> validators =
+                this.provider().externalResource();
+            final int pmd = this.threads(validators);
+            env.properties().setProperty("pmd.threads", String.valueOf(pmd));
+            env.properties().setProperty(
+                "checkstyle.threads",
+                String.valueOf(this.partitions(validators, pmd))
+            );
+            final Map<Future<?>, String> submitted = this.submit(env, files, validators, sink);
+            futures.addAll(submitted.keySet());
+            this.await(
+                submitted, printed,
+                () -> {
+                    open.set(false);
+                    this.report(env, spool);
                 }
-            }
-            Collections.sort(results);
-            for (final Violation result : results) {
-                Logger.info(
-                    this,
-                    "%s: %s[%s]: %s (%s)",
-                    result.validator(),
-                    result.file().replace(
-                        String.format(
-                            "%s/", this.session().getExecutionRootDirectory()
-                        ),
-                        ""
-                    ),
-                    result.lines(),
-                    result.message(),
-                    result.name()
-                );
-            }
+            );
+        }
+        Timings.of(env).report(this.timings);
+        if (this.shared) {
+            this.store().trim();
+        }
+        this.report(env, spool);
+        if (printed.full()) {
+            throw new ValidationException(
+                String.format(
+                    "There are at least %d violations, the rest of checks are cancelled",
+                    printed.count()
+                )
+            );
         }
-        if (!results.isEmpty()) {
+        if (printed.count() > 0) {
             throw new ValidationException(
-                String.format("There are %d violations", results.size())
+                String.format("There are %d violations", printed.count())
             );
         }
-        for (final Validator validator : this.provider.external()) {
+        for (final Validator validator : this.provider().external()) {
             Logger.info(this, "Starting %s validator", validator.name());
             validator.validate(env);
             Logger.info(this, "Finishing %s validator", validator.name());
         }
-        for (final MavenValidator validator : this.provider.internal()) {
+        for (final MavenValidator validator : this.provider().internal()) {
             validator.validate(env);
         }
     }
 
     /**
-     * Submit validators to executor.
+     * Wait for all validators till the deadline, which is the same for
+     * all of them, and cancel the rest, interrupting their threads, when
+     * it is over or when one of them fails.
+     *
+     * <p>Validators give up when interrupted: Checkstyle before the next
+     * file, PMD skips the rules of the next files, ErrorProne kills the
+     * forked {@code javac} or stops its own one at the next phase. The
+     * violations found before the deadline are reported, the later ones
+     * are ignored.</p>
+     *
+     * @param futures Futures of validators, with their names
+     * @param printed Sink which prints violations
+     * @param partial What to do with the violations found before the deadline
+     * @checkstyle ExecutableStatementCount (60 lines)
+     */
+    private void await(final Map<Future<?>, String> futures,
+        final CheckMojo.Printed printed, final Runnable partial) {
+        final boolean forever = "forever".equalsIgnoreCase(this.timeout);
+        final long deadline;
+        if (forever) {
+            deadline = 0L;
+        } else {
+            final long value = this.timeoutValue();
+            final TimeUnit units = this.timeoutUnits();
+            Logger.debug(this, "Waiting up to %d %s for all validators", value, units);
+            deadline = System.nanoTime() + units.toNanos(value);
+        }
+        for (final Future<?> future : futures.keySet()) {
+            if (printed.full()) {
+                CheckMojo.cancel(futures.keySet());
+                break;
+            }
+            try {
+                if (forever) {
+                    future.get();
+                } else {
+                    future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            } catch (final InterruptedException ex) {
+                CheckMojo.cancel(futures.keySet());
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            } catch (final CancellationException ex) {
+                Logger.debug(this, "Validator cancelled: %s", ex.getMessage());
+            } catch (final ExecutionException ex) {
+                if (!printed.full()) {
+                    CheckMojo.cancel(futures.keySet());
+                    throw new IllegalStateException(ex);
+                }
+                Logger.debug(this, "Cancelled validator failed: %s", ex.getMessage());
+            } catch (final TimeoutException ex) {
+                final Set<String> late = new TreeSet<>();
+                for (final Map.Entry<Future<?>, String> entry : futures.entrySet()) {
+                    if (!entry.getKey().isDone()) {
+                        late.add(entry.getValue());
+                    }
+                }
+                CheckMojo.cancel(futures.keySet());
+                partial.run();
+                Logger.warn(
+                    this,
+                    "%s didn't finish in %s and cancelled, %d violations found before are reported",
+                    late, this.timeout, printed.count()
+                );
+                throw new IllegalStateException(
+                    String.format("Validators didn't finish in %s: %s", this.timeout, late),
+                    ex
+                );
+            }
+        }
+    }
+
+    /**
+     * Submit validators to executor, one task per shard of files. Stored
+     * results are not used while checks are timed, since the files found
+     * in a store would not be validated and timed at all. With more than
+     * one shard, or with stored results, every validator gets only some
+     * of the files of the module, so the validation is {@code partial},
+     * and ErrorProne compiles them against the classes of the others.
      * @param env Maven environment
      * @param files List of files to validate
      * @param validators Validators to use
-     * @return List of futures
+     * @param sink Where validators push violations
+     * @return Futures, in the order of submission, with names of validators
+     * @checkstyle ParameterNumber (5 lines)
      */
-    private Collection<Future<Collection<Violation>>> submit(
+    private Map<Future<?>, String> submit(
         final MavenEnvironment env, final Collection<File> files,
-        final Collection<ResourceValidator> validators
+        final Collection<ResourceValidator> validators, final ViolationSink sink
     ) {
-        final Collection<Future<Collection<Violation>>> futures =
-            new ArrayList<>(validators.size());
-        for (final ResourceValidator validator : validators) {
-            futures.add(
-                this.executors.submit(
-                    new CheckMojo.ValidatorCallable(validator, env, files)
-                )
+        final Map<Future<?>, String> futures = new LinkedHashMap<>(validators.size());
+        final boolean timed = this.timings > 0;
+        if (timed && (this.incremental || this.shared)) {
+            Logger.info(
+                this, "Stored results are not used while checks are timed, see qulice.timings"
             );
         }
+        if (this.shards > 1 || (this.incremental || this.shared) && !timed) {
+            env.properties().setProperty("partial", "true");
+        }
+        for (final ResourceValidator origin : validators) {
+            final String context;
+            if ((this.incremental || this.shared) && !timed) {
+                context = CheckMojo.fingerprint(env, origin);
+            } else {
+                context = "";
+            }
+            final ResourceValidator stored;
+            if (this.shared && !timed) {
+                stored = new StoredValidator(origin, this.store(), context, env.basedir());
+            } else {
+                stored = origin;
+            }
+            final ResourceValidator validator;
+            if (this.incremental && !timed) {
+                validator = CheckMojo.incremental(env, stored, context);
+            } else {
+                validator = stored;
+            }
+            final List<List<File>> parts = new Shards(
+                CheckMojo.filter(env, files, validator), this.shards
+            ).all();
+            if (parts.size() > 1) {
+                Logger.info(
+                    this, "%s files split into %d shards",
+                    validator.name(), parts.size()
+                );
+            }
+            final int weight = CheckMojo.weight(env, origin);
+            for (final List<File> part : parts) {
+                futures.put(
+                    Scheduler.shared().submit(
+                        weight, new CheckMojo.ValidatorTask(validator, part, sink)
+                    ),
+                    validator.name()
+                );
+            }
+        }
         return futures;
     }
 
+    /**
+     * Store shared by all builds of the machine.
+     * @return Store
+     */
+    private Store store() {
+        return new Store(new File(this.storedir), (long) this.storesize << 20);
+    }
+
+    /**
+     * Files changed in Git, if only they have to be validated.
+     * @param env Maven environment
+     * @param files All files
+     * @return Changed files, or all of them
+     */
+    private Collection<File> changed(final MavenEnvironment env,
+        final Collection<File> files) {
+        final Collection<File> changed;
+        if (this.since.isEmpty() && !this.staged) {
+            changed = files;
+        } else {
+            final Set<File> changes = new Changes(env.basedir(), this.since).files();
+            changed = new ArrayList<>(0);
+            for (final File file : files) {
+                if (changes.contains(Changes.canonical(file))) {
+                    changed.add(file);
+                }
+            }
+            final String what;
+            if (this.since.isEmpty()) {
+                what = "staged for commit";
+            } else {
+                what = String.format("changed since %s", this.since);
+            }
+            Logger.info(this, "%d of %d files are %s", changed.size(), files.size(), what);
+            env.properties().setProperty("partial", "true");
+        }
+        return changed;
+    }
+
+    /**
+     * Write reports of all violations found.
+     * @param env Maven environment
+     * @param spool Violations found
+     */
+    private void report(final MavenEnvironment env, final Spool spool) {
+        final List<Report> all = new ArrayList<>(2);
+        try {
+            for (final String format : this.formats()) {
+                if ("sarif".equals(format)) {
+                    all.add(
+                        new Report.Sarif(
+                            new File(CheckMojo.workdir(env), "qulice.sarif"), this.base(env)
+                        )
+                    );
+                } else if ("checkstyle".equals(format)) {
+                    all.add(
+                        new Report.Xml(new File(CheckMojo.workdir(env), "checkstyle-result.xml"))
+                    );
+                } else {
+                    throw new IllegalStateException(
+                        String.format(
+                            "Unknown report format '%s', only 'sarif' and 'checkstyle' are supported",
+                            format
+                        )
+                    );
+                }
+            }
+            spool.drain(
+                violation -> {
+                    for (final Report report : all) {
+                        report.add(violation);
+                    }
+                }
+            );
+        } finally {
+            for (final Report report : all) {
+                try {
+                    report.close();
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException("Failed to close report", ex);
+                }
+            }
+        }
+        if (!all.isEmpty()) {
+            Logger.info(this, "Reports saved to %s", CheckMojo.workdir(env));
+        }
+    }
+
+    /**
+     * Formats of reports.
+     * @return Lowercase names of formats
+     */
+    private Collection<String> formats() {
+        final Collection<String> formats = new ArrayList<>(2);
+        if (this.reports != null) {
+            for (final String format : this.reports.split(",")) {
+                if (!format.isBlank()) {
+                    formats.add(format.trim().toLowerCase(Locale.ENGLISH));
+                }
+            }
+        }
+        return formats;
+    }
+
+    /**
+     * Directory which files in reports are relative to.
+     * @param env Maven environment
+     * @return Execution root directory, or the base directory
+     */
+    private File base(final MavenEnvironment env) {
+        final File base;
+        if (this.session() == null) {
+            base = env.basedir();
+        } else {
+            base = new File(this.session().getExecutionRootDirectory());
+        }
+        return base;
+    }
+
+    /**
+     * Directory of indexes of classes in dependency JARs, shared by all
+     * builds which use the same local repository.
+     * @param env Environment
+     * @return Directory in the local repository, or in the build directory
+     *  if there is no session
+     */
+    private File jars(final MavenEnvironment env) {
+        final File dir;
+        if (this.session() == null
+            || this.session().getRequest().getLocalRepositoryPath() == null) {
+            dir = new File(CheckMojo.workdir(env), "jars");
+        } else {
+            dir = new File(
+                this.session().getRequest().getLocalRepositoryPath(), ".qulice/jars"
+            );
+        }
+        return dir;
+    }
+
+    /**
+     * Provider of validators.
+     * @return Provider set, or the default one
+     */
+    private ValidatorsProvider provider() {
+        if (this.provider == null) {
+            this.provider = new DefaultValidatorsProvider(
+                this.env(), Engine.of(this.session())
+            );
+        }
+        return this.provider;
+    }
+
+    /**
+     * Prefix to strip from file names when printing violations.
+     * @return Execution root directory with a trailing slash
+     */
+    private String root() {
+        final String root;
+        if (this.session() == null) {
+            root = "";
+        } else {
+            root = String.format("%s/", this.session().getExecutionRootDirectory());
+        }
+        return root;
+    }
+
+    /**
+     * Cancel all validators which are still running.
+     * @param futures Futures of validators
+     */
+    private static void cancel(final Collection<Future<?>> futures) {
+        for (final Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Number of PMD worker threads.
+     * @param validators Resource validators to run
+     * @return Number of threads
+     */
+    private int threads(final Collection<ResourceValidator> validators) {
+        final int threads;
+        if (this.pmdthreads < 0) {
+            threads = CheckMojo.share(
+                Scheduler.shared().size(), Math.max(1, this.shards), validators
+            );
+        } else {
+            threads = this.pmdthreads;
+        }
+        return threads;
+    }
+
+    /**
+     * Number of Checkstyle partitions.
+     * @param validators Resource validators to run
+     * @param pmd Number of PMD worker threads
+     * @return Number of partitions
+     */
+    private int partitions(final Collection<ResourceValidator> validators,
+        final int pmd) {
+        final int partitions;
+        if (this.checkstylethreads < 0) {
+            partitions = CheckMojo.rest(
+                Scheduler.shared().size(), Math.max(1, this.shards), validators, pmd
+            );
+        } else {
+            partitions = this.checkstylethreads;
+        }
+        return partitions;
+    }
+
+    /**
+     * Cores every shard of a validator with threads of its own may use.
+     *
+     * <p>Validators without threads of their own take one core per
+     * shard. The cores left are split evenly between the shards of PMD
+     * and Checkstyle, so that together they don't run more threads than
+     * there are cores.</p>
+     * @param cores Number of cores
+     * @param shards Number of shards per validator
+     * @param validators Resource validators to run
+     * @return Number of threads, at least one
+     */
+    static int share(final int cores, final int shards,
+        final Collection<ResourceValidator> validators) {
+        int threaded = 0;
+        for (final ResourceValidator validator : validators) {
+            if (CheckMojo.threaded(validator)) {
+                threaded += 1;
+            }
+        }
+        return Math.max(
+            1, CheckMojo.free(cores, shards, validators) / (Math.max(1, threaded) * shards)
+        );
+    }
+
+    /**
+     * Cores every shard of Checkstyle may use, out of what PMD left.
+     * @param cores Number of cores
+     * @param shards Number of shards per validator
+     * @param validators Resource validators to run
+     * @param pmd Number of PMD worker threads of every shard
+     * @return Number of partitions, at least one
+     */
+    static int rest(final int cores, final int shards,
+        final Collection<ResourceValidator> validators, final int pmd) {
+        int left = CheckMojo.free(cores, shards, validators);
+        for (final ResourceValidator validator : validators) {
+            if (validator instanceof PmdValidator) {
+                left -= Math.max(1, pmd) * shards;
+            }
+        }
+        return Math.max(1, left / shards);
+    }
+
+    /**
+     * Cores left by the validators without threads of their own, which
+     * take one core per shard.
+     * @param cores Number of cores
+     * @param shards Number of shards per validator
+     * @param validators Resource validators to run
+     * @return Number of cores, may be negative
+     */
+    private static int free(final int cores, final int shards,
+        final Collection<ResourceValidator> validators) {
+        int left = cores;
+        for (final ResourceValidator validator : validators) {
+            if (!CheckMojo.threaded(validator)) {
+                left -= shards;
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Does the validator run threads of its own?
+     * @param validator The validator
+     * @return TRUE for PMD and Checkstyle
+     */
+    private static boolean threaded(final ResourceValidator validator) {
+        return validator instanceof PmdValidator
+            || validator instanceof CheckstyleValidator;
+    }
+
+    /**
+     * How many cores the validator keeps busy.
+     * @param env Maven environment
+     * @param validator The validator
+     * @return Number of PMD worker threads for PMD, number of partitions
+     *  for Checkstyle, one for the others
+     */
+    static int weight(final MavenEnvironment env,
+        final ResourceValidator validator) {
+        int weight = 1;
+        if (validator instanceof PmdValidator) {
+            weight = Math.max(1, Integer.parseInt(env.param("pmd.threads", "0")));
+        } else if (validator instanceof CheckstyleValidator) {
+            weight = Math.max(
+                1, Integer.parseInt(env.param("checkstyle.threads", "1"))
+            );
+        }
+        return weight;
+    }
+
+    /**
+     * Wrap the validator so that it replays stored results.
+     * @param env Maven environment
+     * @param validator Validator to wrap
+     * @param context Fingerprint of the configuration of the validator
+     * @return Incremental validator
+     */
+    private static ResourceValidator incremental(final MavenEnvironment env,
+        final ResourceValidator validator, final String context) {
+        return new IncrementalValidator(
+            validator,
+            new File(
+                CheckMojo.workdir(env),
+                String.format(
+                    "incremental/%s.bin", validator.name().toLowerCase(Locale.ENGLISH)
+                )
+            ),
+            context
+        );
+    }
+
+    /**
+     * Fingerprint of everything, except files, the results of the
+     * validator depend on, including the limits of large files of the
+     * {@link Budget}, which are mixed into the excludes.
+     * @param env Maven environment
+     * @param validator The validator
+     * @return Fingerprint
+     */
+    private static String fingerprint(final MavenEnvironment env,
+        final ResourceValidator validator) {
+        final String name = validator.name().toLowerCase(Locale.ENGLISH);
+        final Collection<String> classpath;
+        if (validator instanceof ErrorProneValidator) {
+            classpath = env.classpath();
+        } else {
+            classpath = Collections.emptyList();
+        }
+        final Collection<String> excludes = new ArrayList<>(env.excludes(name));
+        excludes.add(Budget.of(env).limits());
+        return new Fingerprint(
+            validator.name(), excludes, env.encoding(), classpath, env.basedir()
+        ).value();
+    }
+
+    /**
+     * Directory where qulice keeps its files, inside the build directory.
+     * @param env Maven environment
+     * @return Directory, which may not exist yet
+     */
+    private static File workdir(final MavenEnvironment env) {
+        final String build = env.project().getBuild().getDirectory();
+        final File dir;
+        if (build == null) {
+            dir = new File(env.basedir(), "target");
+        } else {
+            dir = new File(build);
+        }
+        return new File(dir, "qulice");
+    }
+
     /**
      * Timeout value for timeout.
      * @return Timeout value
@@ -241,7 +1126,7 @@ public final class CheckMojo extends AbstractQuliceMojo {
      * @param validator Validator to use
      * @return Filtered files
      */
-    private static Collection<File> filter(
+    static Collection<File> filter(
         final MavenEnvironment env,
         final Collection<File> files, final ResourceValidator validator
     ) {
@@ -260,11 +1145,10 @@ public final class CheckMojo extends AbstractQuliceMojo {
     }
 
     /**
-     * Callable for validators.
+     * Task of one validator with one shard of files.
      * @since 0.1
      */
-    private static class ValidatorCallable
-        implements Callable<Collection<Violation>> {
+    private static class ValidatorTask implements Runnable {
 
         /**
          * Validator to use.
@@ -272,35 +1156,108 @@ public final class CheckMojo extends AbstractQuliceMojo {
         private final ResourceValidator validator;
 
         /**
-         * Maven environment.
+         * List of files to validate, already filtered.
          */
-        private final MavenEnvironment env;
+        private final Collection<File> files;
 
         /**
-         * List of files to validate.
+         * Where to push violations.
          */
-        private final Collection<File> files;
+        private final ViolationSink sink;
 
         /**
          * Constructor.
          * @param validator Validator to use
-         * @param env Maven environment
          * @param files List of files to validate
+         * @param sink Where to push violations
          */
-        ValidatorCallable(
-            final ResourceValidator validator,
-            final MavenEnvironment env, final Collection<File> files
+        ValidatorTask(
+            final ResourceValidator validator, final Collection<File> files,
+            final ViolationSink sink
         ) {
             this.validator = validator;
-            this.env = env;
             this.files = files;
+            this.sink = sink;
+        }
+
+        @Override
+        public void run() {
+            this.validator.validate(this.files, this.sink);
+        }
+    }
+
+    /**
+     * Sink that prints every violation as soon as it's found and only
+     * counts them, so that memory stays bounded. Once the limit is
+     * reached, it fires the callback, only once.
+     * @since 1.0
+     */
+    static final class Printed implements ViolationSink {
+
+        /**
+         * Prefix to strip from file names.
+         */
+        private final Supplier<String> root;
+
+        /**
+         * How many violations to accept before firing, zero for never.
+         */
+        private final int limit;
+
+        /**
+         * What to do when the limit is reached.
+         */
+        private final Runnable callback;
+
+        /**
+         * How many violations were printed.
+         */
+        private final AtomicInteger total;
+
+        /**
+         * Ctor.
+         * @param root Prefix to strip from file names
+         * @param limit How many violations to accept before firing
+         * @param callback What to do when the limit is reached
+         */
+        Printed(final Supplier<String> root, final int limit,
+            final Runnable callback) {
+            this.root = root;
+            this.limit = limit;
+            this.callback = callback;
+            this.total = new AtomicInteger();
         }
 
         @Override
-        public Collection<Violation> call() {
-            return this.validator.validate(
-                CheckMojo.filter(this.env, this.files, this.validator)
+        public void accept(final Violation violation) {
+            if (this.total.incrementAndGet() == this.limit) {
+                this.callback.run();
+            }
+            Logger.info(
+                CheckMojo.class,
+                "%s: %s[%s]: %s (%s)",
+                violation.validator(),
+                violation.file().replace(this.root.get(), ""),
+                violation.lines(),
+                violation.message(),
+                violation.name()
             );
         }
+
+        /**
+         * How many violations were printed.
+         * @return Number of violations
+         */
+        int count() {
+            return this.total.get();
+        }
+
+        /**
+         * Is the limit reached?
+         * @return TRUE if so
+         */
+        boolean full() {
+            return this.limit > 0 && this.total.get() >= this.limit;
+        }
     }
 }
@@ -5,12 +5,9 @@
 package com.qulice.maven;
 
 import com.google.common.base.Function;
-import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.common.collect.Collections2;
-import com.google.common.collect.Iterables;
 import com.jcabi.log.Logger;
-import com.qulice.spi.Binary;
 import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -21,13 +18,11 @@ import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.io.filefilter.DirectoryFileFilter;
-import org.apache.commons.io.filefilter.IOFileFilter;
-import org.apache.commons.io.filefilter.WildcardFileFilter;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.model.Build;
@@ -68,6 +63,11 @@ public final class DefaultMavenEnvironment implements MavenEnvironment {
      */
     private final Collection<String> exc = new ArrayList<>(0);
 
+    /**
+     * Excludes compiled, by checker.
+     */
+    private final Map<String, Excludes> compiled = new ConcurrentHashMap<>(0);
+
     /**
      * Xpath queries for pom.xml validation.
      */
@@ -78,6 +78,11 @@ public final class DefaultMavenEnvironment implements MavenEnvironment {
      */
     private String charset = "UTF-8";
 
+    /**
+     * Inventory of source files, walked once per execution.
+     */
+    private Inventory inv;
+
     @Override
     public String param(final String name, final String value) {
         String ret = this.iproperties.getProperty(name);
@@ -186,35 +191,30 @@ public final class DefaultMavenEnvironment implements MavenEnvironment {
     @Override
     public Collection<File> files(final String pattern) {
         final Collection<File> files = new ArrayList<>(0);
-        final IOFileFilter filter = WildcardFileFilter.builder().setWildcards(pattern).get();
-        for (final File sources : this.sources()) {
-            if (sources.exists()) {
-                for (final File found : FileUtils.listFiles(
-                    sources,
-                    filter,
-                    DirectoryFileFilter.INSTANCE
-                )) {
-                    if (new Binary(found).yes()) {
-                        Logger.debug(
-                            this,
-                            "Skipping binary file %s",
-                            found
-                        );
-                    } else {
-                        files.add(found);
-                    }
-                }
-            }
+        for (final File sources : this.roots()) {
+            files.addAll(this.inventory().files(sources, pattern));
         }
         return files;
     }
 
+    @Override
+    public synchronized Inventory inventory() {
+        if (this.inv == null) {
+            final String path = this.param("inventory.store", "");
+            if (path.isEmpty()) {
+                this.inv = new Inventory();
+            } else {
+                this.inv = new Inventory(new File(path));
+            }
+        }
+        return this.inv;
+    }
+
     @Override
     public boolean exclude(final String check, final String name) {
-        return Iterables.any(
-            this.excludes(check),
-            new DefaultMavenEnvironment.PathPredicate(name)
-        );
+        return this.compiled.computeIfAbsent(
+            check, chk -> new Excludes(this.excludes(chk))
+        ).excluded(name);
     }
 
     @Override
@@ -232,8 +232,9 @@ public final class DefaultMavenEnvironment implements MavenEnvironment {
      * Set Maven Project (used mostly for unit testing).
      * @param proj The project to set
      */
-    public void setProject(final MavenProject proj) {
+    public synchronized void setProject(final MavenProject proj) {
         this.iproject = proj;
+        this.inv = null;
     }
 
     /**
@@ -268,6 +269,7 @@ public final class DefaultMavenEnvironment implements MavenEnvironment {
     public void setExcludes(final Collection<String> exprs) {
         this.exc.clear();
         this.exc.addAll(exprs);
+        this.compiled.clear();
     }
 
     /**
@@ -306,7 +308,8 @@ public final class DefaultMavenEnvironment implements MavenEnvironment {
      *
      * @return Absolute directories to scan for files
      */
-    private Collection<File> sources() {
+    @Override
+    public Collection<File> roots() {
         final Collection<File> dirs = new ArrayList<>(0);
         final Build build = this.iproject.getBuild();
         final File output = this.buildDirectory(build);
@@ -453,32 +456,6 @@ public final class DefaultMavenEnvironment implements MavenEnvironment {
         }
     }
 
-    /**
-     * Checks if two paths are equal.
-     * @since 0.1
-     */
-    private static class PathPredicate implements Predicate<String> {
-
-        /**
-         * Path to match.
-         */
-        private final String name;
-
-        /**
-         * Constructor.
-         * @param name Path to match
-         */
-        PathPredicate(final String name) {
-            this.name = name;
-        }
-
-        @Override
-        public boolean apply(@Nullable final String input) {
-            return input != null
-                && FilenameUtils.normalize(this.name, true).matches(input);
-        }
-    }
-
     /**
      * Converts a checker exclude into exclude param.
      *
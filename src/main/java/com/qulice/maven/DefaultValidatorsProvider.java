@@ -27,12 +27,27 @@ final class DefaultValidatorsProvider implements ValidatorsProvider {
      */
     private final Environment env;
 
+    /**
+     * Configurations shared with other modules.
+     */
+    private final Engine engine;
+
     /**
      * Constructor.
      * @param env Environment to use for validation
      */
     DefaultValidatorsProvider(final Environment env) {
+        this(env, new Engine());
+    }
+
+    /**
+     * Constructor.
+     * @param env Environment to use for validation
+     * @param engine Configurations shared with other modules
+     */
+    DefaultValidatorsProvider(final Environment env, final Engine engine) {
         this.env = env;
+        this.engine = engine;
     }
 
     @Override
@@ -54,8 +69,8 @@ final class DefaultValidatorsProvider implements ValidatorsProvider {
     @Override
     public Collection<ResourceValidator> externalResource() {
         return Arrays.asList(
-            new CheckstyleValidator(this.env),
-            new PmdValidator(this.env),
+            new CheckstyleValidator(this.env, this.engine.checkers()),
+            new PmdValidator(this.env, this.engine.rules()),
             new ErrorProneValidator(this.env)
         );
     }
@@ -8,21 +8,20 @@ import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.common.collect.Collections2;
 import com.jcabi.log.Logger;
+import com.qulice.spi.Parallel;
+import com.qulice.spi.Scheduler;
+import com.qulice.spi.Shards;
 import com.qulice.spi.ValidationException;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Enumeration;
-import java.util.HashSet;
 import java.util.Set;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalysis;
 import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalyzer;
@@ -45,6 +44,11 @@ final class DependenciesValidator implements MavenValidator {
      */
     private static final String SEP = String.format("%n\t");
 
+    /**
+     * Byte order mark, which {@code String.trim()} keeps.
+     */
+    private static final char BOM = '\uFEFF';
+
     @Override
     @SuppressWarnings("PMD.OnlyOneReturn")
     public void validate(final MavenEnvironment env)
@@ -58,8 +62,9 @@ final class DependenciesValidator implements MavenValidator {
             Logger.info(this, "Dependency analysis suppressed in the project via pom.xml");
             return;
         }
+        final ProjectDependencyAnalysis analysis = DependenciesValidator.analyze(env);
         final Collection<String> unused = Collections2.filter(
-            DependenciesValidator.unused(env),
+            DependenciesValidator.unused(env, analysis),
             Predicates.not(new DependenciesValidator.ExcludePredicate(excludes))
         );
         if (!unused.isEmpty()) {
@@ -71,7 +76,7 @@ final class DependenciesValidator implements MavenValidator {
             );
         }
         final Collection<String> used = Collections2.filter(
-            DependenciesValidator.used(env),
+            DependenciesValidator.used(analysis),
             Predicates.not(new DependenciesValidator.ExcludePredicate(excludes))
         );
         if (!used.isEmpty()) {
@@ -117,13 +122,11 @@ final class DependenciesValidator implements MavenValidator {
     }
 
     /**
-     * Find unused artifacts.
-     * @param env Environment
-     * @return Collection of unused artifacts
+     * Find used undeclared artifacts.
+     * @param analysis The result of analysis
+     * @return Collection of used undeclared artifacts
      */
-    private static Collection<String> used(final MavenEnvironment env) {
-        final ProjectDependencyAnalysis analysis =
-            DependenciesValidator.analyze(env);
+    private static Collection<String> used(final ProjectDependencyAnalysis analysis) {
         final Collection<String> used = new ArrayList<>(0);
         for (final Object artifact : analysis.getUsedUndeclaredArtifacts()) {
             used.add(artifact.toString());
@@ -142,19 +145,20 @@ final class DependenciesValidator implements MavenValidator {
      * any artifact referenced by an import is treated as used.</p>
      *
      * @param env Environment
+     * @param analysis The result of analysis
      * @return Collection of unused artifacts
      */
-    private static Collection<String> unused(final MavenEnvironment env) {
-        final ProjectDependencyAnalysis analysis =
-            DependenciesValidator.analyze(env);
+    private static Collection<String> unused(final MavenEnvironment env,
+        final ProjectDependencyAnalysis analysis) {
         final Set<String> imports = DependenciesValidator.imports(env);
+        final JarIndex index = new JarIndex(env.param("jars.index", ""));
         final Collection<String> unused = new ArrayList<>(0);
         for (final Object obj : analysis.getUnusedDeclaredArtifacts()) {
             final Artifact artifact = (Artifact) obj;
             if (!Artifact.SCOPE_COMPILE.equals(artifact.getScope())) {
                 continue;
             }
-            if (DependenciesValidator.imported(imports, artifact)) {
+            if (DependenciesValidator.imported(imports, index, artifact)) {
                 Logger.info(
                     DependenciesValidator.class,
                     "Dependency %s is imported in source and treated as used (annotations or inlined constants are invisible to bytecode analysis)",
@@ -169,96 +173,120 @@ final class DependenciesValidator implements MavenValidator {
 
     /**
      * Collect fully-qualified imports from all Java source files
-     * in the project's compile source roots.
+     * in the project's compile source roots, as listed by the inventory.
+     * Files are scanned concurrently, in partitions, one per core.
      * @param env Environment
      * @return Set of imported class names and wildcard package imports
      */
     private static Set<String> imports(final MavenEnvironment env) {
-        final Set<String> imports = new HashSet<>();
+        final Set<String> imports = ConcurrentHashMap.newKeySet();
+        final Collection<File> sources = new ArrayList<>(0);
         final Collection<String> roots =
             env.project().getCompileSourceRoots();
         if (roots != null) {
             for (final String root : roots) {
-                final Path dir = Paths.get(root);
-                if (Files.isDirectory(dir)) {
-                    DependenciesValidator.scanJavaFiles(dir, imports);
+                for (final Inventory.Entry entry
+                    : env.inventory().entries(new File(root))) {
+                    if (entry.file().getName().endsWith(".java")) {
+                        sources.add(entry.file());
+                    }
                 }
             }
         }
+        final Charset charset = env.encoding();
+        new Parallel(
+            part -> {
+                for (final File file : part) {
+                    DependenciesValidator.readImports(file, charset, imports);
+                }
+            }
+        ).apply(new Shards(sources, Scheduler.shared().size()).all());
         return imports;
     }
 
     /**
-     * Walk the given directory and collect imports from every Java file.
-     * @param dir Source root directory
-     * @param acc Accumulator to populate with imports
+     * Read import statements from a single Java source file into the
+     * given accumulator. Imports precede all type declarations, so the
+     * file is read line by line, until the first line which is neither
+     * blank, nor a comment, nor a {@code package}, {@code import} or
+     * annotation. A byte order mark at the start of the file is skipped.
+     * @param file Java source file
+     * @param charset Encoding of the file
+     * @param acc Accumulator to populate
      */
-    private static void scanJavaFiles(final Path dir, final Set<String> acc) {
-        try (Stream<Path> walk = Files.walk(dir)) {
-            walk
-                .filter(path -> path.toString().endsWith(".java"))
-                .forEach(path -> DependenciesValidator.readImports(path, acc));
+    private static void readImports(final File file, final Charset charset,
+        final Set<String> acc) {
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(Files.newInputStream(file.toPath()), charset)
+        )) {
+            boolean comment = false;
+            boolean body = false;
+            String line = reader.readLine();
+            if (line != null && !line.isEmpty() && line.charAt(0) == DependenciesValidator.BOM) {
+                line = line.substring(1);
+            }
+            while (!body && line != null) {
+                final String trimmed = line.trim();
+                if (comment || trimmed.startsWith("/*")) {
+                    comment = !trimmed.contains("*/");
+                } else if (trimmed.startsWith("import ")) {
+                    DependenciesValidator.addImport(trimmed, acc);
+                } else {
+                    body = !trimmed.isEmpty()
+                        && !trimmed.startsWith("//")
+                        && !trimmed.startsWith("package ")
+                        && trimmed.charAt(0) != '@';
+                }
+                line = reader.readLine();
+            }
         } catch (final IOException ex) {
             throw new IllegalStateException(
-                String.format("Cannot scan source root %s", dir), ex
+                String.format("Cannot read source file %s", file), ex
             );
         }
     }
 
     /**
-     * Read import statements from a single Java source file into the
-     * given accumulator.
-     * @param file Java source file
+     * Add the class or the package of an import statement to the
+     * accumulator.
+     * @param line Trimmed line with the statement
      * @param acc Accumulator to populate
      */
-    private static void readImports(final Path file, final Set<String> acc) {
-        try {
-            for (final String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
-                final String trimmed = line.trim();
-                if (!trimmed.startsWith("import ")) {
-                    continue;
-                }
-                final int semi = trimmed.indexOf(';');
-                if (semi < 0) {
-                    continue;
-                }
-                String spec =
-                    trimmed.substring("import ".length(), semi).trim();
-                if (spec.startsWith("static ")) {
-                    spec = spec.substring("static ".length()).trim();
-                    final int dot = spec.lastIndexOf('.');
-                    if (dot > 0) {
-                        spec = spec.substring(0, dot);
-                    }
-                }
-                if (!spec.isEmpty()) {
-                    acc.add(spec);
+    private static void addImport(final String line, final Set<String> acc) {
+        final int semi = line.indexOf(';');
+        if (semi > 0) {
+            String spec = line.substring("import ".length(), semi).trim();
+            if (spec.startsWith("static ")) {
+                spec = spec.substring("static ".length()).trim();
+                final int dot = spec.lastIndexOf('.');
+                if (dot > 0) {
+                    spec = spec.substring(0, dot);
                 }
             }
-        } catch (final IOException ex) {
-            throw new IllegalStateException(
-                String.format("Cannot read source file %s", file), ex
-            );
+            if (!spec.isEmpty()) {
+                acc.add(spec);
+            }
         }
     }
 
     /**
      * Is the given artifact referenced by any of the collected imports?
      * @param imports Imports collected from project sources
+     * @param index Index of classes in JARs
      * @param artifact Artifact whose JAR is inspected
      * @return TRUE if at least one class from the JAR is imported
      */
     private static boolean imported(final Set<String> imports,
-        final Artifact artifact) {
+        final JarIndex index, final Artifact artifact) {
         final File file = artifact.getFile();
         boolean found = false;
         if (!imports.isEmpty() && file != null && file.isFile()) {
-            try (JarFile jar = new JarFile(file)) {
-                final Enumeration<JarEntry> entries = jar.entries();
-                while (!found && entries.hasMoreElements()) {
-                    found = DependenciesValidator.matches(
-                        imports, entries.nextElement().getName()
-                    );
+            try {
+                for (final String name : index.classes(file)) {
+                    if (DependenciesValidator.matches(imports, name)) {
+                        found = true;
+                        break;
+                    }
                 }
             } catch (final IOException ex) {
                 Logger.warn(
@@ -272,29 +300,16 @@ final class DependenciesValidator implements MavenValidator {
     }
 
     /**
-     * Does the given JAR entry name represent a class imported by the
-     * project sources?
+     * Is the class, or its package, imported by the project sources?
      * @param imports Imports collected from project sources
-     * @param entry JAR entry name (e.g. "com/example/Foo.class")
-     * @return TRUE if the entry's fully-qualified class name or its
-     *  package is imported
+     * @param fqn Fully-qualified name of a top-level class
+     * @return TRUE if the class or its package is imported
      */
     private static boolean matches(final Set<String> imports,
-        final String entry) {
-        boolean match = false;
-        if (entry.endsWith(".class")
-            && !"module-info.class".equals(entry)
-            && entry.indexOf('$') < 0) {
-            final String fqn = entry
-                .substring(0, entry.length() - ".class".length())
-                .replace('/', '.');
-            final int dot = fqn.lastIndexOf('.');
-            final boolean direct = imports.contains(fqn);
-            final boolean wildcard = dot > 0
-                && imports.contains(fqn.substring(0, dot).concat(".*"));
-            match = direct || wildcard;
-        }
-        return match;
+        final String fqn) {
+        final int dot = fqn.lastIndexOf('.');
+        return imports.contains(fqn)
+            || dot > 0 && imports.contains(fqn.substring(0, dot).concat(".*"));
     }
 
     /**
@@ -0,0 +1,111 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.jcabi.log.Logger;
+import com.qulice.checkstyle.Checkers;
+import com.qulice.pmd.Rules;
+import com.qulice.spi.Scheduler;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.annotation.Nullable;
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * Configurations of validators, parsed once per Maven session and
+ * shared by all its modules.
+ *
+ * <p>Checkstyle configuration with its configured checkers and PMD
+ * rules are the same for every module, so all modules of one session,
+ * even built concurrently with {@code mvn -T}, take them from here.
+ * The cap of CPU slots of the {@link Scheduler} is set here too, once
+ * per session, since all modules share it. Engines are kept until their
+ * session is garbage collected.</p>
+ *
+ * @since 1.0
+ */
+final class Engine {
+
+    /**
+     * Engines, by session.
+     */
+    private static final Map<MavenSession, Engine> ENGINES = new WeakHashMap<>(1);
+
+    /**
+     * Configured Checkstyle checkers.
+     */
+    private final Checkers checkers;
+
+    /**
+     * PMD rules.
+     */
+    private final Rules rules;
+
+    /**
+     * Cap of CPU slots set for the session, negative if not set yet.
+     */
+    private int slots;
+
+    /**
+     * Ctor.
+     */
+    Engine() {
+        this.checkers = new Checkers();
+        this.rules = new Rules();
+        this.slots = -1;
+    }
+
+    /**
+     * Engine of the session.
+     * @param session Maven session, or NULL if there is none
+     * @return Engine, new if there is no session
+     */
+    static Engine of(@Nullable final MavenSession session) {
+        final Engine engine;
+        if (session == null) {
+            engine = new Engine();
+        } else {
+            synchronized (Engine.ENGINES) {
+                engine = Engine.ENGINES.computeIfAbsent(session, key -> new Engine());
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Configured Checkstyle checkers.
+     * @return Checkers
+     */
+    Checkers checkers() {
+        return this.checkers;
+    }
+
+    /**
+     * PMD rules.
+     * @return Rules
+     */
+    Rules rules() {
+        return this.rules;
+    }
+
+    /**
+     * Cap CPU slots of the scheduler for the session. The first module
+     * sets the cap, and the others keep it, even if they configure
+     * another one, since modules built in parallel share the scheduler.
+     * @param cap Number of CPU slots, zero for no cap
+     */
+    synchronized void limit(final int cap) {
+        if (this.slots < 0) {
+            this.slots = cap;
+            Scheduler.shared().limit(cap);
+        } else if (this.slots != cap) {
+            Logger.warn(
+                this,
+                "qulice.threads=%d is ignored, the session keeps %d of the first module",
+                cap, this.slots
+            );
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.apache.commons.io.FilenameUtils;
+
+/**
+ * Exclude expressions of one checker, compiled once.
+ *
+ * <p>Every expression is a regular expression the whole normalized
+ * path must match. Expressions without any special characters are
+ * compared as strings, expressions like {@code src/main/.*} are checked
+ * as prefixes, and the rest are joined into one pattern. Expressions
+ * with back references or inline flags are kept as separate patterns,
+ * since joining them would renumber their groups or change the flags
+ * of their neighbours. The decision for every path is
+ * cached, so asking about the same path again costs a map lookup.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class Excludes {
+
+    /**
+     * Characters with a special meaning in a regular expression.
+     */
+    private static final String SPECIAL = "\\^$.|?*+()[]{}";
+
+    /**
+     * Back reference or inline flags in a regular expression.
+     */
+    private static final Pattern ALONE = Pattern.compile(
+        "\\\\([1-9]|k<)|\\(\\?[a-zA-Z-]"
+    );
+
+    /**
+     * Suffix of a prefix expression.
+     */
+    private static final String ANY = ".*";
+
+    /**
+     * Expressions without special characters.
+     */
+    private final Set<String> literals;
+
+    /**
+     * Heads of expressions like {@code head.*}.
+     */
+    private final Collection<String> prefixes;
+
+    /**
+     * Patterns of all other expressions.
+     */
+    private final Collection<Pattern> patterns;
+
+    /**
+     * Decisions made so far, by normalized path.
+     */
+    private final Map<String, Boolean> decisions;
+
+    /**
+     * Ctor.
+     * @param exprs Regular expressions of one checker
+     */
+    Excludes(final Collection<String> exprs) {
+        this.literals = new HashSet<>(0);
+        this.prefixes = new ArrayList<>(0);
+        this.patterns = new ArrayList<>(0);
+        this.decisions = new ConcurrentHashMap<>(0);
+        final Collection<String> joined = new ArrayList<>(0);
+        for (final String expr : exprs) {
+            if (Excludes.literal(expr)) {
+                this.literals.add(expr);
+            } else if (expr.endsWith(Excludes.ANY)
+                && Excludes.literal(expr.substring(0, expr.length() - 2))) {
+                this.prefixes.add(expr.substring(0, expr.length() - 2));
+            } else if (Excludes.ALONE.matcher(expr).find()) {
+                this.patterns.add(Pattern.compile(expr));
+            } else {
+                joined.add(String.format("(?:%s)", expr));
+            }
+        }
+        if (!joined.isEmpty()) {
+            this.patterns.add(Pattern.compile(String.join("|", joined)));
+        }
+    }
+
+    /**
+     * Is the path excluded?
+     * @param name File or any other item, which is subject of validation
+     * @return TRUE if it matches any of the expressions
+     */
+    boolean excluded(final String name) {
+        String path = FilenameUtils.normalize(name, true);
+        if (path == null) {
+            path = name;
+        }
+        return this.decisions.computeIfAbsent(path, this::matches);
+    }
+
+    /**
+     * Does the normalized path match any of the expressions?
+     * @param path Normalized path
+     * @return TRUE if it does
+     */
+    private boolean matches(final String path) {
+        boolean found = this.literals.contains(path);
+        if (!found) {
+            for (final String prefix : this.prefixes) {
+                if (path.startsWith(prefix)
+                    && Excludes.singleline(path.substring(prefix.length()))) {
+                    found = true;
+                    break;
+                }
+            }
+        }
+        if (!found) {
+            for (final Pattern pattern : this.patterns) {
+                if (pattern.matcher(path).matches()) {
+                    found = true;
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Has the expression no special characters?
+     * @param expr Regular expression
+     * @return TRUE if it matches only itself
+     */
+    private static boolean literal(final String expr) {
+        boolean plain = true;
+        for (int idx = 0; idx < expr.length(); ++idx) {
+            if (Excludes.SPECIAL.indexOf(expr.charAt(idx)) >= 0) {
+                plain = false;
+                break;
+            }
+        }
+        return plain;
+    }
+
+    /**
+     * Has the text no line terminators, which {@code .} doesn't match?
+     * @param path Text
+     * @return TRUE if it has none
+     */
+    private static boolean singleline(final String path) {
+        boolean single = true;
+        for (int idx = 0; idx < path.length(); ++idx) {
+            final char chr = path.charAt(idx);
+            if (chr == '\n' || chr == '\r' || chr == '\u0085'
+                || chr == '\u2028' || chr == '\u2029') {
+                single = false;
+                break;
+            }
+        }
+        return single;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fingerprint of everything, except the file itself, that may change
+ * the violations a validator reports for a file.
+ *
+ * <p>Covers the qulice plugin itself (its jar, and the content of
+ * {@code checks.xml}, {@code suppressions.xml} and {@code ruleset.xml}),
+ * the exclude patterns of the validator, the source encoding and,
+ * for validators that resolve types, the classpath. Jars on the
+ * classpath are stamped by path, size and modification time, while
+ * directories (like {@code target/classes}) are stamped by the names
+ * and the content of the {@code .class} files inside, since a changed
+ * signature of a class may change what is reported for the files which
+ * use it. Classes compiled again from the same sources have the same
+ * content, so a recompilation alone doesn't change the fingerprint.
+ * Directories are named by their paths relative to the base directory
+ * of the module, so that another worktree of the same project, with
+ * the same classes, gets the same fingerprint.</p>
+ *
+ * @since 1.0
+ */
+final class Fingerprint {
+
+    /**
+     * Configuration resources bundled with the plugin.
+     */
+    private static final List<String> RESOURCES = List.of(
+        "com/qulice/checkstyle/checks.xml",
+        "com/qulice/checkstyle/suppressions.xml",
+        "com/qulice/pmd/ruleset.xml"
+    );
+
+    /**
+     * Name of the validator.
+     */
+    private final String validator;
+
+    /**
+     * Exclude patterns of the validator.
+     */
+    private final Collection<String> excludes;
+
+    /**
+     * Source files encoding.
+     */
+    private final Charset encoding;
+
+    /**
+     * Classpath, empty if the validator doesn't depend on it.
+     */
+    private final Collection<String> classpath;
+
+    /**
+     * Base directory of the module.
+     */
+    private final File base;
+
+    /**
+     * Ctor.
+     * @param validator Name of the validator
+     * @param excludes Exclude patterns of the validator
+     * @param encoding Source files encoding
+     * @param classpath Classpath, empty if the validator ignores it
+     * @param base Base directory of the module
+     * @checkstyle ParameterNumber (4 lines)
+     */
+    Fingerprint(final String validator, final Collection<String> excludes,
+        final Charset encoding, final Collection<String> classpath,
+        final File base) {
+        this.validator = validator;
+        this.excludes = excludes;
+        this.encoding = encoding;
+        this.classpath = classpath;
+        this.base = base;
+    }
+
+    /**
+     * Calculate the fingerprint.
+     * @return Hex-encoded SHA-256 digest
+     */
+    public String value() {
+        final Hasher hasher = Hashing.sha256().newHasher()
+            .putString(this.validator, StandardCharsets.UTF_8)
+            .putString(this.encoding.name(), StandardCharsets.UTF_8);
+        Fingerprint.plugin(hasher);
+        for (final String exclude : this.excludes) {
+            hasher.putString(exclude, StandardCharsets.UTF_8);
+        }
+        for (final String entry : this.classpath) {
+            this.stamp(hasher, new File(entry.replace("%20", " ")));
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Add the plugin jar and its bundled configuration to the hasher.
+     * @param hasher The hasher
+     */
+    private static void plugin(final Hasher hasher) {
+        final CodeSource source =
+            Fingerprint.class.getProtectionDomain().getCodeSource();
+        if (source != null && source.getLocation() != null) {
+            final File jar = new File(source.getLocation().getPath());
+            hasher.putString(jar.getAbsolutePath(), StandardCharsets.UTF_8)
+                .putLong(jar.length())
+                .putLong(jar.lastModified());
+        }
+        final ClassLoader loader = Fingerprint.class.getClassLoader();
+        for (final String name : Fingerprint.RESOURCES) {
+            try (InputStream stream = loader.getResourceAsStream(name)) {
+                if (stream != null) {
+                    hasher.putBytes(ByteStreams.toByteArray(stream));
+                }
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(
+                    String.format("Cannot read resource %s", name), ex
+                );
+            }
+        }
+    }
+
+    /**
+     * Add one classpath entry to the hasher.
+     * @param hasher The hasher
+     * @param entry Jar or directory
+     */
+    private void stamp(final Hasher hasher, final File entry) {
+        if (entry.isDirectory()) {
+            final Path root = entry.getAbsoluteFile().toPath();
+            hasher.putString(
+                this.base.getAbsoluteFile().toPath().relativize(root).toString()
+                    .replace(File.separatorChar, '/'),
+                StandardCharsets.UTF_8
+            );
+            try (Stream<Path> walk = Files.walk(root)) {
+                for (final Path path : walk
+                    .filter(file -> file.toString().endsWith(".class"))
+                    .sorted()
+                    .collect(Collectors.toList())) {
+                    hasher.putString(
+                        root.relativize(path).toString().replace(File.separatorChar, '/'),
+                        StandardCharsets.UTF_8
+                    ).putBytes(Files.readAllBytes(path));
+                }
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(
+                    String.format("Cannot stamp classpath directory %s", entry),
+                    ex
+                );
+            }
+        } else {
+            hasher.putString(entry.getAbsolutePath(), StandardCharsets.UTF_8)
+                .putLong(entry.length())
+                .putLong(entry.lastModified());
+        }
+    }
+}
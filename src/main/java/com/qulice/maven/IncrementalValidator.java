@@ -0,0 +1,391 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.google.common.hash.Hashing;
+import com.jcabi.log.Logger;
+import com.qulice.spi.ResourceValidator;
+import com.qulice.spi.Violation;
+import com.qulice.spi.ViolationSink;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validator that replays stored results for unchanged files.
+ *
+ * <p>For every file it keeps, on disk, the SHA-256 of its content and
+ * the violations reported for it, together with the {@link Fingerprint}
+ * of the configuration it was validated with. Only files whose content
+ * or configuration changed since the previous run are passed to the
+ * original validator, the rest get their violations from the store.</p>
+ *
+ * <p>Files are handled per directory: if any file in a directory
+ * changed, appeared or disappeared, the whole directory is validated
+ * again, because some checks (like {@code JavadocPackage}) report once
+ * per directory. If the original validator reports a violation for a
+ * file it wasn't asked about, the store is dropped, since such a
+ * result can't be attributed to any file and replayed later. A directory
+ * with a file the validator is {@link ViolationSink#unsure(File) unsure}
+ * about is not stored, and is validated again next time.</p>
+ *
+ * @since 1.0
+ */
+final class IncrementalValidator implements ResourceValidator {
+
+    /**
+     * Version of the store format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Original validator.
+     */
+    private final ResourceValidator origin;
+
+    /**
+     * File with stored results.
+     */
+    private final File store;
+
+    /**
+     * Fingerprint of the configuration.
+     */
+    private final String context;
+
+    /**
+     * Stored results, by absolute file path, loaded on first use.
+     */
+    private Map<String, IncrementalValidator.Memo> memos;
+
+    /**
+     * Ctor.
+     * @param origin Original validator
+     * @param store File with stored results
+     * @param context Fingerprint of the configuration
+     */
+    IncrementalValidator(final ResourceValidator origin, final File store,
+        final String context) {
+        this.origin = origin;
+        this.store = store;
+        this.context = context;
+    }
+
+    @Override
+    public Collection<Violation> validate(final Collection<File> files) {
+        final ViolationSink.Buffer buffer = new ViolationSink.Buffer();
+        this.validate(files, buffer);
+        return buffer.violations();
+    }
+
+    @Override
+    public void validate(final Collection<File> files, final ViolationSink sink) {
+        final Map<File, String> hashes = new LinkedHashMap<>(files.size());
+        for (final File file : files) {
+            hashes.put(file, IncrementalValidator.hash(file));
+        }
+        final List<File> stale = new ArrayList<>(0);
+        final Collection<Violation> replayed = new ArrayList<>(0);
+        synchronized (this) {
+            final Map<String, IncrementalValidator.Memo> stored = this.memos();
+            final Map<String, Integer> known = new HashMap<>(0);
+            for (final String path : stored.keySet()) {
+                known.merge(new File(path).getParent(), 1, Integer::sum);
+            }
+            for (final Collection<File> dir : IncrementalValidator.dirs(files).values()) {
+                if (IncrementalValidator.fresh(dir, hashes, stored, known)) {
+                    for (final File file : dir) {
+                        replayed.addAll(stored.get(file.getAbsolutePath()).violations);
+                    }
+                } else {
+                    stale.addAll(dir);
+                }
+            }
+        }
+        Logger.info(
+            this, "%s: %d of %d files are unchanged, replaying stored results",
+            this.origin.name(), files.size() - stale.size(), files.size()
+        );
+        for (final Violation violation : replayed) {
+            sink.accept(violation);
+        }
+        if (!stale.isEmpty()) {
+            final ViolationSink.Buffer found = new ViolationSink.Buffer();
+            this.origin.validate(stale, new ViolationSink.Tee(found, sink));
+            if (Thread.currentThread().isInterrupted()) {
+                Logger.info(
+                    this, "%s was cancelled, its results are not stored",
+                    this.origin.name()
+                );
+            } else {
+                this.remember(stale, hashes, found);
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return this.origin.name();
+    }
+
+    /**
+     * Store fresh results of the files just validated, except the
+     * directories with files the validator is unsure about.
+     * @param validated Files just validated
+     * @param hashes Hashes of their content
+     * @param found Violations found in them
+     */
+    private synchronized void remember(final Collection<File> validated,
+        final Map<File, String> hashes, final ViolationSink.Buffer found) {
+        final Map<String, List<Violation>> grouped = new HashMap<>(0);
+        for (final File file : validated) {
+            grouped.put(file.getAbsolutePath(), new ArrayList<>(0));
+        }
+        final Collection<String> unsure = new HashSet<>(0);
+        for (final File file : found.unsure()) {
+            unsure.add(file.getParent());
+        }
+        boolean orphans = false;
+        for (final Violation violation : found.violations()) {
+            final List<Violation> list = grouped.get(violation.file());
+            if (list == null) {
+                orphans = true;
+            } else {
+                list.add(violation);
+            }
+        }
+        if (orphans) {
+            Logger.info(
+                this, "%s reported violations outside of its files, not storing",
+                this.origin.name()
+            );
+            this.memos().clear();
+            if (this.store.exists() && !this.store.delete()) {
+                Logger.warn(this, "Cannot delete %s", this.store);
+            }
+        } else {
+            final Collection<String> parents = new HashSet<>(0);
+            for (final File file : validated) {
+                parents.add(file.getAbsoluteFile().getParent());
+            }
+            this.memos().keySet().removeIf(
+                path -> parents.contains(new File(path).getParent())
+            );
+            for (final File file : validated) {
+                final String path = file.getAbsolutePath();
+                if (!unsure.contains(file.getAbsoluteFile().getParent())) {
+                    this.memos().put(
+                        path,
+                        new IncrementalValidator.Memo(hashes.get(file), grouped.get(path))
+                    );
+                }
+            }
+            if (!unsure.isEmpty()) {
+                Logger.info(
+                    this, "%s is unsure about files in %d directories, not storing them",
+                    this.origin.name(), unsure.size()
+                );
+            }
+            this.save();
+        }
+    }
+
+    /**
+     * Stored results, loading them from disk if necessary.
+     * @return Map of results by absolute path
+     */
+    private Map<String, IncrementalValidator.Memo> memos() {
+        if (this.memos == null) {
+            this.memos = new HashMap<>(0);
+            if (this.store.isFile()) {
+                this.load();
+            }
+        }
+        return this.memos;
+    }
+
+    /**
+     * Load stored results, ignoring them if the configuration changed.
+     */
+    private void load() {
+        try (DataInputStream input = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(this.store.toPath()))
+        )) {
+            if (input.readInt() == IncrementalValidator.VERSION
+                && this.context.equals(input.readUTF())) {
+                final int total = input.readInt();
+                for (int idx = 0; idx < total; ++idx) {
+                    final String path = input.readUTF();
+                    final String hash = input.readUTF();
+                    final int count = input.readInt();
+                    final List<Violation> list = new ArrayList<>(count);
+                    for (int num = 0; num < count; ++num) {
+                        list.add(
+                            new Violation.Default(
+                                input.readUTF(), input.readUTF(), input.readUTF(),
+                                input.readUTF(), input.readUTF()
+                            )
+                        );
+                    }
+                    if (new File(path).exists()) {
+                        this.memos.put(path, new IncrementalValidator.Memo(hash, list));
+                    }
+                }
+            } else {
+                Logger.info(
+                    this, "Configuration of %s changed, validating all files",
+                    this.origin.name()
+                );
+            }
+        } catch (final IOException ex) {
+            Logger.warn(
+                this, "Cannot read %s, validating all files: %s",
+                this.store, ex.getMessage()
+            );
+            this.memos.clear();
+        }
+    }
+
+    /**
+     * Save all results to disk, atomically.
+     */
+    private void save() {
+        final File temp = new File(
+            this.store.getParentFile(), this.store.getName().concat(".tmp")
+        );
+        try {
+            Files.createDirectories(this.store.getParentFile().toPath());
+            try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp.toPath()))
+            )) {
+                output.writeInt(IncrementalValidator.VERSION);
+                output.writeUTF(this.context);
+                output.writeInt(this.memos.size());
+                for (final Map.Entry<String, IncrementalValidator.Memo> entry
+                    : this.memos.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeUTF(entry.getValue().hash);
+                    output.writeInt(entry.getValue().violations.size());
+                    for (final Violation violation : entry.getValue().violations) {
+                        output.writeUTF(violation.validator());
+                        output.writeUTF(violation.name());
+                        output.writeUTF(violation.file());
+                        output.writeUTF(violation.lines());
+                        output.writeUTF(violation.message());
+                    }
+                }
+            }
+            Files.move(
+                temp.toPath(), this.store.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+            );
+        } catch (final IOException ex) {
+            Logger.warn(
+                this, "Cannot save %s, next run will validate all files: %s",
+                this.store, ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Are all files of the directory unchanged?
+     * @param dir Files of one directory
+     * @param hashes Current hashes of files
+     * @param stored Stored results
+     * @param known How many files are stored, by directory
+     * @return TRUE if all of them are unchanged and none were added or removed
+     * @checkstyle ParameterNumber (5 lines)
+     */
+    private static boolean fresh(final Collection<File> dir,
+        final Map<File, String> hashes,
+        final Map<String, IncrementalValidator.Memo> stored,
+        final Map<String, Integer> known) {
+        boolean fresh = true;
+        for (final File file : dir) {
+            final IncrementalValidator.Memo memo = stored.get(file.getAbsolutePath());
+            if (memo == null || !memo.hash.equals(hashes.get(file))) {
+                fresh = false;
+                break;
+            }
+        }
+        if (fresh) {
+            fresh = known.getOrDefault(
+                dir.iterator().next().getAbsoluteFile().getParent(), 0
+            ) == dir.size();
+        }
+        return fresh;
+    }
+
+    /**
+     * Group files by their directories.
+     * @param files Files to group
+     * @return Files by directory
+     */
+    private static Map<File, Collection<File>> dirs(final Collection<File> files) {
+        final Map<File, Collection<File>> dirs = new LinkedHashMap<>(0);
+        for (final File file : files) {
+            dirs.computeIfAbsent(
+                file.getAbsoluteFile().getParentFile(), dir -> new ArrayList<>(0)
+            ).add(file);
+        }
+        return dirs;
+    }
+
+    /**
+     * Hash of file content.
+     * @param file The file
+     * @return Hex-encoded SHA-256
+     */
+    static String hash(final File file) {
+        try {
+            return com.google.common.io.Files.asByteSource(file)
+                .hash(Hashing.sha256()).toString();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(
+                String.format("Cannot read %s", file), ex
+            );
+        }
+    }
+
+    /**
+     * Stored results of one file.
+     * @since 1.0
+     */
+    private static final class Memo {
+
+        /**
+         * Hash of file content.
+         */
+        private final String hash;
+
+        /**
+         * Violations found in the file.
+         */
+        private final List<Violation> violations;
+
+        /**
+         * Ctor.
+         * @param hash Hash of file content
+         * @param violations Violations found in the file
+         */
+        Memo(final String hash, final List<Violation> violations) {
+            this.hash = hash;
+            this.violations = violations;
+        }
+    }
+}
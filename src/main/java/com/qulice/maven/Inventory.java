@@ -0,0 +1,333 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.jcabi.log.Logger;
+import com.qulice.spi.Binary;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.apache.commons.io.FilenameUtils;
+
+/**
+ * Inventory of files under source roots, walked once.
+ *
+ * <p>Every root is walked with NIO only once, the first time it's asked
+ * for, and the path, size, modification time and binary flag of every
+ * regular file found are kept in memory. Files are sniffed for binary
+ * content in parallel. If a store is given, the inventory can be saved
+ * there, and the next inventory created with the same store doesn't
+ * sniff the files which have the same size and modification time.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 1.0
+ */
+final class Inventory {
+
+    /**
+     * Version of the store format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Where to keep entries between runs, or NULL.
+     */
+    @Nullable
+    private final File store;
+
+    /**
+     * Entries, by root walked.
+     */
+    private final Map<Path, List<Inventory.Entry>> roots;
+
+    /**
+     * Entries loaded from the store, by absolute path.
+     */
+    private Map<String, Inventory.Entry> stored;
+
+    /**
+     * Ctor, without a store.
+     */
+    Inventory() {
+        this(null);
+    }
+
+    /**
+     * Ctor.
+     * @param store Where to keep entries between runs, or NULL
+     */
+    Inventory(@Nullable final File store) {
+        this.store = store;
+        this.roots = new ConcurrentHashMap<>(1);
+    }
+
+    /**
+     * Text files under the root with names matching the wildcard.
+     * @param root Root directory, which may not exist
+     * @param pattern Wildcard of file names, like {@code *.java}
+     * @return Files found
+     */
+    Collection<File> files(final File root, final String pattern) {
+        final Collection<File> files = new ArrayList<>(0);
+        for (final Inventory.Entry entry : this.entries(root)) {
+            if (FilenameUtils.wildcardMatch(entry.file().getName(), pattern)) {
+                if (entry.binary()) {
+                    Logger.debug(this, "Skipping binary file %s", entry.file());
+                } else {
+                    files.add(entry.file());
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * All regular files under the root.
+     * @param root Root directory, which may not exist
+     * @return Entries of files found
+     */
+    List<Inventory.Entry> entries(final File root) {
+        return this.roots.computeIfAbsent(root.toPath(), this::walk);
+    }
+
+    /**
+     * Save all entries walked so far into the store, atomically,
+     * if there is a store.
+     */
+    void save() {
+        if (this.store != null) {
+            final File temp = new File(
+                this.store.getParentFile(), this.store.getName().concat(".tmp")
+            );
+            final Collection<Inventory.Entry> all = new ArrayList<>(0);
+            for (final List<Inventory.Entry> entries : this.roots.values()) {
+                all.addAll(entries);
+            }
+            try {
+                Files.createDirectories(this.store.getParentFile().toPath());
+                try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp.toPath()))
+                )) {
+                    output.writeInt(Inventory.VERSION);
+                    output.writeInt(all.size());
+                    for (final Inventory.Entry entry : all) {
+                        output.writeUTF(entry.file().getAbsolutePath());
+                        output.writeLong(entry.size());
+                        output.writeLong(entry.modified());
+                        output.writeBoolean(entry.binary());
+                    }
+                }
+                Files.move(
+                    temp.toPath(), this.store.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+                );
+            } catch (final IOException ex) {
+                Logger.warn(
+                    this, "Cannot save %s, next run will sniff all files: %s",
+                    this.store, ex.getMessage()
+                );
+            }
+        }
+    }
+
+    /**
+     * Walk the root and sniff the files found.
+     * @param root Root directory
+     * @return Entries of regular files, in the order of walking
+     */
+    private List<Inventory.Entry> walk(final Path root) {
+        final List<Inventory.Entry> found = new ArrayList<>(0);
+        if (Files.isDirectory(root)) {
+            try {
+                Files.walkFileTree(
+                    root, EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+                    Integer.MAX_VALUE,
+                    new SimpleFileVisitor<Path>() {
+                        @Override
+                        public FileVisitResult visitFile(final Path file,
+                            final BasicFileAttributes attrs) {
+                            if (attrs.isRegularFile()) {
+                                found.add(
+                                    new Inventory.Entry(
+                                        file.toFile(), attrs.size(),
+                                        attrs.lastModifiedTime().toMillis(), false
+                                    )
+                                );
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+                    }
+                );
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(
+                    String.format("Cannot walk source root %s", root), ex
+                );
+            }
+        }
+        final Map<String, Inventory.Entry> known = this.known();
+        final List<Inventory.Entry> entries = found.parallelStream()
+            .map(entry -> entry.sniffed(known.get(entry.file().getAbsolutePath())))
+            .collect(Collectors.toList());
+        Logger.debug(this, "%d files found in %s", entries.size(), root);
+        return entries;
+    }
+
+    /**
+     * Entries loaded from the store, loading them on first call.
+     * @return Entries by absolute path, empty if there is no store
+     */
+    private synchronized Map<String, Inventory.Entry> known() {
+        if (this.stored == null) {
+            this.stored = new HashMap<>(0);
+            if (this.store != null && this.store.isFile()) {
+                this.load();
+            }
+        }
+        return this.stored;
+    }
+
+    /**
+     * Load entries from the store, ignoring it if it's broken.
+     */
+    private void load() {
+        try (DataInputStream input = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(this.store.toPath()))
+        )) {
+            if (input.readInt() == Inventory.VERSION) {
+                final int total = input.readInt();
+                for (int idx = 0; idx < total; ++idx) {
+                    final File file = new File(input.readUTF());
+                    this.stored.put(
+                        file.getAbsolutePath(),
+                        new Inventory.Entry(
+                            file, input.readLong(), input.readLong(),
+                            input.readBoolean()
+                        )
+                    );
+                }
+            }
+        } catch (final IOException ex) {
+            Logger.warn(
+                this, "Cannot read %s, sniffing all files: %s",
+                this.store, ex.getMessage()
+            );
+            this.stored.clear();
+        }
+    }
+
+    /**
+     * Regular file found under a root.
+     * @since 1.0
+     */
+    static final class Entry {
+
+        /**
+         * The file.
+         */
+        private final File path;
+
+        /**
+         * Size in bytes.
+         */
+        private final long size;
+
+        /**
+         * Modification time, in milliseconds.
+         */
+        private final long modified;
+
+        /**
+         * Does it have binary content?
+         */
+        private final boolean binary;
+
+        /**
+         * Ctor.
+         * @param path The file
+         * @param size Size in bytes
+         * @param modified Modification time, in milliseconds
+         * @param binary Does it have binary content?
+         * @checkstyle ParameterNumber (3 lines)
+         */
+        Entry(final File path, final long size, final long modified,
+            final boolean binary) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+            this.binary = binary;
+        }
+
+        /**
+         * The file.
+         * @return File
+         */
+        File file() {
+            return this.path;
+        }
+
+        /**
+         * Size in bytes.
+         * @return Size
+         */
+        long size() {
+            return this.size;
+        }
+
+        /**
+         * Modification time.
+         * @return Milliseconds since epoch
+         */
+        long modified() {
+            return this.modified;
+        }
+
+        /**
+         * Does it have binary content?
+         * @return TRUE if binary
+         */
+        boolean binary() {
+            return this.binary;
+        }
+
+        /**
+         * This entry with the binary flag set, taken from the stored
+         * entry if the file hasn't changed since, or sniffed otherwise.
+         * @param before Stored entry of the same file, or NULL
+         * @return Entry with the binary flag
+         */
+        Inventory.Entry sniffed(@Nullable final Inventory.Entry before) {
+            final boolean bin;
+            if (before != null && before.size == this.size
+                && before.modified == this.modified) {
+                bin = before.binary;
+            } else {
+                bin = new Binary(this.path).yes();
+            }
+            return new Inventory.Entry(this.path, this.size, this.modified, bin);
+        }
+    }
+}
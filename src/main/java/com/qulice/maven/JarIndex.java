@@ -0,0 +1,164 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.google.common.hash.Hashing;
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Names of classes in JAR files, kept on disk by the path, size and
+ * time of modification of a JAR.
+ *
+ * <p>A JAR is enumerated once: its top-level classes are saved into a
+ * file named by the SHA-256 of its path, size and time of modification
+ * in the directory, which every module of a build, and every later
+ * build, finds it in. The bytes of the JAR are never hashed. Indexes
+ * loaded already are also kept in memory for the JVM.</p>
+ *
+ * @since 1.0
+ */
+final class JarIndex {
+
+    /**
+     * Indexes loaded, by key of the JAR.
+     */
+    private static final Map<String, Set<String>> LOADED = new ConcurrentHashMap<>(0);
+
+    /**
+     * Directory of index files, empty path to keep them in memory only.
+     */
+    private final String dir;
+
+    /**
+     * Ctor.
+     * @param dir Directory of index files, empty to keep them in memory only
+     */
+    JarIndex(final String dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Fully-qualified names of top-level classes in the JAR.
+     * @param jar The JAR
+     * @return Names of classes
+     * @throws IOException If the JAR can't be read
+     */
+    Set<String> classes(final File jar) throws IOException {
+        final String key = JarIndex.key(jar);
+        Set<String> classes = JarIndex.LOADED.get(key);
+        if (classes == null) {
+            classes = this.load(key, jar);
+            JarIndex.LOADED.put(key, classes);
+        }
+        return classes;
+    }
+
+    /**
+     * Load the index from the disk, or build and save it.
+     * @param key Key of the JAR
+     * @param jar The JAR
+     * @return Names of classes
+     * @throws IOException If the JAR can't be read
+     */
+    private Set<String> load(final String key, final File jar) throws IOException {
+        final Set<String> classes;
+        if (this.dir.isEmpty()) {
+            classes = JarIndex.scan(jar);
+        } else {
+            final Path file = new File(this.dir, String.format("%s.txt", key)).toPath();
+            if (Files.isRegularFile(file)) {
+                classes = Collections.unmodifiableSet(
+                    new HashSet<>(Files.readAllLines(file, StandardCharsets.UTF_8))
+                );
+            } else {
+                classes = JarIndex.scan(jar);
+                JarIndex.save(file, classes);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * Save the index, atomically, so that a concurrent build never
+     * reads a half of it.
+     * @param file Index file
+     * @param classes Names of classes
+     */
+    private static void save(final Path file, final Set<String> classes) {
+        try {
+            Files.createDirectories(file.getParent());
+            final Path temp = Files.createTempFile(file.getParent(), "index", ".tmp");
+            try {
+                Files.write(temp, classes, StandardCharsets.UTF_8);
+                Files.move(
+                    temp, file,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+                );
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (final IOException ex) {
+            Logger.warn(
+                JarIndex.class, "Failed to save index of classes to %s: %s",
+                file, ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Enumerate classes of the JAR.
+     * @param jar The JAR
+     * @return Names of top-level classes
+     * @throws IOException If fails
+     */
+    private static Set<String> scan(final File jar) throws IOException {
+        final Set<String> classes = new HashSet<>(0);
+        try (JarFile file = new JarFile(jar)) {
+            final Enumeration<JarEntry> entries = file.entries();
+            while (entries.hasMoreElements()) {
+                final String entry = entries.nextElement().getName();
+                if (entry.endsWith(".class")
+                    && !entry.endsWith("module-info.class")
+                    && !entry.endsWith("package-info.class")
+                    && entry.indexOf('$') < 0) {
+                    classes.add(
+                        entry.substring(0, entry.length() - ".class".length())
+                            .replace('/', '.')
+                    );
+                }
+            }
+        }
+        return Collections.unmodifiableSet(classes);
+    }
+
+    /**
+     * Key of the JAR, by its path, size and time of modification, the
+     * way {@link Fingerprint} stamps JARs of the classpath.
+     * @param jar The JAR
+     * @return SHA-256 of the path, size and time, in hex
+     */
+    private static String key(final File jar) {
+        return Hashing.sha256().newHasher()
+            .putString(jar.getAbsolutePath(), StandardCharsets.UTF_8)
+            .putLong(jar.length())
+            .putLong(jar.lastModified())
+            .hash()
+            .toString();
+    }
+}
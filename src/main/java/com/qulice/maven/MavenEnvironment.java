@@ -55,6 +55,19 @@ interface MavenEnvironment extends Environment {
      */
     Collection<String> asserts();
 
+    /**
+     * Get inventory of source files, shared by all validators.
+     * @return The inventory
+     */
+    Inventory inventory();
+
+    /**
+     * Get directories of source files, which {@link #files(String)}
+     * looks into.
+     * @return Absolute directories
+     */
+    Collection<File> roots();
+
     /**
      * Wrapper of maven environment.
      * @since 0.1
@@ -141,6 +154,16 @@ interface MavenEnvironment extends Environment {
             return this.menv.asserts();
         }
 
+        @Override
+        public Inventory inventory() {
+            return this.menv.inventory();
+        }
+
+        @Override
+        public Collection<File> roots() {
+            return this.menv.roots();
+        }
+
         @Override
         public Collection<File> files(final String pattern) {
             return this.env.files(pattern);
@@ -7,9 +7,12 @@ package com.qulice.maven;
 import com.jcabi.log.Logger;
 import com.qulice.spi.ValidationException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.InvalidPluginDescriptorException;
@@ -23,6 +26,7 @@ import org.apache.maven.plugin.PluginContainerException;
 import org.apache.maven.plugin.PluginDescriptorParsingException;
 import org.apache.maven.plugin.PluginResolutionException;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.reporting.exec.DefaultMavenPluginManagerHelper;
 import org.codehaus.plexus.configuration.PlexusConfiguration;
 import org.codehaus.plexus.configuration.PlexusConfigurationException;
@@ -30,10 +34,22 @@ import org.codehaus.plexus.util.xml.Xpp3Dom;
 
 /**
  * Executor of plugins.
+ *
+ * <p>A plugin is resolved, and its class realm is set up, once per Maven
+ * session, together with the default configuration of its goals. Every
+ * module of a reactor only merges its own configuration into the
+ * defaults and gets a mojo configured with them.</p>
+ *
  * @since 0.3
  */
 public final class MojoExecutor {
 
+    /**
+     * Plugins prepared already, by session and by coordinates.
+     */
+    private static final Map<MavenSession, Map<String, MojoExecutor.Prepared>> PREPARED =
+        Collections.synchronizedMap(new WeakHashMap<>(0));
+
     /**
      * Plugin manager.
      */
@@ -65,30 +81,14 @@ public final class MojoExecutor {
      */
     public void execute(final String coords, final String goal,
         final Properties config) throws ValidationException {
-        final Plugin plugin = new Plugin();
-        final String[] sectors = coords.split(":");
-        plugin.setGroupId(sectors[0]);
-        plugin.setArtifactId(sectors[1]);
-        plugin.setVersion(sectors[2]);
-        final MojoDescriptor descriptor = this.descriptor(plugin, goal);
-        try {
-            new DefaultMavenPluginManagerHelper(this.manager).setupPluginRealm(
-                descriptor.getPluginDescriptor(),
-                this.session,
-                Thread.currentThread().getContextClassLoader(),
-                List.of(),
-                List.of()
-            );
-        } catch (final PluginResolutionException ex) {
-            throw new IllegalStateException("Plugin resolution problem", ex);
-        } catch (final PluginContainerException ex) {
-            throw new IllegalStateException("Can't setup realm", ex);
-        }
+        final MojoExecutor.Prepared prepared = MojoExecutor.PREPARED
+            .computeIfAbsent(this.session, key -> new ConcurrentHashMap<>(0))
+            .computeIfAbsent(coords, this::prepare);
         final MojoExecution execution = new MojoExecution(
-            descriptor,
+            prepared.descriptor(goal),
             Xpp3Dom.mergeXpp3Dom(
                 this.toXppDom(config, "configuration"),
-                this.toXppDom(descriptor.getMojoConfiguration())
+                prepared.defaults(goal)
             )
         );
         final Mojo mojo = this.mojo(execution);
@@ -121,17 +121,43 @@ public final class MojoExecutor {
         return xpp;
     }
 
+    /**
+     * Resolve the plugin and set up its class realm.
+     * @param coords Maven coordinates of the plugin
+     * @return Prepared plugin
+     */
+    private MojoExecutor.Prepared prepare(final String coords) {
+        final Plugin plugin = new Plugin();
+        final String[] sectors = coords.split(":");
+        plugin.setGroupId(sectors[0]);
+        plugin.setArtifactId(sectors[1]);
+        plugin.setVersion(sectors[2]);
+        final PluginDescriptor descriptor = this.descriptor(plugin);
+        try {
+            new DefaultMavenPluginManagerHelper(this.manager).setupPluginRealm(
+                descriptor,
+                this.session,
+                Thread.currentThread().getContextClassLoader(),
+                List.of(),
+                List.of()
+            );
+        } catch (final PluginResolutionException ex) {
+            throw new IllegalStateException("Plugin resolution problem", ex);
+        } catch (final PluginContainerException ex) {
+            throw new IllegalStateException("Can't setup realm", ex);
+        }
+        return new MojoExecutor.Prepared(descriptor);
+    }
+
     /**
      * Create descriptor.
      * @param plugin The plugin
-     * @param goal Maven plugin goal to execute
      * @return The descriptor
      */
-    private MojoDescriptor descriptor(final Plugin plugin, final String goal) {
+    private PluginDescriptor descriptor(final Plugin plugin) {
         try {
             return new DefaultMavenPluginManagerHelper(this.manager)
-                .getPluginDescriptor(plugin, this.session)
-                .getMojo(goal);
+                .getPluginDescriptor(plugin, this.session);
         } catch (final PluginResolutionException ex) {
             throw new IllegalStateException("Can't resolve plugin", ex);
         } catch (final PluginDescriptorParsingException ex) {
@@ -221,7 +247,7 @@ public final class MojoExecutor {
      * @return The Xpp3Dom document
      * @see #execute(String,String,Properties)
      */
-    private Xpp3Dom toXppDom(final PlexusConfiguration config) {
+    private static Xpp3Dom toXppDom(final PlexusConfiguration config) {
         final Xpp3Dom result = new Xpp3Dom(config.getName());
         result.setValue(config.getValue(null));
         for (final String name : config.getAttributeNames()) {
@@ -232,8 +258,66 @@ public final class MojoExecutor {
             }
         }
         for (final PlexusConfiguration child : config.getChildren()) {
-            result.addChild(this.toXppDom(child));
+            result.addChild(MojoExecutor.toXppDom(child));
         }
         return result;
     }
+
+    /**
+     * Plugin with its class realm set up and the default configuration
+     * of its goals.
+     * @since 1.0
+     */
+    private static final class Prepared {
+
+        /**
+         * Descriptor of the plugin.
+         */
+        private final PluginDescriptor plugin;
+
+        /**
+         * Default configuration, by goal.
+         */
+        private final Map<String, Xpp3Dom> defaults;
+
+        /**
+         * Ctor.
+         * @param plugin Descriptor of the plugin, with its realm
+         */
+        Prepared(final PluginDescriptor plugin) {
+            this.plugin = plugin;
+            this.defaults = new ConcurrentHashMap<>(0);
+        }
+
+        /**
+         * Descriptor of the goal.
+         * @param goal The goal
+         * @return Descriptor
+         */
+        MojoDescriptor descriptor(final String goal) {
+            final MojoDescriptor descriptor = this.plugin.getMojo(goal);
+            if (descriptor == null) {
+                throw new IllegalStateException(
+                    String.format(
+                        "There is no goal '%s' in %s", goal, this.plugin.getId()
+                    )
+                );
+            }
+            return descriptor;
+        }
+
+        /**
+         * Default configuration of the goal, a copy which may be changed.
+         * @param goal The goal
+         * @return Configuration
+         */
+        Xpp3Dom defaults(final String goal) {
+            return new Xpp3Dom(
+                this.defaults.computeIfAbsent(
+                    goal,
+                    key -> MojoExecutor.toXppDom(this.descriptor(key).getMojoConfiguration())
+                )
+            );
+        }
+    }
 }
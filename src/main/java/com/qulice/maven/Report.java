@@ -0,0 +1,289 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.qulice.spi.Violation;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Machine-readable report of violations, written as they come.
+ *
+ * <p>Violations must come sorted by file, see {@link Spool}, so that
+ * a report never keeps more than one of them in memory.</p>
+ *
+ * @since 1.0
+ */
+interface Report extends Closeable {
+
+    /**
+     * Write one more violation.
+     * @param violation The violation
+     */
+    void add(Violation violation);
+
+    /**
+     * Report in SARIF 2.1.0, which code scanning dashboards load.
+     *
+     * <p>Files are referred to relative to the root directory, with
+     * {@code %SRCROOT%} as the base, or by their absolute {@code file:}
+     * URI if they are outside of it.</p>
+     *
+     * @since 1.0
+     */
+    final class Sarif implements Report {
+
+        /**
+         * Where to write.
+         */
+        private final Writer out;
+
+        /**
+         * Root directory.
+         */
+        private final Path root;
+
+        /**
+         * Separator before the next result.
+         */
+        private String comma;
+
+        /**
+         * Ctor.
+         * @param file File to write to
+         * @param root Root directory, which files are relative to
+         */
+        Sarif(final File file, final File root) {
+            this.out = Report.Sarif.open(file);
+            this.root = root.toPath().toAbsolutePath().normalize();
+            this.comma = "";
+            this.write(
+                String.join(
+                    "\n",
+                    "{",
+                    "  \"$schema\": \"https://json.schemastore.org/sarif-2.1.0.json\",",
+                    "  \"version\": \"2.1.0\",",
+                    "  \"runs\": [{",
+                    "    \"tool\": {\"driver\": {\"name\": \"qulice\", \"informationUri\": \"https://www.qulice.com\"}},",
+                    "    \"originalUriBaseIds\": {\"%SRCROOT%\": {\"uri\": ",
+                    String.format(
+                        "%s}},",
+                        Report.Sarif.quoted(this.root.toUri().toString())
+                    ),
+                    "    \"results\": ["
+                )
+            );
+        }
+
+        @Override
+        public void add(final Violation violation) {
+            final StringBuilder json = new StringBuilder(256)
+                .append(this.comma)
+                .append("\n      {\"ruleId\": ")
+                .append(
+                    Report.Sarif.quoted(
+                        String.format("%s/%s", violation.validator(), violation.name())
+                    )
+                )
+                .append(", \"level\": \"error\", \"message\": {\"text\": ")
+                .append(Report.Sarif.quoted(violation.message()))
+                .append("}, \"locations\": [{\"physicalLocation\": {\"artifactLocation\": ")
+                .append(this.location(violation.file()));
+            final String[] lines = violation.lines().split("-", 2);
+            if (lines[0].matches("[1-9]\\d{0,8}")) {
+                json.append(", \"region\": {\"startLine\": ").append(lines[0]);
+                if (lines.length > 1 && lines[1].matches("[1-9]\\d{0,8}")
+                    && !lines[0].equals(lines[1])) {
+                    json.append(", \"endLine\": ").append(lines[1]);
+                }
+                json.append('}');
+            }
+            this.write(json.append("}}]}").toString());
+            this.comma = ",";
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (Writer writer = this.out) {
+                writer.write("\n    ]\n  }]\n}\n");
+            }
+        }
+
+        /**
+         * Artifact location of the file.
+         * @param file Name of the file
+         * @return JSON object
+         */
+        private String location(final String file) {
+            final Path path = new File(file).toPath().toAbsolutePath().normalize();
+            final String json;
+            if (path.startsWith(this.root)) {
+                json = String.format(
+                    "{\"uri\": %s, \"uriBaseId\": \"%%SRCROOT%%\"}",
+                    Report.Sarif.quoted(
+                        this.root.relativize(path).toString().replace(File.separatorChar, '/')
+                    )
+                );
+            } else {
+                json = String.format(
+                    "{\"uri\": %s}", Report.Sarif.quoted(path.toUri().toString())
+                );
+            }
+            return json;
+        }
+
+        /**
+         * Write the text.
+         * @param text Text to write
+         */
+        private void write(final String text) {
+            try {
+                this.out.write(text);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException("Failed to write SARIF report", ex);
+            }
+        }
+
+        /**
+         * Open the file for writing.
+         * @param file The file
+         * @return Writer
+         */
+        private static Writer open(final File file) {
+            try {
+                Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+                return Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(
+                    String.format("Failed to open %s", file), ex
+                );
+            }
+        }
+
+        /**
+         * JSON string.
+         * @param text Text to quote
+         * @return Quoted and escaped text
+         */
+        private static String quoted(final String text) {
+            final StringBuilder out = new StringBuilder(text.length() + 2).append('"');
+            for (final char chr : text.toCharArray()) {
+                if (chr == '"' || chr == '\\') {
+                    out.append('\\').append(chr);
+                } else if (chr < ' ') {
+                    out.append(String.format("\\u%04x", (int) chr));
+                } else {
+                    out.append(chr);
+                }
+            }
+            return out.append('"').toString();
+        }
+    }
+
+    /**
+     * Report in the XML format of Checkstyle, which most CI servers
+     * and IDEs load, with all violations of a file in one element.
+     * @since 1.0
+     */
+    final class Xml implements Report {
+
+        /**
+         * Output stream.
+         */
+        private final OutputStream stream;
+
+        /**
+         * Where to write.
+         */
+        private final XMLStreamWriter out;
+
+        /**
+         * File of the violation written last, empty before the first one.
+         */
+        private String current;
+
+        /**
+         * Ctor.
+         * @param file File to write to
+         */
+        Xml(final File file) {
+            try {
+                Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+                this.stream = new BufferedOutputStream(Files.newOutputStream(file.toPath()));
+                this.out = XMLOutputFactory.newFactory()
+                    .createXMLStreamWriter(this.stream, StandardCharsets.UTF_8.name());
+                this.out.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+                this.out.writeCharacters("\n");
+                this.out.writeStartElement("checkstyle");
+                this.out.writeAttribute("version", "qulice");
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(
+                    String.format("Failed to open %s", file), ex
+                );
+            } catch (final XMLStreamException ex) {
+                throw new IllegalStateException(
+                    String.format("Failed to start XML report in %s", file), ex
+                );
+            }
+            this.current = "";
+        }
+
+        @Override
+        public void add(final Violation violation) {
+            try {
+                if (!violation.file().equals(this.current)) {
+                    if (!this.current.isEmpty()) {
+                        this.out.writeCharacters("\n  ");
+                        this.out.writeEndElement();
+                    }
+                    this.out.writeCharacters("\n  ");
+                    this.out.writeStartElement("file");
+                    this.out.writeAttribute("name", violation.file());
+                    this.current = violation.file();
+                }
+                this.out.writeCharacters("\n    ");
+                this.out.writeEmptyElement("error");
+                final String line = violation.lines().split("-", 2)[0];
+                if (line.matches("\\d{1,9}")) {
+                    this.out.writeAttribute("line", line);
+                }
+                this.out.writeAttribute("severity", "error");
+                this.out.writeAttribute("message", violation.message());
+                this.out.writeAttribute(
+                    "source", String.format("%s.%s", violation.validator(), violation.name())
+                );
+            } catch (final XMLStreamException ex) {
+                throw new IllegalStateException("Failed to write XML report", ex);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (OutputStream output = this.stream) {
+                if (!this.current.isEmpty()) {
+                    this.out.writeCharacters("\n  ");
+                    this.out.writeEndElement();
+                }
+                this.out.writeCharacters("\n");
+                this.out.writeEndDocument();
+                this.out.close();
+                output.flush();
+            } catch (final XMLStreamException ex) {
+                throw new IllegalStateException("Failed to finish XML report", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.qulice.spi.Violation;
+import com.qulice.spi.ViolationSink;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Sink which sorts violations by file and line, with bounded memory.
+ *
+ * <p>Violations are kept in memory until there are {@code limit} of
+ * them; then they are sorted and spilled into a run file in the
+ * directory. {@link #drain(Consumer)} merges the runs, so that the
+ * consumer gets all violations of one file together, in the order of
+ * lines, while no more than {@code limit} violations and one violation
+ * per run are in memory at once.</p>
+ *
+ * @since 1.0
+ */
+final class Spool implements ViolationSink {
+
+    /**
+     * Order of violations: by file, by line, and then by the rest.
+     */
+    private static final Comparator<Violation> ORDER =
+        Comparator.comparing(Violation::file)
+            .thenComparingInt(Spool::line)
+            .thenComparing(Violation::lines)
+            .thenComparing(Violation::validator)
+            .thenComparing(Violation::name)
+            .thenComparing(Violation::message);
+
+    /**
+     * Directory of run files.
+     */
+    private final File dir;
+
+    /**
+     * How many violations to keep in memory.
+     */
+    private final int limit;
+
+    /**
+     * Violations in memory.
+     */
+    private final List<Violation> buffer;
+
+    /**
+     * Run files spilled so far.
+     */
+    private final List<File> runs;
+
+    /**
+     * Ctor.
+     * @param dir Directory of run files, which may not exist yet
+     * @param limit How many violations to keep in memory
+     */
+    Spool(final File dir, final int limit) {
+        this.dir = dir;
+        this.limit = Math.max(1, limit);
+        this.buffer = new ArrayList<>(0);
+        this.runs = new ArrayList<>(0);
+    }
+
+    @Override
+    public synchronized void accept(final Violation violation) {
+        this.buffer.add(violation);
+        if (this.buffer.size() >= this.limit) {
+            this.spill();
+        }
+    }
+
+    /**
+     * Pass all violations accepted so far to the consumer, sorted, and
+     * start over.
+     * @param target Consumer of violations
+     */
+    synchronized void drain(final Consumer<Violation> target) {
+        try {
+            if (this.runs.isEmpty()) {
+                this.buffer.sort(Spool.ORDER);
+                this.buffer.forEach(target);
+            } else {
+                this.spill();
+                this.merge(target);
+            }
+        } finally {
+            this.buffer.clear();
+            for (final File run : this.runs) {
+                FileUtils.deleteQuietly(run);
+            }
+            this.runs.clear();
+        }
+    }
+
+    /**
+     * Sort the violations in memory and write them into a new run file.
+     */
+    private void spill() {
+        this.buffer.sort(Spool.ORDER);
+        final File run = new File(this.dir, String.format("run-%d.bin", this.runs.size()));
+        try {
+            Files.createDirectories(this.dir.toPath());
+            try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(run.toPath()))
+            )) {
+                for (final Violation violation : this.buffer) {
+                    output.writeBoolean(true);
+                    Spool.write(output, violation.validator());
+                    Spool.write(output, violation.name());
+                    Spool.write(output, violation.file());
+                    Spool.write(output, violation.lines());
+                    Spool.write(output, violation.message());
+                }
+                output.writeBoolean(false);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(
+                String.format("Failed to spill violations into %s", run), ex
+            );
+        }
+        this.runs.add(run);
+        this.buffer.clear();
+    }
+
+    /**
+     * Write a string as a length-prefixed array of UTF-8 bytes, since
+     * {@link DataOutput#writeUTF(String)} fails on strings longer than
+     * 64K bytes, which a message with a long source line may be.
+     * @param output Where to write
+     * @param text The string
+     * @throws IOException If fails
+     */
+    static void write(final DataOutput output, final String text) throws IOException {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Read a string written by {@link #write(DataOutput, String)}.
+     * @param input Where to read from
+     * @return The string
+     * @throws IOException If fails
+     */
+    static String read(final DataInput input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Merge all run files into the consumer.
+     * @param target Consumer of violations
+     */
+    private void merge(final Consumer<Violation> target) {
+        final Collection<Spool.Run> opened = new ArrayList<>(this.runs.size());
+        final PriorityQueue<Spool.Run> queue = new PriorityQueue<>(
+            Math.max(1, this.runs.size()),
+            Comparator.comparing(Spool.Run::head, Spool.ORDER)
+        );
+        try {
+            for (final File file : this.runs) {
+                final Spool.Run run = new Spool.Run(file);
+                opened.add(run);
+                if (run.next()) {
+                    queue.add(run);
+                }
+            }
+            while (!queue.isEmpty()) {
+                final Spool.Run run = queue.poll();
+                target.accept(run.head());
+                if (run.next()) {
+                    queue.add(run);
+                }
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(
+                String.format("Failed to merge violations in %s", this.dir), ex
+            );
+        } finally {
+            for (final Spool.Run run : opened) {
+                run.close();
+            }
+        }
+    }
+
+    /**
+     * First line of the violation.
+     * @param violation The violation
+     * @return Line number, or zero if there is none
+     */
+    private static int line(final Violation violation) {
+        final String lines = violation.lines();
+        int end = 0;
+        while (end < lines.length() && Character.isDigit(lines.charAt(end))) {
+            ++end;
+        }
+        int line = 0;
+        if (end > 0 && end < 10) {
+            line = Integer.parseInt(lines.substring(0, end));
+        }
+        return line;
+    }
+
+    /**
+     * Run file being merged.
+     * @since 1.0
+     */
+    private static final class Run implements Closeable {
+
+        /**
+         * Input of the file.
+         */
+        private final DataInputStream input;
+
+        /**
+         * Violation read last.
+         */
+        private Violation current;
+
+        /**
+         * Ctor.
+         * @param file The file
+         * @throws IOException If fails
+         */
+        Run(final File file) throws IOException {
+            this.input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file.toPath()))
+            );
+        }
+
+        /**
+         * Read the next violation.
+         * @return FALSE if there are no more
+         * @throws IOException If fails
+         */
+        boolean next() throws IOException {
+            final boolean more = this.input.readBoolean();
+            if (more) {
+                this.current = new Violation.Default(
+                    Spool.read(this.input), Spool.read(this.input),
+                    Spool.read(this.input), Spool.read(this.input),
+                    Spool.read(this.input)
+                );
+            }
+            return more;
+        }
+
+        /**
+         * Violation read last.
+         * @return The violation
+         */
+        Violation head() {
+            return this.current;
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.input.close();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
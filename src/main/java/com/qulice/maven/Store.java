@@ -0,0 +1,285 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.jcabi.log.Logger;
+import com.qulice.spi.Violation;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store of violations on disk, shared by all builds
+ * of the machine.
+ *
+ * <p>Violations are saved by a key, which is expected to be a hash of
+ * everything they depend on, in a file named by the key. File names in
+ * violations are kept relative to a base directory, so that a checkout
+ * of the same sources in another directory gets them too.</p>
+ *
+ * <p>Every entry is written into a temporary file first and then
+ * renamed, so a concurrent build never reads a half of it. An entry
+ * which is read is touched, and {@link #trim()} deletes the entries
+ * touched least recently, until the rest fit into the size cap. Only
+ * one process trims at a time, holding an exclusive lock on the
+ * {@code .lock} file of the store; the others skip trimming then.</p>
+ *
+ * @since 1.0
+ */
+final class Store {
+
+    /**
+     * Version of the entry format.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Extension of entry files.
+     */
+    private static final String EXT = ".bin";
+
+    /**
+     * Directory of the store.
+     */
+    private final File dir;
+
+    /**
+     * Size cap, in bytes.
+     */
+    private final long cap;
+
+    /**
+     * Ctor.
+     * @param dir Directory of the store, which may not exist yet
+     * @param cap Size cap, in bytes
+     */
+    Store(final File dir, final long cap) {
+        this.dir = dir;
+        this.cap = cap;
+    }
+
+    /**
+     * Violations saved by the key.
+     * @param key The key, a hex-encoded hash
+     * @param base Base directory to resolve file names against
+     * @return Violations, or nothing if there is no such entry
+     */
+    Optional<List<Violation>> load(final String key, final File base) {
+        final Path path = this.entry(key);
+        Optional<List<Violation>> found = Optional.empty();
+        try (DataInputStream input = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(path))
+        )) {
+            if (input.readInt() == Store.VERSION) {
+                final int total = input.readInt();
+                final List<Violation> list = new ArrayList<>(total);
+                for (int idx = 0; idx < total; ++idx) {
+                    final String name = Spool.read(input);
+                    list.add(
+                        new Violation.Default(
+                            Spool.read(input), Spool.read(input),
+                            new File(base, name).getAbsolutePath(),
+                            Spool.read(input), Spool.read(input)
+                        )
+                    );
+                }
+                found = Optional.of(list);
+            }
+        } catch (final NoSuchFileException ex) {
+            Logger.debug(this, "No %s in the store", key);
+        } catch (final IOException ex) {
+            Logger.warn(this, "Can't read %s, ignoring it: %s", path, ex.getMessage());
+        }
+        if (found.isPresent()) {
+            try {
+                Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            } catch (final IOException ex) {
+                Logger.debug(this, "Can't touch %s: %s", path, ex.getMessage());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Save violations by the key.
+     * @param key The key, a hex-encoded hash
+     * @param base Base directory, which all files of violations are in
+     * @param violations Violations to save
+     */
+    void save(final String key, final File base, final Collection<Violation> violations) {
+        final Path path = this.entry(key);
+        try {
+            Files.createDirectories(path.getParent());
+            final Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+            try {
+                try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp))
+                )) {
+                    output.writeInt(Store.VERSION);
+                    output.writeInt(violations.size());
+                    for (final Violation violation : violations) {
+                        Spool.write(
+                            output,
+                            base.toPath().relativize(new File(violation.file()).toPath())
+                                .toString()
+                        );
+                        Spool.write(output, violation.validator());
+                        Spool.write(output, violation.name());
+                        Spool.write(output, violation.lines());
+                        Spool.write(output, violation.message());
+                    }
+                }
+                Files.move(
+                    temp, path,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE
+                );
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (final IOException ex) {
+            Logger.warn(this, "Can't save %s into the store: %s", key, ex.getMessage());
+        }
+    }
+
+    /**
+     * Delete the entries used least recently, until the rest fit into
+     * the size cap, unless another process is doing it right now.
+     */
+    void trim() {
+        if (this.dir.isDirectory()) {
+            synchronized (Store.class) {
+                try (FileChannel channel = FileChannel.open(
+                    new File(this.dir, ".lock").toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE
+                )) {
+                    final FileLock lock = channel.tryLock();
+                    if (lock == null) {
+                        Logger.debug(this, "The store %s is trimmed by another build", this.dir);
+                    } else {
+                        try {
+                            this.evict();
+                        } finally {
+                            lock.release();
+                        }
+                    }
+                } catch (final OverlappingFileLockException ex) {
+                    Logger.debug(this, "The store %s is trimmed already", this.dir);
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(
+                        String.format("Failed to trim the store %s", this.dir), ex
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete the entries used least recently, over the size cap.
+     * @throws IOException If fails
+     */
+    private void evict() throws IOException {
+        final List<Path> entries;
+        try (Stream<Path> files = Files.walk(this.dir.toPath(), 2)) {
+            entries = files
+                .filter(path -> path.getFileName().toString().endsWith(Store.EXT))
+                .collect(Collectors.toList());
+        }
+        final List<Store.Used> used = new ArrayList<>(entries.size());
+        long total = 0L;
+        for (final Path path : entries) {
+            try {
+                final BasicFileAttributes attrs =
+                    Files.readAttributes(path, BasicFileAttributes.class);
+                used.add(new Store.Used(path, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                total += attrs.size();
+            } catch (final NoSuchFileException ex) {
+                Logger.debug(this, "%s is gone already", path);
+            }
+        }
+        if (total > this.cap) {
+            used.sort(Comparator.comparingLong((Store.Used entry) -> entry.stamp));
+            int deleted = 0;
+            for (final Store.Used entry : used) {
+                if (total <= this.cap) {
+                    break;
+                }
+                if (Files.deleteIfExists(entry.path)) {
+                    deleted += 1;
+                }
+                total -= entry.size;
+            }
+            Logger.info(
+                this, "%d least recently used entries deleted from %s, %d bytes left",
+                deleted, this.dir, total
+            );
+        }
+    }
+
+    /**
+     * File of the entry.
+     * @param key The key
+     * @return Path, in a sub-directory named by the first two characters
+     */
+    private Path entry(final String key) {
+        return new File(
+            new File(this.dir, key.substring(0, 2)), key.concat(Store.EXT)
+        ).toPath();
+    }
+
+    /**
+     * Entry with its size and time of the last use.
+     * @since 1.0
+     */
+    private static final class Used {
+
+        /**
+         * File of the entry.
+         */
+        private final Path path;
+
+        /**
+         * Size, in bytes.
+         */
+        private final long size;
+
+        /**
+         * Time of the last use, in milliseconds.
+         */
+        private final long stamp;
+
+        /**
+         * Ctor.
+         * @param path File of the entry
+         * @param size Size, in bytes
+         * @param stamp Time of the last use, in milliseconds
+         */
+        Used(final Path path, final long size, final long stamp) {
+            this.path = path;
+            this.size = size;
+            this.stamp = stamp;
+        }
+    }
+}
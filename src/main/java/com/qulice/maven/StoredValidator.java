@@ -0,0 +1,201 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.jcabi.log.Logger;
+import com.qulice.spi.ResourceValidator;
+import com.qulice.spi.Violation;
+import com.qulice.spi.ViolationSink;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Validator that takes results from the {@link Store} shared by all
+ * builds of the machine, for directories validated before, anywhere.
+ *
+ * <p>Files are handled per directory, like in {@link IncrementalValidator}:
+ * the key of a directory is the hash of the {@link Fingerprint} of the
+ * configuration, the path of the directory inside of the module, and
+ * the names and content of all files in it. Another branch or worktree
+ * of the same repository, with the same files in the directory, gets
+ * the violations from the store, instead of validating it again.
+ * A directory with a file the validator is
+ * {@link ViolationSink#unsure(File) unsure} about is not stored.</p>
+ *
+ * @since 1.0
+ */
+final class StoredValidator implements ResourceValidator {
+
+    /**
+     * Original validator.
+     */
+    private final ResourceValidator origin;
+
+    /**
+     * The store.
+     */
+    private final Store store;
+
+    /**
+     * Fingerprint of the configuration.
+     */
+    private final String context;
+
+    /**
+     * Base directory of the module.
+     */
+    private final File base;
+
+    /**
+     * Ctor.
+     * @param origin Original validator
+     * @param store The store
+     * @param context Fingerprint of the configuration
+     * @param base Base directory of the module
+     * @checkstyle ParameterNumber (3 lines)
+     */
+    StoredValidator(final ResourceValidator origin, final Store store,
+        final String context, final File base) {
+        this.origin = origin;
+        this.store = store;
+        this.context = context;
+        this.base = base;
+    }
+
+    @Override
+    public Collection<Violation> validate(final Collection<File> files) {
+        final ViolationSink.Buffer buffer = new ViolationSink.Buffer();
+        this.validate(files, buffer);
+        return buffer.violations();
+    }
+
+    @Override
+    public void validate(final Collection<File> files, final ViolationSink sink) {
+        final List<File> stale = new ArrayList<>(0);
+        final Map<File, String> keys = new HashMap<>(0);
+        for (final Map.Entry<File, List<File>> dir : StoredValidator.dirs(files).entrySet()) {
+            final String key = this.key(dir.getKey(), dir.getValue());
+            final Optional<List<Violation>> stored = this.store.load(key, dir.getKey());
+            if (stored.isPresent()) {
+                for (final Violation violation : stored.get()) {
+                    sink.accept(violation);
+                }
+            } else {
+                stale.addAll(dir.getValue());
+                keys.put(dir.getKey(), key);
+            }
+        }
+        Logger.info(
+            this, "%s: %d of %d files are found in the shared store",
+            this.origin.name(), files.size() - stale.size(), files.size()
+        );
+        if (!stale.isEmpty()) {
+            final ViolationSink.Buffer found = new ViolationSink.Buffer();
+            this.origin.validate(stale, new ViolationSink.Tee(found, sink));
+            if (Thread.currentThread().isInterrupted()) {
+                Logger.info(
+                    this, "%s was cancelled, its results are not stored",
+                    this.origin.name()
+                );
+            } else {
+                this.remember(keys, found);
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return this.origin.name();
+    }
+
+    /**
+     * Save the violations of the directories just validated, except the
+     * directories with files the validator is unsure about.
+     * @param keys Keys of the directories
+     * @param found Violations found in them
+     */
+    private void remember(final Map<File, String> keys, final ViolationSink.Buffer found) {
+        final Map<File, List<Violation>> grouped = new HashMap<>(0);
+        for (final File dir : keys.keySet()) {
+            grouped.put(dir, new ArrayList<>(0));
+        }
+        final Collection<File> unsure = new HashSet<>(0);
+        for (final File file : found.unsure()) {
+            unsure.add(file.getParentFile());
+        }
+        boolean orphans = false;
+        for (final Violation violation : found.violations()) {
+            final List<Violation> list = grouped.get(
+                new File(violation.file()).getAbsoluteFile().getParentFile()
+            );
+            if (list == null) {
+                orphans = true;
+            } else {
+                list.add(violation);
+            }
+        }
+        if (orphans) {
+            Logger.info(
+                this, "%s reported violations outside of its files, not storing",
+                this.origin.name()
+            );
+        } else {
+            for (final Map.Entry<File, String> entry : keys.entrySet()) {
+                if (!unsure.contains(entry.getKey())) {
+                    this.store.save(entry.getValue(), entry.getKey(), grouped.get(entry.getKey()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Key of the directory.
+     * @param dir The directory
+     * @param files Its files to validate
+     * @return Hex-encoded SHA-256
+     */
+    private String key(final File dir, final List<File> files) {
+        final Hasher hasher = Hashing.sha256().newHasher()
+            .putString(this.context, StandardCharsets.UTF_8)
+            .putString(
+                this.base.getAbsoluteFile().toPath().relativize(dir.toPath()).toString()
+                    .replace(File.separatorChar, '/'),
+                StandardCharsets.UTF_8
+            );
+        final List<File> sorted = new ArrayList<>(files);
+        sorted.sort(Comparator.comparing(File::getName));
+        for (final File file : sorted) {
+            hasher.putString(file.getName(), StandardCharsets.UTF_8)
+                .putString(IncrementalValidator.hash(file), StandardCharsets.UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Group files by their directories.
+     * @param files Files to group
+     * @return Files by absolute directory
+     */
+    private static Map<File, List<File>> dirs(final Collection<File> files) {
+        final Map<File, List<File>> dirs = new LinkedHashMap<>(0);
+        for (final File file : files) {
+            dirs.computeIfAbsent(
+                file.getAbsoluteFile().getParentFile(), dir -> new ArrayList<>(0)
+            ).add(file);
+        }
+        return dirs;
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.jcabi.log.Logger;
+import com.qulice.spi.ResourceValidator;
+import com.qulice.spi.Scheduler;
+import com.qulice.spi.ViolationSink;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * Watch source directories of the project and validate every file
+ * again as soon as it is saved.
+ *
+ * <p>All files are validated once, and then the goal waits for changes
+ * in the directories of {@link MavenEnvironment#roots()}, till it is
+ * stopped with Ctrl+C. The same validators, with Checkstyle checkers
+ * and PMD rules configured once, validate the files changed, created
+ * or renamed, only them, so that a change is checked in a second,
+ * without a cold start of Maven. Violations of changed files are
+ * printed as they are found, along with the total number left in the
+ * project. Validators of the POM are not used here, run
+ * {@code qulice:check} for them.</p>
+ *
+ * @since 1.0
+ */
+@Mojo(
+    name = "watch",
+    requiresDependencyResolution = ResolutionScope.TEST,
+    threadSafe = true
+)
+public final class WatchMojo extends AbstractQuliceMojo {
+
+    /**
+     * Provider of validators, created on first use with the
+     * configurations shared by all modules of the session.
+     */
+    private ValidatorsProvider provider;
+
+    /**
+     * How long the directories have to stay quiet after a change, in
+     * milliseconds, before the changed files are validated, so that
+     * an editor saving a few files at once triggers one validation.
+     */
+    @Parameter(property = "qulice.watch-delay", defaultValue = "300")
+    private int delay = 300;
+
+    /**
+     * How many times to validate changed files before stopping, zero
+     * to watch till the goal is stopped.
+     */
+    @Parameter(property = "qulice.watch-rounds", defaultValue = "0")
+    private int rounds;
+
+    /**
+     * Run ErrorProne's {@code javac} as a forked process. With
+     * {@code false} it stays loaded in the Maven JVM between changes,
+     * if the JVM is started with the flags it requires.
+     */
+    @Parameter(property = "qulice.errorprone-fork", defaultValue = "true")
+    private boolean fork = true;
+
+    @Override
+    public void doExecute() throws MojoFailureException {
+        final MavenEnvironment env = this.env();
+        env.properties().setProperty("errorprone.fork", String.valueOf(this.fork));
+        final Collection<ResourceValidator> validators = this.provider().externalResource();
+        final Map<String, Integer> found = new ConcurrentHashMap<>(0);
+        try (WatchService watch = FileSystems.getDefault().newWatchService()) {
+            final Map<WatchKey, Path> dirs = new HashMap<>(0);
+            for (final File root : env.roots()) {
+                if (root.isDirectory()) {
+                    WatchMojo.register(watch, root.toPath(), dirs);
+                }
+            }
+            this.validate(validators, env.files("*.*"), found);
+            env.properties().setProperty("partial", "true");
+            Logger.info(
+                this, "Watching %d directories for changes, press Ctrl+C to stop",
+                dirs.size()
+            );
+            for (int round = 0; this.rounds == 0 || round < this.rounds; ++round) {
+                final Collection<File> gone = new TreeSet<>();
+                final Collection<File> touched = this.touched(watch, dirs, gone);
+                for (final File file : gone) {
+                    found.remove(file.getAbsolutePath());
+                    Logger.info(this, "%s is deleted", file);
+                }
+                for (final File file : touched) {
+                    found.remove(file.getAbsolutePath());
+                }
+                this.validate(validators, touched, found);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Failed to watch source directories", ex);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            Logger.info(this, "Watching is stopped");
+        }
+    }
+
+    /**
+     * Set provider of validators.
+     * @param prov The provider
+     */
+    public void setValidatorsProvider(final ValidatorsProvider prov) {
+        this.provider = prov;
+    }
+
+    /**
+     * Set how long directories have to stay quiet after a change.
+     * @param millis Milliseconds
+     */
+    public void setWatchDelay(final int millis) {
+        this.delay = millis;
+    }
+
+    /**
+     * Set how many times to validate changed files before stopping.
+     * @param count Number of rounds, zero for no limit
+     */
+    public void setWatchRounds(final int count) {
+        this.rounds = count;
+    }
+
+    /**
+     * Set whether ErrorProne's {@code javac} is forked.
+     * @param flag TRUE to fork it
+     */
+    public void setErrorproneFork(final boolean flag) {
+        this.fork = flag;
+    }
+
+    /**
+     * Validate files with all validators at once and print violations.
+     * @param validators Validators to use
+     * @param files Files to validate
+     * @param found Number of violations by file, to update
+     * @throws InterruptedException If interrupted while waiting
+     */
+    private void validate(final Collection<ResourceValidator> validators,
+        final Collection<File> files, final Map<String, Integer> found)
+        throws InterruptedException {
+        final MavenEnvironment env = this.env();
+        final CheckMojo.Printed printed = new CheckMojo.Printed(
+            () -> String.format("%s/", env.basedir().getAbsolutePath()), 0, () -> { }
+        );
+        final ViolationSink sink = violation -> {
+            found.merge(violation.file(), 1, Integer::sum);
+            printed.accept(violation);
+        };
+        final Collection<Future<?>> futures = new ArrayList<>(validators.size());
+        for (final ResourceValidator validator : validators) {
+            final Collection<File> mine = CheckMojo.filter(env, files, validator);
+            if (!mine.isEmpty()) {
+                futures.add(
+                    Scheduler.shared().submit(
+                        CheckMojo.weight(env, validator),
+                        () -> validator.validate(mine, sink)
+                    )
+                );
+            }
+        }
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (final ExecutionException ex) {
+                Logger.warn(this, "Validation failed: %s", ex.getCause().getMessage());
+            }
+        }
+        Logger.info(
+            this, "%d violations in %d files validated, %d in total",
+            printed.count(), files.size(),
+            found.values().stream().mapToInt(Integer::intValue).sum()
+        );
+    }
+
+    /**
+     * Wait for changes, till the directories stay quiet.
+     * @param watch Watch service
+     * @param dirs Directories watched, to add new ones to
+     * @param gone Files deleted, to add to
+     * @return Files changed or created
+     * @throws InterruptedException If interrupted while waiting
+     * @throws IOException If fails to watch a new directory
+     */
+    private Collection<File> touched(final WatchService watch,
+        final Map<WatchKey, Path> dirs, final Collection<File> gone)
+        throws InterruptedException, IOException {
+        final Set<File> touched = new TreeSet<>();
+        WatchKey key = watch.take();
+        while (key != null) {
+            final Path dir = dirs.get(key);
+            for (final WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    touched.addAll(this.env().files("*.*"));
+                } else if (dir != null) {
+                    final Path path = dir.resolve((Path) event.context());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        gone.add(path.toFile());
+                    } else if (Files.isDirectory(path)) {
+                        touched.addAll(WatchMojo.register(watch, path, dirs));
+                    } else if (WatchMojo.source(path)) {
+                        touched.add(path.toFile());
+                    }
+                }
+            }
+            if (!key.reset()) {
+                dirs.remove(key);
+            }
+            key = watch.poll(this.delay, TimeUnit.MILLISECONDS);
+        }
+        touched.removeIf(file -> !file.isFile());
+        gone.removeAll(touched);
+        return touched;
+    }
+
+    /**
+     * Provider of validators.
+     * @return Provider set, or the default one
+     */
+    private ValidatorsProvider provider() {
+        if (this.provider == null) {
+            this.provider = new DefaultValidatorsProvider(
+                this.env(), Engine.of(this.session())
+            );
+        }
+        return this.provider;
+    }
+
+    /**
+     * Watch the directory and all directories inside of it.
+     * @param watch Watch service
+     * @param root The directory
+     * @param dirs Directories watched, to add to
+     * @return Source files found in them
+     * @throws IOException If fails
+     */
+    private static Collection<File> register(final WatchService watch,
+        final Path root, final Map<WatchKey, Path> dirs) throws IOException {
+        final Collection<Path> found;
+        try (Stream<Path> paths = Files.walk(root)) {
+            found = paths.collect(Collectors.toList());
+        }
+        final Collection<File> files = new ArrayList<>(0);
+        for (final Path path : found) {
+            if (Files.isDirectory(path)) {
+                dirs.put(
+                    path.register(
+                        watch,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE
+                    ),
+                    path
+                );
+            } else if (WatchMojo.source(path)) {
+                files.add(path.toFile());
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Is it a source file, not a hidden or a backup one of an editor?
+     * @param path The file
+     * @return TRUE if it has to be validated
+     */
+    private static boolean source(final Path path) {
+        final String name = path.getFileName().toString();
+        return name.indexOf('.') > 0 && !name.endsWith("~");
+    }
+}
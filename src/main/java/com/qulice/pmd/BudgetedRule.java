@@ -0,0 +1,72 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.pmd;
+
+import com.qulice.spi.Budget;
+import java.util.ArrayList;
+import java.util.List;
+import net.sourceforge.pmd.lang.ast.Node;
+import net.sourceforge.pmd.lang.rule.Rule;
+import net.sourceforge.pmd.lang.rule.RuleReference;
+import net.sourceforge.pmd.lang.rule.RuleSet;
+import net.sourceforge.pmd.lang.rule.internal.RuleSetReference;
+import net.sourceforge.pmd.reporting.RuleContext;
+
+/**
+ * Rule which is not applied any more, when the {@link Budget} of the
+ * file is exceeded.
+ *
+ * <p>PMD applies every rule to the nodes of the file one by one, so
+ * the rules after a slow one, and the slow one itself on the next node,
+ * are skipped. The first rule skipped throws, which PMD reports as
+ * a processing error of the file, and which keeps the file out of the
+ * incremental analysis cache. The same happens when the thread is
+ * interrupted.</p>
+ *
+ * @since 1.0
+ */
+final class BudgetedRule extends RuleReference {
+
+    /**
+     * Ctor.
+     * @param rule The rule
+     */
+    BudgetedRule(final Rule rule) {
+        super(rule, new RuleSetReference(Rules.RULESET));
+    }
+
+    @Override
+    public void apply(final Node target, final RuleContext ctx) {
+        if (Thread.currentThread().isInterrupted() && !Budget.exceeded()) {
+            Budget.expire();
+        }
+        if (!Budget.exceeded()) {
+            super.apply(target, ctx);
+        } else if (Budget.notice()) {
+            throw new IllegalStateException(Budget.explain("PMD"));
+        }
+    }
+
+    @Override
+    public Rule deepCopy() {
+        return new BudgetedRule(this.getRule().deepCopy());
+    }
+
+    /**
+     * Rules which are skipped when the budget is exceeded.
+     * @param rules Original rules
+     * @return Rules
+     */
+    static RuleSet wrap(final RuleSet rules) {
+        final List<Rule> wrapped = new ArrayList<>(rules.size());
+        for (final Rule rule : rules.getRules()) {
+            wrapped.add(new BudgetedRule(rule));
+        }
+        return RuleSet.create(
+            rules.getName(), rules.getDescription(), rules.getFileName(),
+            rules.getFileExclusions(), rules.getFileInclusions(), wrapped
+        );
+    }
+}
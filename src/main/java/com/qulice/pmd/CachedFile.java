@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.pmd;
+
+import com.qulice.spi.Sources;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import net.sourceforge.pmd.lang.LanguageVersion;
+import net.sourceforge.pmd.lang.document.FileId;
+import net.sourceforge.pmd.lang.document.TextFile;
+import net.sourceforge.pmd.lang.document.TextFileContent;
+
+/**
+ * Source file for PMD, which reads its content from {@link Sources},
+ * when PMD gets to it, so that it's not read again if another validator
+ * has read it already.
+ *
+ * @since 1.0
+ */
+final class CachedFile implements TextFile {
+
+    /**
+     * The file.
+     */
+    private final Path path;
+
+    /**
+     * Encoding of the file.
+     */
+    private final Charset charset;
+
+    /**
+     * Language version of the file.
+     */
+    private final LanguageVersion version;
+
+    /**
+     * Id of the file.
+     */
+    private final FileId id;
+
+    /**
+     * Ctor.
+     * @param path The file
+     * @param charset Encoding of the file
+     * @param version Language version of the file
+     */
+    CachedFile(final Path path, final Charset charset, final LanguageVersion version) {
+        this.path = path;
+        this.charset = charset;
+        this.version = version;
+        this.id = FileId.fromPath(path);
+    }
+
+    @Override
+    public LanguageVersion getLanguageVersion() {
+        return this.version;
+    }
+
+    @Override
+    public FileId getFileId() {
+        return this.id;
+    }
+
+    @Override
+    public TextFileContent readContents() throws IOException {
+        try {
+            return TextFileContent.fromCharSeq(
+                Sources.shared().text(this.path.toFile(), this.charset)
+            );
+        } catch (final UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof CachedFile && this.id.equals(((CachedFile) obj).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return this.id.toString();
+    }
+}
@@ -4,18 +4,54 @@
  */
 package com.qulice.pmd;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
 import com.jcabi.log.Logger;
+import com.qulice.spi.Budget;
 import com.qulice.spi.Environment;
 import com.qulice.spi.Relative;
 import com.qulice.spi.ResourceValidator;
+import com.qulice.spi.Timings;
 import com.qulice.spi.Violation;
+import com.qulice.spi.ViolationSink;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Locale;
 
 /**
  * Validates source code with PMD.
+ *
+ * <p>PMD incremental analysis is enabled, with the cache kept in
+ * {@code pmd/} inside {@link Environment#tempdir()}, or in the directory
+ * set by the {@code pmd.cache} parameter, which may be shared between
+ * modules and builds. PMD itself drops the cache when its version, the
+ * checksum of the rules or the auxiliary classpath changes; the name of
+ * the cache file also carries a digest of {@code ruleset.xml} and of the
+ * plugin jar, so that changes in custom rules invalidate it too.
+ * Concurrent calls, made when files are split into shards, use
+ * different cache files, since PMD rewrites the whole file at the
+ * end of the analysis. When the {@code timings} parameter is set, the
+ * cache is not used, so that every file is analyzed and timed.</p>
+ *
+ * <p>The number of PMD worker threads is taken from the
+ * {@code pmd.threads} parameter; by default, or when it is zero, PMD
+ * analyzes all files on the calling thread.</p>
+ *
+ * <p>Rules are skipped on a file once it takes longer than its
+ * {@link Budget}, and the file is reported, also to the sink as
+ * {@link ViolationSink#unsure(File) unsure}, so that nobody stores the
+ * result of one slow run. Files which are large by the
+ * budget are not analyzed at all, since PMD has no set of rules which
+ * take linear time; Checkstyle checks them with a reduced set.</p>
+ *
  * @since 0.3
  */
 public final class PmdValidator implements ResourceValidator {
@@ -25,18 +61,55 @@ public final class PmdValidator implements ResourceValidator {
      */
     private final transient Environment env;
 
+    /**
+     * Cache slots taken by concurrent calls.
+     */
+    private final BitSet slots = new BitSet();
+
+    /**
+     * Rules, loaded once.
+     */
+    private final Rules rules;
+
     /**
      * Constructor.
      * @param env Environment to use
      */
     public PmdValidator(final Environment env) {
+        this(env, new Rules());
+    }
+
+    /**
+     * Constructor.
+     * @param env Environment to use
+     * @param rules Rules, which may be shared
+     */
+    public PmdValidator(final Environment env, final Rules rules) {
         this.env = env;
+        this.rules = rules;
     }
 
     @Override
     public Collection<Violation> validate(final Collection<File> files) {
-        final Collection<File> sources = this.getNonExcludedFiles(files);
-        final Collection<Violation> violations = new ArrayList<>(0);
+        final ViolationSink.Buffer buffer = new ViolationSink.Buffer();
+        this.validate(files, buffer);
+        return buffer.violations();
+    }
+
+    @Override
+    public void validate(final Collection<File> files, final ViolationSink sink) {
+        final Budget budget = Budget.of(this.env);
+        final Collection<File> sources = new ArrayList<>(files.size());
+        for (final File file : this.getNonExcludedFiles(files)) {
+            if (budget.large(file, this.env.encoding())) {
+                Logger.info(
+                    this, "%s is large, PMD doesn't analyze it",
+                    new Relative(this.env.basedir(), file).path()
+                );
+            } else {
+                sources.add(file);
+            }
+        }
         if (sources.isEmpty()) {
             Logger.debug(
                 this,
@@ -44,23 +117,33 @@ public final class PmdValidator implements ResourceValidator {
                 files.size()
             );
         } else {
-            final SourceValidator validator = new SourceValidator(this.env.encoding());
-            final Collection<PmdError> errors = validator.validate(
-                sources, this.env.basedir().getPath()
-            );
-            for (final PmdError error : errors) {
-                violations.add(
-                    new Violation.Default(
-                        this.name(),
-                        error.name(),
-                        error.fileName(),
-                        error.lines(),
-                        error.description()
-                    )
+            final int slot = this.acquire();
+            try {
+                new SourceValidator(
+                    this.env.encoding(), this.cache(slot),
+                    Integer.parseInt(this.env.param("pmd.threads", "0")),
+                    this.rules, Timings.of(this.env), budget
+                ).validate(
+                    sources, this.env.basedir().getPath(),
+                    error -> {
+                        if (Budget.exceeded()) {
+                            sink.unsure(new File(error.fileName()));
+                        }
+                        sink.accept(
+                            new Violation.Default(
+                                this.name(),
+                                error.name(),
+                                error.fileName(),
+                                error.lines(),
+                                error.description()
+                            )
+                        );
+                    }
                 );
+            } finally {
+                this.release(slot);
             }
         }
-        return violations;
     }
 
     @Override
@@ -87,4 +170,83 @@ public final class PmdValidator implements ResourceValidator {
         }
         return sources;
     }
+
+    /**
+     * File of incremental analysis cache.
+     * @param slot Slot of the current call
+     * @return Cache file
+     */
+    private File cache(final int slot) {
+        final String shared = this.env.param("pmd.cache", "");
+        final File file;
+        if (shared.isEmpty()) {
+            file = new File(
+                this.env.tempdir(),
+                String.format("pmd/pmd-%s-%d.cache", PmdValidator.revision(), slot)
+            );
+        } else {
+            file = new File(
+                shared,
+                String.format(
+                    "pmd-%s-%s-%d.cache",
+                    Hashing.sha256().hashString(
+                        this.env.basedir().getAbsolutePath(), StandardCharsets.UTF_8
+                    ).toString().substring(0, 16),
+                    PmdValidator.revision(),
+                    slot
+                )
+            );
+        }
+        return file;
+    }
+
+    /**
+     * Take the lowest free cache slot.
+     * @return Slot number
+     */
+    private int acquire() {
+        synchronized (this.slots) {
+            final int slot = this.slots.nextClearBit(0);
+            this.slots.set(slot);
+            return slot;
+        }
+    }
+
+    /**
+     * Free the cache slot.
+     * @param slot Slot number
+     */
+    private void release(final int slot) {
+        synchronized (this.slots) {
+            this.slots.clear(slot);
+        }
+    }
+
+    /**
+     * Revision of PMD rules, a digest of {@code ruleset.xml} and of
+     * the jar (or directory) the rules are loaded from.
+     * @return Short hex-encoded digest
+     */
+    private static String revision() {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        try (InputStream stream = PmdValidator.class.getClassLoader()
+            .getResourceAsStream(Rules.RULESET)) {
+            if (stream != null) {
+                hasher.putBytes(ByteStreams.toByteArray(stream));
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(
+                String.format("Cannot read %s", Rules.RULESET), ex
+            );
+        }
+        final CodeSource source =
+            PmdValidator.class.getProtectionDomain().getCodeSource();
+        if (source != null && source.getLocation() != null) {
+            final File jar = new File(source.getLocation().getPath());
+            hasher.putString(jar.getAbsolutePath(), StandardCharsets.UTF_8)
+                .putLong(jar.length())
+                .putLong(jar.lastModified());
+        }
+        return hasher.hash().toString().substring(0, 16);
+    }
 }
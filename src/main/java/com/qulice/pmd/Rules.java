@@ -0,0 +1,45 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.pmd;
+
+import net.sourceforge.pmd.PMDConfiguration;
+import net.sourceforge.pmd.lang.rule.RuleSet;
+import net.sourceforge.pmd.lang.rule.RuleSetLoader;
+
+/**
+ * PMD rules of qulice, which may be shared by many {@link PmdValidator}s,
+ * for example by all modules of a Maven session.
+ *
+ * <p>{@code ruleset.xml} is parsed and its rules are instantiated only
+ * once, on first use. Every analysis gets its own deep copy of them,
+ * since rules keep mutable state while they visit a file.</p>
+ *
+ * @since 1.0
+ */
+public final class Rules {
+
+    /**
+     * Location of PMD rules.
+     */
+    static final String RULESET = "com/qulice/pmd/ruleset.xml";
+
+    /**
+     * Rules loaded, on first use.
+     */
+    private RuleSet loaded;
+
+    /**
+     * Fresh copy of the rules.
+     * @param config Configuration to load the rules with, the first time
+     * @return Rules, not shared with anybody
+     */
+    synchronized RuleSet copy(final PMDConfiguration config) {
+        if (this.loaded == null) {
+            this.loaded = RuleSetLoader.fromPmdConfig(config)
+                .loadFromResource(Rules.RULESET);
+        }
+        return RuleSet.copy(this.loaded);
+    }
+}
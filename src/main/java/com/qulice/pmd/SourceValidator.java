@@ -5,20 +5,24 @@
 package com.qulice.pmd;
 
 import com.jcabi.log.Logger;
+import com.qulice.spi.Budget;
+import com.qulice.spi.Relative;
+import com.qulice.spi.Sources;
+import com.qulice.spi.Timings;
 import java.io.File;
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.function.Consumer;
 import net.sourceforge.pmd.PMDConfiguration;
 import net.sourceforge.pmd.PmdAnalysis;
+import net.sourceforge.pmd.lang.LanguageVersion;
+import net.sourceforge.pmd.lang.document.TextFile;
 import net.sourceforge.pmd.lang.rule.RulePriority;
+import net.sourceforge.pmd.reporting.FileAnalysisListener;
+import net.sourceforge.pmd.reporting.GlobalAnalysisListener;
 import net.sourceforge.pmd.reporting.Report;
 import net.sourceforge.pmd.reporting.RuleViolation;
-import org.cactoos.list.ListOf;
 
 /**
  * Validates source files via <code>PmdValidator</code>.
@@ -36,50 +40,122 @@ final class SourceValidator {
      */
     private final Charset encoding;
 
+    /**
+     * File of PMD incremental analysis cache.
+     */
+    private final File cache;
+
+    /**
+     * Number of PMD worker threads, zero to analyze on the calling thread.
+     */
+    private final int threads;
+
+    /**
+     * Rules, loaded once.
+     */
+    private final Rules rules;
+
+    /**
+     * Where to add the time of rules and files.
+     */
+    private final Timings timings;
+
+    /**
+     * Budget of every file.
+     */
+    private final Budget budget;
+
     /**
      * Creates new instance of <code>SourceValidator</code>.
      * @param charset Source files encoding
+     * @param cache File of PMD incremental analysis cache
+     * @param threads Number of worker threads, zero for none
+     * @param rules Rules, loaded once
+     * @param timings Where to add the time of rules and files
+     * @param budget Budget of every file
+     * @checkstyle ParameterNumber (3 lines)
      */
-    SourceValidator(final Charset charset) {
+    SourceValidator(final Charset charset, final File cache, final int threads,
+        final Rules rules, final Timings timings, final Budget budget) {
         this.config = new PMDConfiguration();
         this.encoding = charset;
+        this.cache = cache;
+        this.threads = threads;
+        this.rules = rules;
+        this.timings = timings;
+        this.budget = budget;
     }
 
     /**
-     * Performs validation of the input source files.
+     * Performs validation of the input source files, pushing errors into
+     * the consumer as soon as PMD finishes each file. The incremental
+     * analysis cache is not used while rules are timed, since files
+     * found in it would not be analyzed and timed at all.
      * @param sources Input source files
      * @param path Base path
-     * @return Collection of violations
+     * @param sink Consumer of errors, called from PMD worker threads
+     * @checkstyle ExecutableStatementCount (50 lines)
      */
-    Collection<PmdError> validate(
-        final Collection<File> sources, final String path) {
-        this.config.setRuleSets(new ListOf<>("com/qulice/pmd/ruleset.xml"));
-        this.config.setThreads(0);
+    void validate(final Collection<File> sources, final String path,
+        final Consumer<PmdError> sink) {
+        this.config.setThreads(this.threads);
         this.config.setMinimumPriority(RulePriority.LOW);
-        this.config.setIgnoreIncrementalAnalysis(true);
+        if (this.timings.enabled()) {
+            this.config.setIgnoreIncrementalAnalysis(true);
+        } else {
+            final File dir = this.cache.getParentFile();
+            if (!dir.exists() && !dir.mkdirs()) {
+                throw new IllegalStateException(
+                    String.format("Unable to create directory %s", dir)
+                );
+            }
+            this.config.setIgnoreIncrementalAnalysis(false);
+            this.config.setAnalysisCacheLocation(this.cache.getPath());
+        }
         this.config.setShowSuppressedViolations(true);
         this.config.setSourceEncoding(this.encoding);
-        final List<PmdError> errors = new ArrayList<>(0);
         try (PmdAnalysis analysis = PmdAnalysis.create(this.config)) {
+            analysis.addRuleSet(BudgetedRule.wrap(this.rules.copy(this.config)));
+            analysis.addListener(
+                new SourceValidator.Forward(
+                    sink, Thread.currentThread(), this.timings, new File(path),
+                    this.encoding, this.budget
+                )
+            );
             for (final File source : sources) {
                 Logger.debug(
                     this,
                     "Processing file: %s",
                     source.toPath().toString()
                 );
-                analysis.files().addFile(source.toPath());
+                final LanguageVersion version =
+                    this.config.getLanguageVersionOfFile(source.getPath());
+                if (version == null) {
+                    analysis.files().addFile(source.toPath());
+                } else {
+                    analysis.files().addFile(
+                        new CachedFile(source.toPath(), this.encoding, version)
+                    );
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("PMD was interrupted");
+            }
+            try {
+                if (this.timings.enabled()) {
+                    Tracking.start();
+                    try {
+                        analysis.performAnalysis();
+                    } finally {
+                        Tracking.stop(this.timings);
+                    }
+                } else {
+                    analysis.performAnalysis();
+                }
+            } finally {
+                Budget.stop();
             }
-            final Report report = analysis.performAnalysisAndCollectReport();
-            report.getConfigurationErrors().stream()
-                .map(PmdError.OfConfigError::new).forEach(errors::add);
-            report.getProcessingErrors().stream()
-                .map(PmdError.OfProcessingError::new).forEach(errors::add);
-            report.getViolations().stream()
-                .filter(violation -> !SourceValidator.suppressesItself(violation))
-                .map(PmdError.OfRuleViolation::new)
-                .forEach(errors::add);
         }
-        return errors;
     }
 
     /**
@@ -88,25 +164,27 @@ final class SourceValidator {
      * The PMD rule cannot suppress its own violations, so suppressing it is
      * effectively a no-op and must not be reported as unused.
      * @param violation Violation to inspect
+     * @param charset Encoding of the file
      * @return True if the violation is self-referential
      */
-    private static boolean suppressesItself(final RuleViolation violation) {
+    private static boolean suppressesItself(final RuleViolation violation,
+        final Charset charset) {
         final String name = "UnnecessaryWarningSuppression";
         boolean result = false;
         if (name.equals(violation.getRule().getName())) {
             try {
-                final List<String> lines = Files.readAllLines(
-                    Paths.get(violation.getFileId().getAbsolutePath())
-                );
+                final String[] lines = Sources.shared().text(
+                    new File(violation.getFileId().getAbsolutePath()), charset
+                ).split("\\R", -1);
                 final int start = Math.max(0, violation.getBeginLine() - 1);
-                final int end = Math.min(lines.size(), violation.getEndLine());
+                final int end = Math.min(lines.length, violation.getEndLine());
                 for (int idx = start; idx < end; ++idx) {
-                    if (lines.get(idx).contains(name)) {
+                    if (lines[idx].contains(name)) {
                         result = true;
                         break;
                     }
                 }
-            } catch (final IOException ex) {
+            } catch (final UncheckedIOException ex) {
                 Logger.debug(
                     SourceValidator.class,
                     "Failed to read %s: %s",
@@ -117,4 +195,203 @@ final class SourceValidator {
         }
         return result;
     }
+
+    /**
+     * Listener of the whole analysis which forwards errors and
+     * violations to the consumer, until the thread which started the
+     * analysis is interrupted.
+     *
+     * <p>PMD starts the analysis of a file on the thread which analyzes
+     * it, so the clock of the {@link Budget} of the file starts here and
+     * stops when the listener of the file is closed. Once the caller is
+     * interrupted, the time of every next file is over right away, so
+     * that PMD workers don't apply any rules to it, nor cache it.</p>
+     *
+     * @since 1.0
+     */
+    private static final class Forward implements GlobalAnalysisListener {
+
+        /**
+         * Consumer of errors.
+         */
+        private final Consumer<PmdError> sink;
+
+        /**
+         * Thread which started the analysis.
+         */
+        private final Thread caller;
+
+        /**
+         * Where to add the time of files.
+         */
+        private final Timings timings;
+
+        /**
+         * Base directory of files.
+         */
+        private final File base;
+
+        /**
+         * Encoding of files.
+         */
+        private final Charset charset;
+
+        /**
+         * Budget of every file.
+         */
+        private final Budget budget;
+
+        /**
+         * Ctor.
+         * @param sink Consumer of errors
+         * @param caller Thread which started the analysis
+         * @param timings Where to add the time of files
+         * @param base Base directory of files
+         * @param charset Encoding of files
+         * @param budget Budget of every file
+         * @checkstyle ParameterNumber (4 lines)
+         */
+        Forward(final Consumer<PmdError> sink, final Thread caller,
+            final Timings timings, final File base, final Charset charset,
+            final Budget budget) {
+            this.sink = sink;
+            this.caller = caller;
+            this.timings = timings;
+            this.base = base;
+            this.charset = charset;
+            this.budget = budget;
+        }
+
+        @Override
+        public FileAnalysisListener startFileAnalysis(final TextFile file) {
+            final FileAnalysisListener listener;
+            if (this.caller.isInterrupted()) {
+                Budget.expire();
+                listener = FileAnalysisListener.noop();
+            } else if (this.timings.enabled()) {
+                this.budget.start();
+                listener = new SourceValidator.TimedFile(
+                    new SourceValidator.ForwardFile(this.sink, this.charset), this.timings,
+                    new Relative(this.base, new File(file.getFileId().getAbsolutePath())).path()
+                );
+            } else {
+                this.budget.start();
+                listener = new SourceValidator.ForwardFile(this.sink, this.charset);
+            }
+            return listener;
+        }
+
+        @Override
+        public void onConfigError(final Report.ConfigurationError error) {
+            this.sink.accept(new PmdError.OfConfigError(error));
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+
+    /**
+     * Listener of one file which forwards errors and violations, except
+     * self-suppressing ones, to the consumer.
+     * @since 1.0
+     */
+    private static final class ForwardFile implements FileAnalysisListener {
+
+        /**
+         * Consumer of errors.
+         */
+        private final Consumer<PmdError> sink;
+
+        /**
+         * Encoding of files.
+         */
+        private final Charset charset;
+
+        /**
+         * Ctor.
+         * @param sink Consumer of errors
+         * @param charset Encoding of files
+         */
+        ForwardFile(final Consumer<PmdError> sink, final Charset charset) {
+            this.sink = sink;
+            this.charset = charset;
+        }
+
+        @Override
+        public void onRuleViolation(final RuleViolation violation) {
+            if (!SourceValidator.suppressesItself(violation, this.charset)) {
+                this.sink.accept(new PmdError.OfRuleViolation(violation));
+            }
+        }
+
+        @Override
+        public void onError(final Report.ProcessingError error) {
+            this.sink.accept(new PmdError.OfProcessingError(error));
+        }
+
+        @Override
+        public void close() {
+            Budget.stop();
+        }
+    }
+
+    /**
+     * Listener of one file which adds the time, from the start of the
+     * analysis of the file till its end, to the timings.
+     * @since 1.0
+     */
+    private static final class TimedFile implements FileAnalysisListener {
+
+        /**
+         * Listener to forward to.
+         */
+        private final SourceValidator.ForwardFile origin;
+
+        /**
+         * Where to add the time.
+         */
+        private final Timings timings;
+
+        /**
+         * Name of the file.
+         */
+        private final String name;
+
+        /**
+         * When the analysis of the file started, in nanoseconds.
+         */
+        private final long start;
+
+        /**
+         * Ctor.
+         * @param origin Listener to forward to
+         * @param timings Where to add the time
+         * @param name Name of the file
+         */
+        TimedFile(final SourceValidator.ForwardFile origin, final Timings timings,
+            final String name) {
+            this.origin = origin;
+            this.timings = timings;
+            this.name = name;
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        public void onRuleViolation(final RuleViolation violation) {
+            this.origin.onRuleViolation(violation);
+        }
+
+        @Override
+        public void onError(final Report.ProcessingError error) {
+            this.origin.onError(error);
+        }
+
+        @Override
+        public void close() {
+            this.timings.file("PMD", this.name, System.nanoTime() - this.start);
+            this.origin.close();
+        }
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.pmd;
+
+import com.jcabi.log.Logger;
+import com.qulice.spi.Timings;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.sourceforge.pmd.benchmark.TimeTracker;
+import net.sourceforge.pmd.benchmark.TimedOperationCategory;
+import net.sourceforge.pmd.benchmark.TimingReport;
+
+/**
+ * Time tracking of PMD rules, with the {@link TimeTracker} of PMD itself.
+ *
+ * <p>{@link TimeTracker} is global for the JVM, so overlapping analyses,
+ * for example of shards or of modules built in parallel, are tracked
+ * together: tracking starts with the first of them and stops with the
+ * last one, which gets the times of all of them.</p>
+ *
+ * <p>PMD doesn't expose the numbers it measures, only renders them as
+ * text, so they are read from its private fields. If a future version of
+ * PMD renames them, times are not reported, but the analysis goes on.</p>
+ *
+ * @since 1.0
+ */
+final class Tracking {
+
+    /**
+     * How many analyses are tracked right now.
+     */
+    private static int active;
+
+    /**
+     * Ctor.
+     */
+    private Tracking() {
+        // utility class
+    }
+
+    /**
+     * Start tracking, unless it's started already.
+     */
+    static synchronized void start() {
+        if (Tracking.active == 0) {
+            TimeTracker.startGlobalTracking();
+        }
+        Tracking.active += 1;
+    }
+
+    /**
+     * Stop tracking, if this is the last analysis tracked, and push the
+     * times of rules into the timings.
+     * @param timings Where to push them
+     */
+    static synchronized void stop(final Timings timings) {
+        Tracking.active -= 1;
+        if (Tracking.active == 0) {
+            final TimingReport report = TimeTracker.stopGlobalTracking();
+            final Map<String, ?> rules =
+                report.getLabeledMeasurements(TimedOperationCategory.RULE);
+            try {
+                for (final Map.Entry<String, ?> entry : rules.entrySet()) {
+                    timings.check(
+                        "PMD", entry.getKey(),
+                        ((AtomicLong) Tracking.field(entry.getValue(), "totalTimeNanos")).get(),
+                        ((AtomicInteger) Tracking.field(entry.getValue(), "callCount")).get()
+                    );
+                }
+            } catch (final ReflectiveOperationException ex) {
+                Logger.warn(Tracking.class, "Can't read times of PMD rules: %s", ex);
+            }
+        }
+    }
+
+    /**
+     * Value of a private field of PMD.
+     * @param result Measurement of PMD
+     * @param name Name of the field
+     * @return Value
+     * @throws ReflectiveOperationException If there is no such field
+     */
+    private static Object field(final Object result, final String name)
+        throws ReflectiveOperationException {
+        final Field field = result.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(result);
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget of a file in a validator: how long it may be checked, and how
+ * big it may be to get all the checks.
+ *
+ * <p>A pathological source, like a huge generated parser, may keep
+ * a check busy for minutes. A validator starts the clock of a file on the
+ * thread which checks it, see {@link #start()}, and its checks,
+ * called over and over while the file is checked, ask {@link #exceeded()}
+ * and give up as soon as it says so. Java can't stop a busy thread, so
+ * a check which never asks is not stopped, but the checks after it are
+ * skipped.</p>
+ *
+ * <p>Files with more than {@code large.lines} lines or with more than
+ * {@code large.size} kilobytes are {@link #large(File, Charset) large},
+ * and validators route them to a reduced set of checks, which take
+ * linear time.</p>
+ *
+ * @since 1.0
+ */
+public final class Budget {
+
+    /**
+     * Clock of the file checked by the current thread.
+     */
+    private static final ThreadLocal<Budget.Clock> CLOCK = new ThreadLocal<>();
+
+    /**
+     * Time a file may be checked, in milliseconds, zero for no limit.
+     */
+    private final long millis;
+
+    /**
+     * Lines of a large file, zero for no limit.
+     */
+    private final int lines;
+
+    /**
+     * Bytes of a large file, zero for no limit.
+     */
+    private final long bytes;
+
+    /**
+     * Ctor.
+     * @param millis Time a file may be checked, in milliseconds, zero
+     *  for no limit
+     * @param lines Lines of a large file, zero for no limit
+     * @param bytes Bytes of a large file, zero for no limit
+     */
+    public Budget(final long millis, final int lines, final long bytes) {
+        this.millis = millis;
+        this.lines = lines;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Budget of the environment, by its {@code file.timeout},
+     * {@code large.lines} and {@code large.size} parameters.
+     * @param env Environment
+     * @return Budget
+     */
+    public static Budget of(final Environment env) {
+        return new Budget(
+            Long.parseLong(env.param("file.timeout", "0")),
+            Integer.parseInt(env.param("large.lines", "0")),
+            Long.parseLong(env.param("large.size", "0")) << 10
+        );
+    }
+
+    /**
+     * Is the file too large for all the checks?
+     * @param file The file
+     * @param charset Its encoding
+     * @return TRUE if it has to be checked with a reduced set of checks
+     */
+    public boolean large(final File file, final Charset charset) {
+        final long length = file.length();
+        boolean large = this.bytes > 0L && length > this.bytes;
+        if (!large && this.lines > 0 && length > this.lines) {
+            final String text = Sources.shared().text(file, charset);
+            int count = 1;
+            for (int pos = text.indexOf('\n'); pos >= 0; pos = text.indexOf('\n', pos + 1)) {
+                count += 1;
+                if (count > this.lines) {
+                    large = true;
+                    break;
+                }
+            }
+        }
+        return large;
+    }
+
+    /**
+     * Start the clock of the next file, on the current thread.
+     */
+    public void start() {
+        if (this.millis > 0L) {
+            Budget.CLOCK.set(new Budget.Clock(this.millis));
+        } else {
+            Budget.CLOCK.remove();
+        }
+    }
+
+    /**
+     * Give up the file on the current thread right away, for example
+     * when the validation is cancelled.
+     */
+    public static void expire() {
+        final Budget.Clock clock = new Budget.Clock(0L);
+        clock.expired = true;
+        Budget.CLOCK.set(clock);
+    }
+
+    /**
+     * Stop the clock of the current thread, if any.
+     */
+    public static void stop() {
+        Budget.CLOCK.remove();
+    }
+
+    /**
+     * Is the time of the file checked by the current thread over?
+     * Once it is over, it stays over, till the clock is started again.
+     * @return TRUE if checks have to give up
+     */
+    public static boolean exceeded() {
+        final Budget.Clock clock = Budget.CLOCK.get();
+        return clock != null && clock.over();
+    }
+
+    /**
+     * Is the time of the file over and nobody has reported it yet?
+     * @return TRUE only once for the file, to the first caller who
+     *  has to report it
+     */
+    public static boolean notice() {
+        final Budget.Clock clock = Budget.CLOCK.get();
+        boolean first = false;
+        if (clock != null && clock.over() && !clock.noticed) {
+            clock.noticed = true;
+            first = true;
+        }
+        return first;
+    }
+
+    /**
+     * Explanation of the exceeded time, to report with the file.
+     * @param tool Name of the tool
+     * @return Text
+     */
+    public static String explain(final String tool) {
+        final Budget.Clock clock = Budget.CLOCK.get();
+        final long limit;
+        if (clock == null) {
+            limit = 0L;
+        } else {
+            limit = clock.limit;
+        }
+        final String text;
+        if (limit == 0L) {
+            text = String.format("%s was cancelled and skipped the rest of its checks", tool);
+        } else {
+            text = String.format(
+                "%s took over %d ms on the file and skipped the rest of its checks, see %s",
+                tool, limit, "qulice.file-timeout"
+            );
+        }
+        return text;
+    }
+
+    /**
+     * Limits of a large file, which validators may be keyed by. The time
+     * is not here, since whether a file is checked in time differs from
+     * run to run; validators tell their sinks they are
+     * {@link ViolationSink#unsure(File) unsure} about files whose time
+     * is over.
+     * @return Text
+     */
+    public String limits() {
+        return String.format(
+            Locale.ENGLISH, "%d lines, %d bytes", this.lines, this.bytes
+        );
+    }
+
+    /**
+     * Clock of a file.
+     * @since 1.0
+     */
+    private static final class Clock {
+
+        /**
+         * Time the file may be checked, in milliseconds.
+         */
+        private final long limit;
+
+        /**
+         * When the time is over, by {@link System#nanoTime()}.
+         */
+        private final long deadline;
+
+        /**
+         * Is the time over?
+         */
+        private boolean expired;
+
+        /**
+         * Is it reported already?
+         */
+        private boolean noticed;
+
+        /**
+         * Ctor.
+         * @param limit Time the file may be checked, in milliseconds
+         */
+        Clock(final long limit) {
+            this.limit = limit;
+            this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(limit);
+        }
+
+        /**
+         * Is the time over?
+         * @return TRUE if it is
+         */
+        boolean over() {
+            if (!this.expired && System.nanoTime() - this.deadline > 0L) {
+                this.expired = true;
+            }
+            return this.expired;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Task applied to partitions of files concurrently, one task of the
+ * {@link Scheduler} per partition.
+ *
+ * <p>The task is expected to push what it finds into a thread-safe
+ * {@link ViolationSink}. A single partition is processed on the calling
+ * thread. While waiting for the partitions, the calling thread gives
+ * its CPU slots back to the scheduler. If any partition fails, its
+ * {@link RuntimeException} is rethrown and the other partitions are
+ * interrupted.</p>
+ *
+ * @since 1.0
+ */
+public final class Parallel {
+
+    /**
+     * Task to apply to every partition.
+     */
+    private final Consumer<List<File>> task;
+
+    /**
+     * Ctor.
+     * @param task Task to apply to every partition
+     */
+    public Parallel(final Consumer<List<File>> task) {
+        this.task = task;
+    }
+
+    /**
+     * Apply the task to all partitions and wait for all of them.
+     * @param parts Partitions of files, see {@link Shards}
+     */
+    public void apply(final List<List<File>> parts) {
+        if (parts.size() == 1) {
+            this.task.accept(parts.get(0));
+        } else {
+            final Scheduler scheduler = Scheduler.shared();
+            final Collection<Future<?>> futures = new ArrayList<>(parts.size());
+            for (final List<File> part : parts) {
+                futures.add(scheduler.submit(1, () -> this.task.accept(part)));
+            }
+            final int held = scheduler.pause();
+            try {
+                for (final Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while validating", ex);
+            } catch (final ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                throw new IllegalStateException("Failed to validate a partition", ex);
+            } finally {
+                for (final Future<?> future : futures) {
+                    future.cancel(true);
+                }
+                scheduler.resume(held);
+            }
+        }
+    }
+}
@@ -15,11 +15,34 @@ public interface ResourceValidator {
 
     /**
      * Validate and throws exception if there are any problems.
+     *
+     * <p>May be called concurrently with disjoint collections of files,
+     * when the files are split into shards.</p>
+     *
      * @param files Files to validate
      * @return Validation results
      */
     Collection<Violation> validate(Collection<File> files);
 
+    /**
+     * Validate and push violations into the sink as soon as they are
+     * found, without keeping them all in memory.
+     *
+     * <p>By default, delegates to {@link #validate(Collection)} and
+     * pushes its results. Implementers may override it to stream
+     * violations while still working, and then implement
+     * {@link #validate(Collection)}, which is always required, with a
+     * {@link ViolationSink.Buffer}.</p>
+     *
+     * @param files Files to validate
+     * @param sink Where to push violations
+     */
+    default void validate(final Collection<File> files, final ViolationSink sink) {
+        for (final Violation violation : this.validate(files)) {
+            sink.accept(violation);
+        }
+    }
+
     /**
      * Name of this validator.
      * @return Name of this validator
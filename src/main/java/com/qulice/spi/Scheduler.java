@@ -0,0 +1,204 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Scheduler of analysis tasks, shared by all modules of the JVM.
+ *
+ * <p>Every task runs on its own virtual thread, so the JDK's
+ * work-stealing carrier pool, which is sized to the machine, does the
+ * actual scheduling: no more tasks than there are cores run at once,
+ * however many modules are built in parallel, while the tasks which
+ * sleep or wait don't hold a carrier.</p>
+ *
+ * <p>Once {@link #limit(int)} sets a cap, a task also takes as many CPU
+ * slots as its weight says before it starts, out of that many slots.
+ * A task which waits for something else, like a forked process or its
+ * own sub-tasks, gives its slots back for the time of waiting, see
+ * {@link #pause()}.</p>
+ *
+ * @since 1.0
+ */
+public final class Scheduler {
+
+    /**
+     * Number of slots when there is no cap.
+     */
+    private static final int UNLIMITED = 1 << 20;
+
+    /**
+     * The scheduler of this JVM.
+     */
+    private static final Scheduler SHARED = new Scheduler(0);
+
+    /**
+     * Slots taken by the task running on the current thread.
+     */
+    private static final ThreadLocal<Integer> HELD = ThreadLocal.withInitial(() -> 0);
+
+    /**
+     * Executor which starts a virtual thread per task.
+     */
+    private final ExecutorService threads;
+
+    /**
+     * CPU slots.
+     */
+    private final Scheduler.Slots slots;
+
+    /**
+     * Cap of CPU slots, zero if there is none.
+     */
+    private int cap;
+
+    /**
+     * Ctor.
+     * @param cap Number of CPU slots, zero or less for no cap
+     */
+    Scheduler(final int cap) {
+        this.threads = Executors.newVirtualThreadPerTaskExecutor();
+        this.cap = Math.max(0, cap);
+        this.slots = new Scheduler.Slots(Scheduler.permits(this.cap));
+    }
+
+    /**
+     * The scheduler of this JVM.
+     * @return Scheduler
+     */
+    public static Scheduler shared() {
+        return Scheduler.SHARED;
+    }
+
+    /**
+     * Change the cap of CPU slots. Tasks running already keep their
+     * slots.
+     * @param slots Number of slots, zero or less for no cap
+     */
+    public synchronized void limit(final int slots) {
+        final int before = Scheduler.permits(this.cap);
+        this.cap = Math.max(0, slots);
+        final int after = Scheduler.permits(this.cap);
+        if (after > before) {
+            this.slots.release(after - before);
+        } else {
+            this.slots.reduce(before - after);
+        }
+    }
+
+    /**
+     * Number of cores tasks may keep busy at once.
+     * @return The cap, or the number of cores if there is no cap
+     */
+    public synchronized int size() {
+        final int size;
+        if (this.cap > 0) {
+            size = this.cap;
+        } else {
+            size = Runtime.getRuntime().availableProcessors();
+        }
+        return size;
+    }
+
+    /**
+     * Start the task, once there are enough free CPU slots for it.
+     * @param weight How many cores the task keeps busy
+     * @param task The task
+     * @return Future of the task, which interrupts it when cancelled
+     */
+    public Future<?> submit(final int weight, final Runnable task) {
+        final int wanted = Math.max(1, Math.min(weight, this.size()));
+        return this.threads.submit(
+            () -> {
+                try {
+                    this.slots.acquire(wanted);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while scheduled", ex);
+                }
+                Scheduler.HELD.set(wanted);
+                try {
+                    task.run();
+                } finally {
+                    this.slots.release(Scheduler.HELD.get());
+                    Scheduler.HELD.remove();
+                }
+            }
+        );
+    }
+
+    /**
+     * Give the CPU slots of the current task back, before it starts
+     * waiting. Must be followed by {@link #resume(int)} in a
+     * {@code finally} block.
+     * @return Number of slots given back
+     */
+    public int pause() {
+        final int held = Scheduler.HELD.get();
+        if (held > 0) {
+            Scheduler.HELD.set(0);
+            this.slots.release(held);
+        }
+        return held;
+    }
+
+    /**
+     * Take the CPU slots back, once the waiting is over.
+     * @param held Number of slots returned by {@link #pause()}
+     */
+    public void resume(final int held) {
+        if (held > 0) {
+            this.slots.acquireUninterruptibly(held);
+            Scheduler.HELD.set(held);
+        }
+    }
+
+    /**
+     * Number of permits for the cap.
+     * @param cap Cap of CPU slots, zero if there is none
+     * @return Number of permits
+     */
+    private static int permits(final int cap) {
+        final int permits;
+        if (cap > 0) {
+            permits = cap;
+        } else {
+            permits = Scheduler.UNLIMITED;
+        }
+        return permits;
+    }
+
+    /**
+     * Semaphore which may shrink.
+     * @since 1.0
+     */
+    private static final class Slots extends Semaphore {
+
+        /**
+         * Serialization marker.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Ctor.
+         * @param permits Initial number of slots
+         */
+        Slots(final int permits) {
+            super(permits, true);
+        }
+
+        /**
+         * Take slots away, even if they are in use right now.
+         * @param count How many slots to take away
+         */
+        void reduce(final int count) {
+            this.reducePermits(count);
+        }
+    }
+}
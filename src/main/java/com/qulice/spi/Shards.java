@@ -0,0 +1,139 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Files split into size-balanced shards.
+ *
+ * <p>Uses the classic "largest first" greedy heuristic: groups of files
+ * are sorted by their total size in descending order and each group is
+ * placed into the shard which is currently the lightest. A group is the
+ * set of files living in the same directory; they are never split
+ * across shards, because some checks (for example Checkstyle's
+ * {@code JavadocPackage} and {@code Translation}) report once per
+ * directory and would produce duplicates or miss problems otherwise.</p>
+ *
+ * <p>The result always contains at least one shard, possibly empty, and
+ * never more shards than there are groups, so a validator is always
+ * invoked at least once, just like without sharding.</p>
+ *
+ * @since 1.0
+ */
+public final class Shards {
+
+    /**
+     * Files to split.
+     */
+    private final Iterable<File> files;
+
+    /**
+     * Maximum number of shards.
+     */
+    private final int count;
+
+    /**
+     * Ctor.
+     * @param files Files to split
+     * @param count Maximum number of shards, values below one mean one
+     */
+    public Shards(final Iterable<File> files, final int count) {
+        this.files = files;
+        this.count = count;
+    }
+
+    /**
+     * All shards.
+     * @return List of shards, heaviest first
+     */
+    public List<List<File>> all() {
+        final Map<File, Shards.Group> groups = new LinkedHashMap<>(0);
+        for (final File file : this.files) {
+            groups.computeIfAbsent(
+                file.getAbsoluteFile().getParentFile(), dir -> new Shards.Group()
+            ).add(file);
+        }
+        final List<Shards.Group> sorted = new ArrayList<>(groups.values());
+        sorted.sort(Comparator.comparingLong(Shards.Group::weight).reversed());
+        final int total = Math.max(1, Math.min(this.count, sorted.size()));
+        final List<Shards.Group> shards = new ArrayList<>(total);
+        for (int idx = 0; idx < total; ++idx) {
+            shards.add(new Shards.Group());
+        }
+        for (final Shards.Group group : sorted) {
+            Shards.Group lightest = shards.get(0);
+            for (final Shards.Group shard : shards) {
+                if (shard.weight() < lightest.weight()) {
+                    lightest = shard;
+                }
+            }
+            lightest.addAll(group);
+        }
+        final List<List<File>> result = new ArrayList<>(total);
+        for (final Shards.Group shard : shards) {
+            result.add(shard.files());
+        }
+        return result;
+    }
+
+    /**
+     * Group of files with their total size.
+     * @since 1.0
+     */
+    private static final class Group {
+
+        /**
+         * Files in the group, largest first.
+         */
+        private final List<File> members = new ArrayList<>(0);
+
+        /**
+         * Total size of all files, in bytes.
+         */
+        private long size;
+
+        /**
+         * Add one file.
+         * @param file The file
+         */
+        void add(final File file) {
+            this.members.add(file);
+            this.size += file.length();
+        }
+
+        /**
+         * Add all files from another group.
+         * @param group The group
+         */
+        void addAll(final Shards.Group group) {
+            this.members.addAll(group.members);
+            this.size += group.size;
+        }
+
+        /**
+         * Total size.
+         * @return Size in bytes
+         */
+        long weight() {
+            return this.size;
+        }
+
+        /**
+         * Files, largest first.
+         * @return List of files
+         */
+        List<File> files() {
+            final List<File> sorted = new ArrayList<>(this.members);
+            sorted.sort(Comparator.comparingLong(File::length).reversed());
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decoded content of source files, shared by all validators of the JVM.
+ *
+ * <p>Every validator which reads a source file as text gets it from here,
+ * so that a file is read and decoded once, not once per validator. Big
+ * files are mapped into memory instead of being copied into a buffer
+ * before decoding.</p>
+ *
+ * <p>The texts are kept until their total size, two bytes per character,
+ * reaches the budget set by {@link #limit(long)}; then the least recently
+ * used ones are dropped. A file modified since it was read, by its size
+ * or time of modification, is read again.</p>
+ *
+ * @since 1.0
+ */
+public final class Sources {
+
+    /**
+     * Default budget, in bytes.
+     */
+    private static final long BUDGET = 64L << 20;
+
+    /**
+     * Files of this size or bigger, in bytes, are mapped into memory.
+     */
+    private static final long MAPPED = 1L << 20;
+
+    /**
+     * The sources of this JVM.
+     */
+    private static final Sources SHARED = new Sources(Sources.BUDGET);
+
+    /**
+     * Texts, the least recently used first, by path and charset.
+     */
+    private final Map<String, Sources.Text> texts;
+
+    /**
+     * Budget, in bytes.
+     */
+    private long budget;
+
+    /**
+     * Size of all texts kept, in bytes.
+     */
+    private long weight;
+
+    /**
+     * Ctor.
+     * @param bytes Budget, in bytes, zero to keep nothing
+     */
+    Sources(final long bytes) {
+        this.texts = new LinkedHashMap<>(16, 0.75f, true);
+        this.budget = Math.max(0L, bytes);
+    }
+
+    /**
+     * The sources of this JVM.
+     * @return Sources
+     */
+    public static Sources shared() {
+        return Sources.SHARED;
+    }
+
+    /**
+     * Change the budget, dropping texts which don't fit into it anymore.
+     * @param bytes Budget, in bytes, zero to keep nothing
+     */
+    public synchronized void limit(final long bytes) {
+        this.budget = Math.max(0L, bytes);
+        this.evict();
+    }
+
+    /**
+     * Decoded content of the file.
+     * @param file The file
+     * @param charset Encoding of the file
+     * @return Text, with malformed characters replaced
+     */
+    public String text(final File file, final Charset charset) {
+        final Path path = file.toPath().toAbsolutePath();
+        final String key = String.format("%s %s", charset.name(), path);
+        try {
+            final BasicFileAttributes attrs =
+                Files.readAttributes(path, BasicFileAttributes.class);
+            final long stamp = attrs.lastModifiedTime().toMillis();
+            Sources.Text text;
+            synchronized (this) {
+                text = this.texts.get(key);
+            }
+            if (text == null || text.size != attrs.size() || text.stamp != stamp) {
+                text = new Sources.Text(
+                    Sources.decode(path, attrs.size(), charset), attrs.size(), stamp
+                );
+                this.keep(key, text);
+            }
+            return text.content;
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(
+                String.format("Failed to read %s", file), ex
+            );
+        }
+    }
+
+    /**
+     * Size of all texts kept.
+     * @return Bytes
+     */
+    synchronized long weight() {
+        return this.weight;
+    }
+
+    /**
+     * Keep the text, if it fits into the budget.
+     * @param key Path and charset
+     * @param text The text
+     */
+    private synchronized void keep(final String key, final Sources.Text text) {
+        final Sources.Text before = this.texts.remove(key);
+        if (before != null) {
+            this.weight -= before.weight();
+        }
+        if (text.weight() <= this.budget) {
+            this.texts.put(key, text);
+            this.weight += text.weight();
+            this.evict();
+        }
+    }
+
+    /**
+     * Drop the least recently used texts, until the rest fit into
+     * the budget.
+     */
+    private void evict() {
+        final Iterator<Sources.Text> iter = this.texts.values().iterator();
+        while (this.weight > this.budget && iter.hasNext()) {
+            this.weight -= iter.next().weight();
+            iter.remove();
+        }
+    }
+
+    /**
+     * Read and decode the file.
+     * @param path The file
+     * @param size Its size, in bytes
+     * @param charset Its encoding
+     * @return Text
+     * @throws IOException If fails
+     */
+    private static String decode(final Path path, final long size,
+        final Charset charset) throws IOException {
+        final String content;
+        if (size >= Sources.MAPPED) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                final ByteBuffer buffer = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0L, channel.size()
+                );
+                content = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(buffer)
+                    .toString();
+            }
+        } else {
+            content = new String(Files.readAllBytes(path), charset);
+        }
+        return content;
+    }
+
+    /**
+     * Decoded content of one file.
+     * @since 1.0
+     */
+    private static final class Text {
+
+        /**
+         * The content.
+         */
+        private final String content;
+
+        /**
+         * Size of the file, in bytes.
+         */
+        private final long size;
+
+        /**
+         * Time of modification of the file, in milliseconds.
+         */
+        private final long stamp;
+
+        /**
+         * Ctor.
+         * @param content The content
+         * @param size Size of the file, in bytes
+         * @param stamp Time of modification of the file, in milliseconds
+         */
+        Text(final String content, final long size, final long stamp) {
+            this.content = content;
+            this.size = size;
+            this.stamp = stamp;
+        }
+
+        /**
+         * Memory the content takes.
+         * @return Bytes
+         */
+        long weight() {
+            return 2L * this.content.length();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative time spent by every check and rule, and on every file.
+ *
+ * <p>Timing is turned on by the {@code timings} parameter, which is the
+ * path of the JSON file to save the report to. All validators of an
+ * environment with the same parameter add their times to the same
+ * instance, see {@link #of(Environment)}, even if they run on different
+ * threads, and {@link #report(int)} logs the slowest ones and saves all
+ * of them, the slowest first.</p>
+ *
+ * @since 1.0
+ */
+public final class Timings {
+
+    /**
+     * Timings in progress, by the path of the report.
+     */
+    private static final Map<String, Timings> ALL = new ConcurrentHashMap<>(0);
+
+    /**
+     * Path of the report, empty if timing is off.
+     */
+    private final String path;
+
+    /**
+     * Totals of checks and rules, by tool and name.
+     */
+    private final Map<String, Timings.Total> checks;
+
+    /**
+     * Totals of files, by name.
+     */
+    private final Map<String, Timings.Total> files;
+
+    /**
+     * Ctor.
+     * @param path Path of the report, empty if timing is off
+     */
+    Timings(final String path) {
+        this.path = path;
+        this.checks = new ConcurrentHashMap<>(0);
+        this.files = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Timings of the environment.
+     * @param env Environment
+     * @return Timings, which ignore everything if timing is off
+     */
+    public static Timings of(final Environment env) {
+        return Timings.ALL.computeIfAbsent(env.param("timings", ""), Timings::new);
+    }
+
+    /**
+     * Is timing on?
+     * @return TRUE if times have to be measured
+     */
+    public boolean enabled() {
+        return !this.path.isEmpty();
+    }
+
+    /**
+     * Add time spent by a check or a rule.
+     * @param tool Name of the tool, like {@code Checkstyle}
+     * @param name Name of the check or rule
+     * @param nanos Time spent, in nanoseconds
+     * @param calls How many times it was called
+     */
+    public void check(final String tool, final String name, final long nanos,
+        final long calls) {
+        if (this.enabled()) {
+            this.checks.computeIfAbsent(
+                String.format("%s %s", tool, name),
+                key -> new Timings.Total(tool, name)
+            ).add(nanos, calls);
+        }
+    }
+
+    /**
+     * Add time spent on a file.
+     * @param tool Name of the tool, like {@code PMD}
+     * @param name Name of the file, relative to the base directory
+     * @param nanos Time spent, in nanoseconds
+     */
+    public void file(final String tool, final String name, final long nanos) {
+        if (this.enabled()) {
+            this.files.computeIfAbsent(
+                String.format("%s %s", tool, name),
+                key -> new Timings.Total(tool, name)
+            ).add(nanos, 1L);
+        }
+    }
+
+    /**
+     * Log the slowest checks, rules and files, save all of them into
+     * the JSON file, and start over.
+     * @param top How many of the slowest ones to log
+     */
+    public void report(final int top) {
+        if (this.enabled()) {
+            final List<Timings.Total> slow = Timings.sorted(this.checks);
+            final List<Timings.Total> big = Timings.sorted(this.files);
+            Logger.info(this, "The slowest of %d checks and rules:", slow.size());
+            for (final Timings.Total total : slow.subList(0, Math.min(top, slow.size()))) {
+                Logger.info(
+                    this, "%8d ms %9d calls  %s: %s",
+                    total.millis(), total.calls.sum(), total.tool, total.name
+                );
+            }
+            Logger.info(this, "The slowest of %d files:", big.size());
+            for (final Timings.Total total : big.subList(0, Math.min(top, big.size()))) {
+                Logger.info(
+                    this, "%8d ms  %s: %s", total.millis(), total.tool, total.name
+                );
+            }
+            this.save(slow, big);
+            Logger.info(this, "Timings of all checks and files saved to %s", this.path);
+            Timings.ALL.remove(this.path, this);
+        }
+    }
+
+    /**
+     * Save the totals into the JSON file.
+     * @param slow Totals of checks and rules, the slowest first
+     * @param big Totals of files, the slowest first
+     */
+    private void save(final List<Timings.Total> slow, final List<Timings.Total> big) {
+        final File file = new File(this.path);
+        try {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+            try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                out.write("{\n  \"checks\": [");
+                Timings.write(out, slow, "name");
+                out.write("\n  ],\n  \"files\": [");
+                Timings.write(out, big, "file");
+                out.write("\n  ]\n}\n");
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(
+                String.format("Failed to save timings to %s", file), ex
+            );
+        }
+    }
+
+    /**
+     * Write the totals as JSON objects.
+     * @param out Where to write
+     * @param totals Totals to write
+     * @param key JSON key of the name
+     * @throws IOException If fails
+     */
+    private static void write(final Writer out, final List<Timings.Total> totals,
+        final String key) throws IOException {
+        String comma = "";
+        for (final Timings.Total total : totals) {
+            out.write(
+                String.format(
+                    Locale.ROOT,
+                    "%s%n    {\"tool\": %s, \"%s\": %s, \"millis\": %.3f, \"calls\": %d}",
+                    comma, Timings.quoted(total.tool), key, Timings.quoted(total.name),
+                    total.nanos.sum() / 1_000_000.0, total.calls.sum()
+                )
+            );
+            comma = ",";
+        }
+    }
+
+    /**
+     * Totals, the slowest first.
+     * @param totals Totals
+     * @return Sorted list
+     */
+    private static List<Timings.Total> sorted(final Map<String, Timings.Total> totals) {
+        final List<Timings.Total> list = new ArrayList<>(totals.values());
+        list.sort(
+            Comparator.comparingLong((Timings.Total total) -> total.nanos.sum())
+                .reversed()
+                .thenComparing(total -> total.name)
+        );
+        return list;
+    }
+
+    /**
+     * JSON string.
+     * @param text Text to quote
+     * @return Quoted and escaped text
+     */
+    private static String quoted(final String text) {
+        final StringBuilder out = new StringBuilder(text.length() + 2).append('"');
+        for (final char chr : text.toCharArray()) {
+            if (chr == '"' || chr == '\\') {
+                out.append('\\').append(chr);
+            } else if (chr < ' ') {
+                out.append(String.format("\\u%04x", (int) chr));
+            } else {
+                out.append(chr);
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    /**
+     * Total time of one check, rule or file.
+     * @since 1.0
+     */
+    private static final class Total {
+
+        /**
+         * Name of the tool.
+         */
+        private final String tool;
+
+        /**
+         * Name of the check, rule or file.
+         */
+        private final String name;
+
+        /**
+         * Time spent, in nanoseconds.
+         */
+        private final LongAdder nanos;
+
+        /**
+         * Number of calls.
+         */
+        private final LongAdder calls;
+
+        /**
+         * Ctor.
+         * @param tool Name of the tool
+         * @param name Name of the check, rule or file
+         */
+        Total(final String tool, final String name) {
+            this.tool = tool;
+            this.name = name;
+            this.nanos = new LongAdder();
+            this.calls = new LongAdder();
+        }
+
+        /**
+         * Add time.
+         * @param time Time spent, in nanoseconds
+         * @param count Number of calls
+         */
+        void add(final long time, final long count) {
+            this.nanos.add(time);
+            this.calls.add(count);
+        }
+
+        /**
+         * Time spent.
+         * @return Milliseconds
+         */
+        long millis() {
+            return TimeUnit.NANOSECONDS.toMillis(this.nanos.sum());
+        }
+    }
+}
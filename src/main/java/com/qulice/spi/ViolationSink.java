@@ -0,0 +1,125 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Receiver of violations, as soon as a validator finds them.
+ *
+ * <p>Validators may push into the same sink from many threads at
+ * once, so implementations must be thread-safe.</p>
+ *
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface ViolationSink {
+
+    /**
+     * Accept one violation.
+     * @param violation The violation found
+     */
+    void accept(Violation violation);
+
+    /**
+     * Tell that the violations of the file depend on more than its
+     * content and the configuration, for example on a compilation which
+     * failed, so that they must not be stored and replayed later.
+     * @param file The file
+     */
+    default void unsure(final File file) {
+        // nothing is stored by default
+    }
+
+    /**
+     * Sink that keeps all violations in memory.
+     * @since 1.0
+     */
+    final class Buffer implements ViolationSink {
+
+        /**
+         * Violations accepted so far.
+         */
+        private final Collection<Violation> all =
+            Collections.synchronizedList(new ArrayList<>(0));
+
+        /**
+         * Files whose violations must not be stored.
+         */
+        private final Set<File> doubtful = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void accept(final Violation violation) {
+            this.all.add(violation);
+        }
+
+        @Override
+        public void unsure(final File file) {
+            this.doubtful.add(file.getAbsoluteFile());
+        }
+
+        /**
+         * Files whose violations must not be stored.
+         * @return Absolute files
+         */
+        public Set<File> unsure() {
+            return Collections.unmodifiableSet(this.doubtful);
+        }
+
+        /**
+         * Violations accepted so far.
+         * @return All violations
+         */
+        public Collection<Violation> violations() {
+            synchronized (this.all) {
+                return new ArrayList<>(this.all);
+            }
+        }
+    }
+
+    /**
+     * Sink that pushes everything into two sinks.
+     * @since 1.0
+     */
+    final class Tee implements ViolationSink {
+
+        /**
+         * The first sink.
+         */
+        private final ViolationSink first;
+
+        /**
+         * The second sink.
+         */
+        private final ViolationSink second;
+
+        /**
+         * Ctor.
+         * @param first The first sink
+         * @param second The second sink
+         */
+        public Tee(final ViolationSink first, final ViolationSink second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void accept(final Violation violation) {
+            this.first.accept(violation);
+            this.second.accept(violation);
+        }
+
+        @Override
+        public void unsure(final File file) {
+            this.first.unsure(file);
+            this.second.unsure(file);
+        }
+    }
+}
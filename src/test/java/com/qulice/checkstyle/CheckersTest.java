@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.qulice.spi.Environment;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Checkers}.
+ * @since 1.0
+ */
+final class CheckersTest {
+
+    @Test
+    void configuresCheckersWithoutCacheFile(@TempDir final Path dir) throws Exception {
+        final File cache = dir.resolve("checkstyle.cache").toFile();
+        final DefaultConfiguration config = new DefaultConfiguration("Checker");
+        config.addProperty("cacheFile", cache.getPath());
+        final Checkers.Pooled pooled = new Checkers().borrow(
+            Collections.emptySet(), () -> config
+        );
+        pooled.checker().process(Collections.emptyList());
+        pooled.checker().destroy();
+        MatcherAssert.assertThat(
+            "Pooled checkers must not write one cache file concurrently",
+            cache.exists(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void keepsPoolBoundedWhenDirectoryIsValidatedAgain() throws Exception {
+        final Environment env = new Environment.Mock()
+            .withFile("src/main/java/foo/Foo.java", "package foo;\nclass Foo {}");
+        final Collection<File> files = env.files("Foo.java");
+        final Checkers checkers = new Checkers(false, false, 2);
+        final CheckstyleValidator validator = new CheckstyleValidator(env, checkers);
+        for (int round = 0; round < 5; ++round) {
+            validator.validate(files);
+        }
+        MatcherAssert.assertThat(
+            "Checkers which saw the directory must not pile up in the pool",
+            checkers.size(),
+            Matchers.lessThanOrEqualTo(1)
+        );
+    }
+}
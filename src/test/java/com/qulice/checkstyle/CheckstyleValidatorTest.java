@@ -6,10 +6,15 @@ package com.qulice.checkstyle;
 
 import com.google.common.base.Joiner;
 import com.qulice.spi.Environment;
+import com.qulice.spi.Timings;
 import com.qulice.spi.Violation;
+import com.qulice.spi.ViolationSink;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.stream.Collectors;
 import org.cactoos.io.ResourceOf;
 import org.cactoos.text.FormattedText;
 import org.cactoos.text.IoCheckedText;
@@ -19,6 +24,7 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Test case for general {@link CheckstyleValidator} behavior that
@@ -148,6 +154,199 @@ final class CheckstyleValidatorTest {
         );
     }
 
+    @Test
+    void findsSameViolationsInConcurrentPartitions() throws Exception {
+        final Environment.Mock mock = new Environment.Mock();
+        Environment.Mock env = mock;
+        for (final String pkg : new String[] {"foo", "bar", "baz"}) {
+            env = env.withFile(
+                String.format("src/main/java/%s/Foo.java", pkg),
+                String.format("package %s;%nimport java.util.*;", pkg)
+            );
+        }
+        final Collection<Violation> sequential =
+            new CheckstyleValidator(env).validate(env.files("Foo.java"));
+        final CheckstyleValidator validator =
+            new CheckstyleValidator(env.withParam("checkstyle.threads", "3"));
+        validator.validate(env.files("Foo.java"));
+        MatcherAssert.assertThat(
+            "Pooled checkers must report the same violations as one checker",
+            validator.validate(env.files("Foo.java")),
+            Matchers.hasSize(sequential.size())
+        );
+    }
+
+    @Test
+    void findsViolationsOfEveryModuleWithSharedCheckers() throws Exception {
+        final String file = "src/main/java/foo/Foo.java";
+        final String content = "package foo;\nimport java.util.*;";
+        final Environment first = new Environment.Mock().withFile(file, content);
+        final Environment second = new Environment.Mock().withFile(file, content);
+        final Checkers checkers = new Checkers();
+        final Collection<Violation> before =
+            new CheckstyleValidator(first, checkers).validate(first.files("Foo.java"));
+        MatcherAssert.assertThat(
+            "Checkers shared with another module must report the same violations",
+            new CheckstyleValidator(second, checkers).validate(second.files("Foo.java")),
+            Matchers.hasSize(before.size())
+        );
+    }
+
+    @Test
+    void keepsFilesOfModuleOutOfSharedCheckers() throws Exception {
+        final String file = "src/main/java/foo/Foo.java";
+        final String content = "package foo;\nclass Foo {}";
+        final Environment first = new Environment.Mock().withFile(file, content);
+        final Environment second = new Environment.Mock().withFile(file, content);
+        final Checkers checkers = new Checkers();
+        new CheckstyleValidator(first, checkers).validate(first.files("Foo.java"));
+        new CheckstyleValidator(second, checkers).validate(second.files("Foo.java"));
+        MatcherAssert.assertThat(
+            "Every module must keep its files in a cache of its own",
+            new TextOf(new File(second.tempdir(), "checkstyle/checkstyle.cache"))
+                .asString(),
+            Matchers.not(Matchers.containsString(first.basedir().getPath()))
+        );
+    }
+
+    @Test
+    void reportsViolationsOfUnchangedFileAgain() throws Exception {
+        final Environment env = new Environment.Mock()
+            .withFile("src/main/java/foo/Foo.java", "package foo;\nclass Foo {}");
+        final Collection<File> files = env.files("Foo.java");
+        final Collection<Violation> first = new CheckstyleValidator(env).validate(files);
+        MatcherAssert.assertThat(
+            "File with violations must not be skipped as a clean one",
+            new CheckstyleValidator(env).validate(files),
+            Matchers.hasSize(first.size())
+        );
+    }
+
+    @Test
+    void dropsCheckerInterruptedInTheMiddle() throws Exception {
+        final Environment env = new Environment.Mock()
+            .withFile("src/main/java/foo/Foo.java", "package foo;\nclass Foo {}");
+        final Collection<File> files = env.files("Foo.java");
+        final Checkers checkers = new Checkers();
+        Thread.currentThread().interrupt();
+        try {
+            Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> new CheckstyleValidator(env, checkers).validate(files)
+            );
+        } finally {
+            Thread.interrupted();
+        }
+        MatcherAssert.assertThat(
+            "Checker which failed must not return into the pool",
+            checkers.size(),
+            Matchers.is(0)
+        );
+    }
+
+    @Test
+    void findsSameViolationsWhileTimingEveryCheck(@TempDir final Path dir)
+        throws Exception {
+        final String file = "src/main/java/foo/Foo.java";
+        final String content = "package foo;\nimport java.util.*;\nclass Foo { int x = 0; }";
+        final Environment plain = new Environment.Mock().withFile(file, content);
+        final Environment timed = new Environment.Mock()
+            .withParam("timings", dir.resolve("timings.json").toString())
+            .withFile(file, content);
+        MatcherAssert.assertThat(
+            "Checks in walkers of their own must report the same violations",
+            new CheckstyleValidator(timed).validate(timed.files("Foo.java")),
+            Matchers.hasSize(
+                new CheckstyleValidator(plain).validate(plain.files("Foo.java")).size()
+            )
+        );
+    }
+
+    @Test
+    void savesTimeOfEveryCheck(@TempDir final Path dir) throws Exception {
+        final Path json = dir.resolve("timings.json");
+        final Environment env = new Environment.Mock()
+            .withParam("timings", json.toString())
+            .withFile("src/main/java/foo/Foo.java", "package foo;\nclass Foo {}");
+        new CheckstyleValidator(env).validate(env.files("Foo.java"));
+        Timings.of(env).report(3);
+        MatcherAssert.assertThat(
+            "Time of custom checks must be saved",
+            Files.readString(json),
+            Matchers.allOf(
+                Matchers.containsString("\"com.qulice.checkstyle.EmptyLinesCheck\""),
+                Matchers.containsString("\"/src/main/java/foo/Foo.java\"")
+            )
+        );
+    }
+
+    @Test
+    void checksLargeFilesWithLinearChecksOnly() throws Exception {
+        final Environment env = new Environment.Mock()
+            .withParam("large.lines", "2")
+            .withFile(
+                "src/main/java/foo/Foo.java",
+                "package foo;\nimport java.util.*;\nclass Foo { int x = 0; }"
+            );
+        MatcherAssert.assertThat(
+            "Only the checks of lines must be applied to a large file",
+            CheckstyleValidatorTest.names(
+                new CheckstyleValidator(env).validate(env.files("Foo.java"))
+            ),
+            Matchers.allOf(
+                Matchers.hasItem("NewlineAtEndOfFileCheck"),
+                Matchers.not(Matchers.hasItem("AvoidStarImportCheck"))
+            )
+        );
+    }
+
+    @Test
+    void reportsFileWhichTakesLongerThanBudget() throws Exception {
+        final StringBuilder content = new StringBuilder("package foo;\nclass Foo {\n");
+        for (int idx = 0; idx < 3000; ++idx) {
+            content.append(String.format("    int field%d = %d;%n", idx, idx));
+        }
+        content.append("}\n");
+        final Environment env = new Environment.Mock()
+            .withParam("file.timeout", "1")
+            .withFile("src/main/java/foo/Foo.java", content.toString());
+        MatcherAssert.assertThat(
+            "The file must be reported when its checks take too long",
+            CheckstyleValidatorTest.names(
+                new CheckstyleValidator(env).validate(env.files("Foo.java"))
+            ),
+            Matchers.hasItem("BudgetCheck")
+        );
+    }
+
+    @Test
+    void tellsSinkFileWhichTakesLongerThanBudgetIsUnsure() throws Exception {
+        final StringBuilder content = new StringBuilder("package foo;\nclass Foo {\n");
+        for (int idx = 0; idx < 3000; ++idx) {
+            content.append(String.format("    int field%d = %d;%n", idx, idx));
+        }
+        content.append("}\n");
+        final Environment env = new Environment.Mock()
+            .withParam("file.timeout", "1")
+            .withFile("src/main/java/foo/Foo.java", content.toString());
+        final ViolationSink.Buffer buffer = new ViolationSink.Buffer();
+        new CheckstyleValidator(env).validate(env.files("Foo.java"), buffer);
+        MatcherAssert.assertThat(
+            "Results of a file checked out of time must not be stored",
+            buffer.unsure(),
+            Matchers.hasSize(1)
+        );
+    }
+
+    /**
+     * Names of violations.
+     * @param violations Violations
+     * @return Names
+     */
+    private static Collection<String> names(final Collection<Violation> violations) {
+        return violations.stream().map(Violation::name).collect(Collectors.toList());
+    }
+
     private Collection<Violation> runValidation(final String file,
         final boolean passes) throws IOException {
         final Environment.Mock mock = new Environment.Mock();
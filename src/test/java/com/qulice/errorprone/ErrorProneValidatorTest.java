@@ -6,8 +6,10 @@ package com.qulice.errorprone;
 
 import com.qulice.spi.Environment;
 import com.qulice.spi.Violation;
+import com.qulice.spi.ViolationSink;
 import java.io.File;
 import java.util.Collections;
+import javax.tools.ToolProvider;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -83,4 +85,93 @@ final class ErrorProneValidatorTest {
             Matchers.<Violation>empty()
         );
     }
+
+    @Test
+    void reportsSameViolationsInProcess() throws Exception {
+        final String file = "src/main/java/Bad.java";
+        final Environment.Mock env = new Environment.Mock().withFile(
+            file,
+            "class Bad { private int value; void set(int v) { this.value = this.value; } }"
+        );
+        final java.util.Collection<Violation> forked =
+            new ErrorProneValidator(env).validate(
+                Collections.singletonList(new File(env.basedir(), file))
+            );
+        MatcherAssert.assertThat(
+            "In-process javac must report the same violations as forked one",
+            new ErrorProneValidator(env.withParam("errorprone.fork", "false")).validate(
+                Collections.singletonList(new File(env.basedir(), file))
+            ),
+            Matchers.hasToString(forked.toString())
+        );
+    }
+
+    @Test
+    void mergesViolationsOfConcurrentBatches() throws Exception {
+        Environment.Mock env = new Environment.Mock();
+        final java.util.List<File> files = new java.util.ArrayList<>(2);
+        for (final String pkg : new String[] {"foo", "bar"}) {
+            final String file = String.format("src/main/java/%s/Bad.java", pkg);
+            env = env.withFile(
+                file,
+                String.format(
+                    "package %s; class Bad { private int value; void set(int v) { this.value = this.value; } }",
+                    pkg
+                )
+            );
+            files.add(new File(env.basedir(), file));
+        }
+        MatcherAssert.assertThat(
+            "Violations of all batches must be reported",
+            new ErrorProneValidator(env.withParam("errorprone.batches", "2"))
+                .validate(files),
+            Matchers.hasSize(
+                new ErrorProneValidator(env).validate(files).size()
+            )
+        );
+    }
+
+    @Test
+    void findsTestClassesOfModuleInPartialCompile() throws Exception {
+        final String helper = "src/test/java/foo/Helper.java";
+        final String file = "src/test/java/foo/HelperTest.java";
+        final Environment.Mock env = new Environment.Mock()
+            .withFile(helper, "package foo; final class Helper { static int one() { return 1; } }")
+            .withFile(
+                file,
+                String.join(
+                    " ",
+                    "package foo; final class HelperTest { private int value;",
+                    "void set() { this.value = Helper.one(); this.value = this.value; } }"
+                )
+            );
+        final File tests = new File(env.basedir(), "target/test-classes");
+        ToolProvider.getSystemJavaCompiler().run(
+            null, null, null, "-d", tests.getPath(), new File(env.basedir(), helper).getPath()
+        );
+        MatcherAssert.assertThat(
+            "ErrorProne must check a test which uses helpers compiled before",
+            new ErrorProneValidator(
+                env.withParam("partial", "true").withParam("test.outdir", tests.getPath())
+            ).validate(Collections.singletonList(new File(env.basedir(), file))),
+            Matchers.not(Matchers.<Violation>empty())
+        );
+    }
+
+    @Test
+    void reportsSourcesWhichFailToCompileAsUnsure() throws Exception {
+        final String file = "src/main/java/foo/Broken.java";
+        final Environment env = new Environment.Mock().withFile(
+            file, "package foo; final class Broken { Missing value; }"
+        );
+        final ViolationSink.Buffer buffer = new ViolationSink.Buffer();
+        new ErrorProneValidator(env).validate(
+            Collections.singletonList(new File(env.basedir(), file)), buffer
+        );
+        MatcherAssert.assertThat(
+            "Results of a file ErrorProne didn't check must not be stored",
+            buffer.unsure(),
+            Matchers.contains(new File(env.basedir(), file).getAbsoluteFile())
+        );
+    }
 }
@@ -10,6 +10,7 @@ import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -19,8 +20,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * <p>Used by tests that exercise the timeout/interruption behaviour of
  * {@code CheckMojo}: tests use {@link #await()} to wait until validation
- * has actually entered the validator before driving the timeout, and
- * {@link #count()} to confirm the validator was invoked exactly once.</p>
+ * has actually entered the validator before driving the timeout,
+ * {@link #count()} to confirm the validator was invoked exactly once, and
+ * {@link #stopped(long)} to confirm it was interrupted.</p>
  *
  * @since 0.27.0
  */
@@ -36,9 +38,15 @@ final class BlockedValidator implements ResourceValidator {
      */
     private final CountDownLatch latch;
 
+    /**
+     * Latch to signal when validation is interrupted.
+     */
+    private final CountDownLatch done;
+
     BlockedValidator() {
         this.cnt = new AtomicInteger(0);
         this.latch = new CountDownLatch(1);
+        this.done = new CountDownLatch(1);
     }
 
     @Override
@@ -48,6 +56,7 @@ final class BlockedValidator implements ResourceValidator {
         try {
             Thread.sleep(Long.MAX_VALUE);
         } catch (final InterruptedException ex) {
+            this.done.countDown();
             Thread.currentThread().interrupt();
         }
         return Collections.emptyList();
@@ -69,4 +78,14 @@ final class BlockedValidator implements ResourceValidator {
             Thread.currentThread().interrupt();
         }
     }
+
+    boolean stopped(final long seconds) {
+        boolean stopped = false;
+        try {
+            stopped = this.done.await(seconds, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return stopped;
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Changes}.
+ * @since 1.0
+ */
+final class ChangesTest {
+
+    @Test
+    void listsStagedFiles(@TempDir final Path dir) throws Exception {
+        ChangesTest.repo(dir);
+        Files.writeString(dir.resolve("src/Kept.java"), "class Kept { }");
+        Files.writeString(dir.resolve("src/Added.java"), "class Added {}");
+        ChangesTest.git(dir, "add", "src/Added.java");
+        Files.writeString(dir.resolve("src/Loose.java"), "class Loose {}");
+        MatcherAssert.assertThat(
+            "Only the staged files must be listed",
+            new Changes(dir.resolve("src").toFile(), "").files(),
+            Matchers.contains(Changes.canonical(dir.resolve("src/Added.java").toFile()))
+        );
+    }
+
+    @Test
+    void listsFilesChangedSinceReference(@TempDir final Path dir) throws Exception {
+        ChangesTest.repo(dir);
+        Files.writeString(dir.resolve("src/Kept.java"), "class Kept { }");
+        Files.writeString(dir.resolve("src/Loose.java"), "class Loose {}");
+        Files.delete(dir.resolve("src/Gone.java"));
+        MatcherAssert.assertThat(
+            "Modified and untracked files must be listed, deleted must not",
+            new Changes(dir.toFile(), "HEAD").files(),
+            Matchers.containsInAnyOrder(
+                Changes.canonical(dir.resolve("src/Kept.java").toFile()),
+                Changes.canonical(dir.resolve("src/Loose.java").toFile())
+            )
+        );
+    }
+
+    @Test
+    void failsOutsideOfRepository(@TempDir final Path dir) {
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new Changes(dir.toFile(), "HEAD").files(),
+            "A directory out of Git must not be treated as unchanged"
+        );
+    }
+
+    /**
+     * Make a repository with two committed files.
+     * @param dir Directory of the repository
+     * @throws Exception If fails
+     */
+    private static void repo(final Path dir) throws Exception {
+        Files.createDirectories(dir.resolve("src"));
+        Files.writeString(dir.resolve("src/Kept.java"), "class Kept {}");
+        Files.writeString(dir.resolve("src/Gone.java"), "class Gone {}");
+        ChangesTest.git(dir, "init", "--quiet");
+        ChangesTest.git(dir, "add", ".");
+        ChangesTest.git(
+            dir, "-c", "user.name=test", "-c", "user.email=test@example.com",
+            "commit", "--quiet", "-m", "first"
+        );
+    }
+
+    /**
+     * Run Git.
+     * @param dir Working directory
+     * @param args Arguments
+     * @throws Exception If fails
+     */
+    private static void git(final Path dir, final String... args) throws Exception {
+        final List<String> command = new ArrayList<>(args.length + 1);
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        final Process process = new ProcessBuilder(command)
+            .directory(dir.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        MatcherAssert.assertThat(
+            String.format("%s must succeed", command),
+            process.waitFor(),
+            Matchers.equalTo(0)
+        );
+    }
+}
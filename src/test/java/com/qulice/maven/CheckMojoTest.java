@@ -4,14 +4,26 @@
  */
 package com.qulice.maven;
 
+import com.qulice.checkstyle.CheckstyleValidator;
+import com.qulice.errorprone.ErrorProneValidator;
+import com.qulice.pmd.PmdValidator;
+import com.qulice.spi.Environment;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.TimeoutException;
+import javax.tools.ToolProvider;
 import org.apache.maven.monitor.logging.DefaultLog;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.context.DefaultContext;
 import org.codehaus.plexus.logging.Logger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Test case for {@link CheckMojo} class.
@@ -90,6 +102,26 @@ final class CheckMojoTest {
         );
     }
 
+    @Test
+    void interruptsValidatorsOnTimeout() {
+        final CheckMojo mojo = new CheckMojo();
+        mojo.setTimeout("1s");
+        final BlockedValidator blocked = new BlockedValidator();
+        mojo.setValidatorsProvider(
+            new ValidatorsProviderMocker()
+                .withExternalResource(blocked)
+                .mock()
+        );
+        mojo.setProject(new MavenProject());
+        mojo.setLog(new DefaultLog(new FakeLogger()));
+        Assertions.assertThrows(IllegalStateException.class, mojo::execute);
+        MatcherAssert.assertThat(
+            "Validator should be interrupted after the deadline",
+            blocked.stopped(10L),
+            Matchers.is(true)
+        );
+    }
+
     /**
      * CheckMojo can validate a project using all provided validators.
      * @throws Exception If something wrong happens inside
@@ -119,4 +151,190 @@ final class CheckMojoTest {
             () -> Assertions.assertEquals(1, rexternal.count())
         );
     }
+
+    /**
+     * CheckMojo can split files of a validator into shards.
+     * @throws Exception If something wrong happens inside
+     */
+    @Test
+    void validatesShardsIndependently() throws Exception {
+        final CheckMojo mojo = new CheckMojo();
+        final FakeResourceValidator validator = new FakeResourceValidator(
+            "sharded"
+        );
+        mojo.setValidatorsProvider(
+            new ValidatorsProviderMocker()
+                .withExternalResource(validator)
+                .mock()
+        );
+        mojo.setShards(3);
+        mojo.setProject(new MavenProject());
+        mojo.setLog(new DefaultLog(new FakeLogger()));
+        mojo.contextualize(new DefaultContext());
+        mojo.execute();
+        Assertions.assertEquals(3, validator.count());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void findsTestHelpersOfOtherShardsInErrorProne(@TempDir final Path dir) throws Exception {
+        final MavenProject project = new MavenProject();
+        project.setFile(dir.resolve("pom.xml").toFile());
+        project.getBuild().setDirectory(dir.resolve("target").toString());
+        project.getBuild().setOutputDirectory(dir.resolve("target/classes").toString());
+        project.getBuild().setTestOutputDirectory(dir.resolve("target/test-classes").toString());
+        project.setDependencyArtifacts(Collections.emptySet());
+        Files.createDirectories(dir.resolve("target/classes"));
+        Files.createDirectories(dir.resolve("src/test/java/foo"));
+        Files.createDirectories(dir.resolve("src/test/java/bar"));
+        Files.writeString(
+            dir.resolve("src/test/java/foo/Helper.java"),
+            "package foo; public final class Helper { public static int one() { return 1; } }"
+        );
+        Files.writeString(
+            dir.resolve("src/test/java/bar/HelperTest.java"),
+            String.join(
+                " ",
+                "package bar; final class HelperTest { private int value;",
+                "void set() { this.value = foo.Helper.one(); this.value = this.value; } }"
+            )
+        );
+        ToolProvider.getSystemJavaCompiler().run(
+            null, null, null, "-d", dir.resolve("target/test-classes").toString(),
+            dir.resolve("src/test/java/foo/Helper.java").toString()
+        );
+        final CheckMojo mojo = new CheckMojo();
+        mojo.setValidatorsProvider(
+            new ValidatorsProviderMocker()
+                .withExternalResource(new ErrorProneValidator(mojo.env()))
+                .mock()
+        );
+        mojo.setShards(2);
+        mojo.setProject(project);
+        mojo.setLog(new DefaultLog(new FakeLogger()));
+        mojo.contextualize(new DefaultContext());
+        MatcherAssert.assertThat(
+            "ErrorProne must check a test which uses a helper of another shard",
+            Assertions.assertThrows(MojoFailureException.class, mojo::execute)
+                .getCause().getMessage(),
+            Matchers.containsString("1 violations")
+        );
+    }
+
+    /**
+     * CheckMojo can cancel the rest of validators after the first violation.
+     * @throws Exception If something wrong happens inside
+     */
+    @Test
+    void splitsCoresBetweenValidatorsWithThreads() {
+        final Environment env = new Environment.Mock();
+        MatcherAssert.assertThat(
+            "PMD and Checkstyle together must not take more cores than left",
+            CheckMojo.share(
+                16, 2,
+                Arrays.asList(
+                    new PmdValidator(env), new CheckstyleValidator(env),
+                    new FakeResourceValidator("other")
+                )
+            ),
+            Matchers.is(3)
+        );
+    }
+
+    @Test
+    void givesCheckstyleCoresLeftByPmd() {
+        final Environment env = new Environment.Mock();
+        MatcherAssert.assertThat(
+            "Checkstyle must take only the cores PMD threads left",
+            CheckMojo.rest(
+                16, 2,
+                Arrays.asList(
+                    new PmdValidator(env), new CheckstyleValidator(env),
+                    new FakeResourceValidator("other")
+                ),
+                5
+            ),
+            Matchers.is(2)
+        );
+    }
+
+    @Test
+    void cancelsRemainingValidatorsOnFailFast() throws Exception {
+        final CheckMojo mojo = new CheckMojo();
+        final BlockedValidator blocked = new BlockedValidator();
+        final FakeMavenValidator internal = new FakeMavenValidator();
+        mojo.setValidatorsProvider(
+            new ValidatorsProviderMocker()
+                .withExternalResource(blocked)
+                .withExternalResource(new ViolatingValidator())
+                .withInternal(internal)
+                .mock()
+        );
+        mojo.setTimeout("forever");
+        mojo.setFailFast(1);
+        mojo.setProject(new MavenProject());
+        mojo.setLog(new DefaultLog(new FakeLogger()));
+        mojo.contextualize(new DefaultContext());
+        Assertions.assertThrows(MojoFailureException.class, mojo::execute);
+        Assertions.assertEquals(0, internal.count());
+    }
+
+    @Test
+    void validatesAllFilesAgainWhileTiming(@TempDir final Path dir) throws Exception {
+        final FakeResourceValidator validator = new FakeResourceValidator("fake");
+        final MavenProject project = new MavenProject();
+        project.setFile(dir.resolve("pom.xml").toFile());
+        project.getBuild().setDirectory(dir.resolve("target").toString());
+        Files.createDirectories(dir.resolve("src"));
+        Files.writeString(dir.resolve("src/Foo.java"), "class Foo {}");
+        for (int run = 0; run < 2; ++run) {
+            final CheckMojo mojo = new CheckMojo();
+            mojo.setValidatorsProvider(
+                new ValidatorsProviderMocker()
+                    .withExternalResource(validator)
+                    .mock()
+            );
+            mojo.setProject(project);
+            mojo.setIncremental(true);
+            mojo.setTimings(1);
+            mojo.setLog(new DefaultLog(new FakeLogger()));
+            mojo.contextualize(new DefaultContext());
+            mojo.execute();
+        }
+        MatcherAssert.assertThat(
+            "Stored results must not be used while timing",
+            validator.count(),
+            Matchers.is(2)
+        );
+    }
+
+    /**
+     * CheckMojo can write reports of violations found.
+     * @param dir Temporary directory
+     * @throws Exception If something wrong happens inside
+     */
+    @Test
+    void writesReportsOfViolations(@TempDir final Path dir) throws Exception {
+        final CheckMojo mojo = new CheckMojo();
+        mojo.setValidatorsProvider(
+            new ValidatorsProviderMocker()
+                .withExternalResource(new ViolatingValidator())
+                .mock()
+        );
+        final MavenProject project = new MavenProject();
+        project.setFile(dir.resolve("pom.xml").toFile());
+        project.getBuild().setDirectory(dir.resolve("target").toString());
+        Files.createDirectories(dir.resolve("src"));
+        Files.writeString(dir.resolve("src/Foo.java"), "class Foo {}");
+        mojo.setProject(project);
+        mojo.setReports("sarif, checkstyle");
+        mojo.setLog(new DefaultLog(new FakeLogger()));
+        mojo.contextualize(new DefaultContext());
+        Assertions.assertThrows(MojoFailureException.class, mojo::execute);
+        MatcherAssert.assertThat(
+            "Both reports must be written",
+            dir.resolve("target/qulice").toFile().list(),
+            Matchers.arrayContainingInAnyOrder("qulice.sarif", "checkstyle-result.xml")
+        );
+    }
 }
@@ -313,6 +313,117 @@ final class DependenciesValidatorTest {
         );
     }
 
+    /**
+     * Imports must be found after the license header and comments.
+     * @param dir Temporary directory
+     * @throws Exception If something wrong happens inside
+     */
+    @Test
+    void findsImportsAfterHeaderComments(@TempDir final Path dir)
+        throws Exception {
+        final Path src = DependenciesValidatorTest.sourceRoot(dir);
+        DependenciesValidatorTest.writeJava(
+            src, "com/example/Licensed.java",
+            String.join(
+                String.valueOf('\n'),
+                "/*",
+                " * Licensed under MIT",
+                " */",
+                "package com.example;",
+                "",
+                "// the marker of sources",
+                "import com.head.Marker;",
+                "/* no more imports */",
+                "@Marker",
+                "public class Licensed {}",
+                ""
+            )
+        );
+        Assertions.assertDoesNotThrow(
+            () -> new DependenciesValidator().validate(
+                DependenciesValidatorTest.envWithUnused(
+                    src,
+                    DependenciesValidatorTest.jar(
+                        dir, "head.jar", "com/head/Marker.class"
+                    ),
+                    "com.head:head"
+                )
+            )
+        );
+    }
+
+    /**
+     * DependenciesValidator finds imports in a file which starts with
+     * a byte order mark.
+     * @param dir Temporary directory
+     * @throws Exception If something wrong happens inside
+     */
+    @Test
+    void findsImportsAfterByteOrderMark(@TempDir final Path dir)
+        throws Exception {
+        final Path src = DependenciesValidatorTest.sourceRoot(dir);
+        DependenciesValidatorTest.writeJava(
+            src, "com/example/Marked.java",
+            String.join(
+                String.valueOf('\n'),
+                "\uFEFFpackage com.example;",
+                "import com.bom.Marker;",
+                "@Marker",
+                "public class Marked {}",
+                ""
+            )
+        );
+        Assertions.assertDoesNotThrow(
+            () -> new DependenciesValidator().validate(
+                DependenciesValidatorTest.envWithUnused(
+                    src,
+                    DependenciesValidatorTest.jar(
+                        dir, "bom.jar", "com/bom/Marker.class"
+                    ),
+                    "com.bom:bom"
+                )
+            )
+        );
+    }
+
+    /**
+     * Lines which look like imports after the first type declaration,
+     * for example inside text blocks, must not count as imports.
+     * @param dir Temporary directory
+     * @throws Exception If something wrong happens inside
+     */
+    @Test
+    void ignoresImportsAfterTypeDeclaration(@TempDir final Path dir)
+        throws Exception {
+        final Path src = DependenciesValidatorTest.sourceRoot(dir);
+        DependenciesValidatorTest.writeJava(
+            src, "com/example/Late.java",
+            String.join(
+                String.valueOf('\n'),
+                "package com.example;",
+                "public class Late {",
+                "    String text = \"\"\"",
+                "import com.late.Thing;",
+                "\"\"\";",
+                "}",
+                ""
+            )
+        );
+        Assertions.assertThrows(
+            ValidationException.class,
+            () -> new DependenciesValidator().validate(
+                DependenciesValidatorTest.envWithUnused(
+                    src,
+                    DependenciesValidatorTest.jar(
+                        dir, "late.jar", "com/late/Thing.class"
+                    ),
+                    "com.late:late"
+                )
+            ),
+            "an import-like line inside of a class must not make a dependency used"
+        );
+    }
+
     /**
      * Build a MavenEnvironment wired with a given dependency analysis.
      * @param analysis Dependency analysis to inject
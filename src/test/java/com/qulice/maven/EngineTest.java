@@ -0,0 +1,33 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.qulice.spi.Scheduler;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Engine}.
+ * @since 1.0
+ */
+final class EngineTest {
+
+    @Test
+    void keepsCapOfFirstModuleForSession() {
+        final Engine engine = new Engine();
+        try {
+            engine.limit(1);
+            engine.limit(Runtime.getRuntime().availableProcessors() + 1);
+            MatcherAssert.assertThat(
+                "Other modules of the session must not change the cap",
+                Scheduler.shared().size(),
+                Matchers.equalTo(1)
+            );
+        } finally {
+            Scheduler.shared().limit(0);
+        }
+    }
+}
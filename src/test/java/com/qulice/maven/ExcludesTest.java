@@ -0,0 +1,55 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import java.util.Arrays;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test case for {@link Excludes}.
+ * @since 1.0
+ */
+final class ExcludesTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "src/main/java/Foo.java, true",
+        "src/main/java/Foo.javax, false",
+        "src/test/java/a/b/Bar.java, true",
+        "src\\test\\java\\Bar.java, true",
+        "src/it/Baz.java, true",
+        "src/it/Baz.txt, false",
+        "src/site/Abc.md, false",
+        "gen/Xyz.md, true",
+        "gen/xyz.md, false",
+        "PIPE, true",
+        "pipe, true",
+        "abab, true",
+        "abba, false"
+    })
+    void matchesLikeRegularExpressions(final String path, final boolean excluded) {
+        final String[] exprs = {
+            "src/main/java/Foo.java",
+            "src/test/.*",
+            ".*/it/.*\\.java",
+            "gen/[A-Z].*",
+            "(?i)pipe",
+            "(ab)\\1",
+        };
+        MatcherAssert.assertThat(
+            "decision must be the same as of String.matches()",
+            new Excludes(Arrays.asList(exprs)).excluded(path),
+            Matchers.is(excluded)
+        );
+        MatcherAssert.assertThat(
+            "test expectation must agree with String.matches()",
+            Arrays.stream(exprs).anyMatch(path.replace('\\', '/')::matches),
+            Matchers.is(excluded)
+        );
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.ExtensionRealmCache;
+import org.apache.maven.plugin.MavenPluginManager;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.descriptor.DuplicateMojoDescriptorException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * A test fake {@link MavenPluginManager} with one plugin of one goal,
+ * which counts how many times the plugin is resolved and its realm is
+ * set up, and gives mojos which do nothing.
+ *
+ * @since 1.0
+ */
+final class FakePluginManager implements MavenPluginManager {
+
+    /**
+     * How many times the plugin was resolved.
+     */
+    private final AtomicInteger resolved;
+
+    /**
+     * How many times the realm was set up.
+     */
+    private final AtomicInteger realms;
+
+    /**
+     * Ctor.
+     */
+    FakePluginManager() {
+        this.resolved = new AtomicInteger();
+        this.realms = new AtomicInteger();
+    }
+
+    /**
+     * How many times the plugin was resolved.
+     * @return Number of times
+     */
+    int resolutions() {
+        return this.resolved.get();
+    }
+
+    /**
+     * How many times the realm was set up.
+     * @return Number of times
+     */
+    int setups() {
+        return this.realms.get();
+    }
+
+    @Override
+    public PluginDescriptor getPluginDescriptor(final Plugin plugin,
+        final List<RemoteRepository> repos, final RepositorySystemSession session) {
+        this.resolved.incrementAndGet();
+        final PluginDescriptor descriptor = new PluginDescriptor();
+        descriptor.setGroupId(plugin.getGroupId());
+        descriptor.setArtifactId(plugin.getArtifactId());
+        descriptor.setVersion(plugin.getVersion());
+        final MojoDescriptor mojo = new MojoDescriptor();
+        mojo.setGoal("check");
+        mojo.setPluginDescriptor(descriptor);
+        try {
+            descriptor.addMojo(mojo);
+        } catch (final DuplicateMojoDescriptorException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return descriptor;
+    }
+
+    @Override
+    public MojoDescriptor getMojoDescriptor(final Plugin plugin, final String goal,
+        final List<RemoteRepository> repos, final RepositorySystemSession session) {
+        throw new UnsupportedOperationException("#getMojoDescriptor()");
+    }
+
+    @Override
+    public void setupPluginRealm(final PluginDescriptor descriptor,
+        final MavenSession session, final ClassLoader parent,
+        final List<String> imports, final DependencyFilter filter) {
+        this.realms.incrementAndGet();
+    }
+
+    @Override
+    public ExtensionRealmCache.CacheRecord setupExtensionsRealm(
+        final MavenProject project, final Plugin plugin,
+        final RepositorySystemSession session) {
+        throw new UnsupportedOperationException("#setupExtensionsRealm()");
+    }
+
+    @Override
+    public <T> T getConfiguredMojo(final Class<T> role, final MavenSession session,
+        final MojoExecution execution) {
+        return role.cast(
+            new AbstractMojo() {
+                @Override
+                public void execute() {
+                    // nothing to do
+                }
+            }
+        );
+    }
+
+    @Override
+    public void releaseMojo(final Object mojo, final MojoExecution execution) {
+        // nothing to release
+    }
+}
@@ -7,15 +7,18 @@ package com.qulice.maven;
 import com.qulice.spi.ResourceValidator;
 import com.qulice.spi.Violation;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A test fake {@link ResourceValidator} that records how many times
  * {@code validate} was invoked and reports a configurable name through
  * {@link #name()}. The validate call always returns an empty
- * collection, so {@code CheckMojo} treats the run as clean.
+ * collection, so {@code CheckMojo} treats the run as clean. The files
+ * of the last call are available through {@link #last()}.
  * @since 0.27.0
  */
 final class FakeResourceValidator implements ResourceValidator {
@@ -30,13 +33,20 @@ final class FakeResourceValidator implements ResourceValidator {
      */
     private final AtomicInteger cnt;
 
+    /**
+     * Files of the last call.
+     */
+    private final AtomicReference<Collection<File>> files;
+
     FakeResourceValidator(final String name) {
         this.label = name;
         this.cnt = new AtomicInteger(0);
+        this.files = new AtomicReference<>(Collections.emptyList());
     }
 
     @Override
-    public Collection<Violation> validate(final Collection<File> files) {
+    public Collection<Violation> validate(final Collection<File> validated) {
+        this.files.set(new ArrayList<>(validated));
         this.cnt.incrementAndGet();
         return Collections.emptyList();
     }
@@ -49,4 +59,8 @@ final class FakeResourceValidator implements ResourceValidator {
     int count() {
         return this.cnt.get();
     }
+
+    Collection<File> last() {
+        return this.files.get();
+    }
 }
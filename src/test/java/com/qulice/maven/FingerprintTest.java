@@ -0,0 +1,89 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Fingerprint}.
+ * @since 1.0
+ */
+final class FingerprintTest {
+
+    @Test
+    void keepsValueWhenClassesAreRecompiledUnchanged(@TempDir final Path dir) throws Exception {
+        final Path classes = dir.resolve("classes");
+        Files.createDirectories(classes.resolve("foo"));
+        Files.write(classes.resolve("foo/Foo.class"), new byte[] {1, 2, 3});
+        final String before = FingerprintTest.fingerprint(classes);
+        Files.write(classes.resolve("foo/Foo.class"), new byte[] {1, 2, 3});
+        MatcherAssert.assertThat(
+            "Classes compiled again without changes must not invalidate stored results",
+            FingerprintTest.fingerprint(classes),
+            Matchers.equalTo(before)
+        );
+    }
+
+    @Test
+    void changesValueWhenClassIsAdded(@TempDir final Path dir) throws Exception {
+        final Path classes = dir.resolve("classes");
+        Files.createDirectories(classes.resolve("foo"));
+        Files.write(classes.resolve("foo/Foo.class"), new byte[] {1, 2, 3});
+        final String before = FingerprintTest.fingerprint(classes);
+        Files.write(classes.resolve("foo/Bar.class"), new byte[] {1, 2, 3});
+        MatcherAssert.assertThat(
+            "A new class may change what types resolve to",
+            FingerprintTest.fingerprint(classes),
+            Matchers.not(Matchers.equalTo(before))
+        );
+    }
+
+    @Test
+    void changesValueWhenClassIsChanged(@TempDir final Path dir) throws Exception {
+        final Path classes = dir.resolve("classes");
+        Files.createDirectories(classes.resolve("foo"));
+        Files.write(classes.resolve("foo/Foo.class"), new byte[] {1, 2, 3});
+        final String before = FingerprintTest.fingerprint(classes);
+        Files.write(classes.resolve("foo/Foo.class"), new byte[] {4, 5, 6, 7});
+        MatcherAssert.assertThat(
+            "A changed class may change what is reported for files which use it",
+            FingerprintTest.fingerprint(classes),
+            Matchers.not(Matchers.equalTo(before))
+        );
+    }
+
+    @Test
+    void keepsValueInAnotherWorktree(@TempDir final Path dir) throws Exception {
+        for (final String tree : new String[] {"first", "second"}) {
+            final Path classes = dir.resolve(tree).resolve("classes");
+            Files.createDirectories(classes.resolve("foo"));
+            Files.write(classes.resolve("foo/Foo.class"), new byte[] {1, 2, 3});
+        }
+        MatcherAssert.assertThat(
+            "The same classes of another worktree must give the same fingerprint",
+            FingerprintTest.fingerprint(dir.resolve("second/classes")),
+            Matchers.equalTo(FingerprintTest.fingerprint(dir.resolve("first/classes")))
+        );
+    }
+
+    /**
+     * Fingerprint of ErrorProne with one directory on the classpath.
+     * @param classes The directory
+     * @return Fingerprint
+     */
+    private static String fingerprint(final Path classes) {
+        return new Fingerprint(
+            "ErrorProne", Collections.emptyList(), StandardCharsets.UTF_8,
+            Collections.singletonList(classes.toString()), classes.getParent().toFile()
+        ).value();
+    }
+}
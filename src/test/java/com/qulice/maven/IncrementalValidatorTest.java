@@ -0,0 +1,195 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.qulice.spi.ResourceValidator;
+import com.qulice.spi.Violation;
+import com.qulice.spi.ViolationSink;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link IncrementalValidator}.
+ * @since 1.0
+ */
+final class IncrementalValidatorTest {
+
+    @Test
+    void replaysResultsOfUnchangedFiles(@TempDir final Path dir)
+        throws Exception {
+        final List<File> files = IncrementalValidatorTest.files(dir);
+        final File store = dir.resolve("store.bin").toFile();
+        new IncrementalValidator(
+            new IncrementalValidatorTest.Recording(), store, "ctx"
+        ).validate(files);
+        final IncrementalValidatorTest.Recording second =
+            new IncrementalValidatorTest.Recording();
+        MatcherAssert.assertThat(
+            "stored violations must be replayed",
+            new IncrementalValidator(second, store, "ctx").validate(files),
+            Matchers.hasSize(files.size())
+        );
+        MatcherAssert.assertThat(
+            "unchanged files must not be validated again",
+            second.seen(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void revalidatesDirectoryOfChangedFile(@TempDir final Path dir)
+        throws Exception {
+        final List<File> files = IncrementalValidatorTest.files(dir);
+        final File store = dir.resolve("store.bin").toFile();
+        new IncrementalValidator(
+            new IncrementalValidatorTest.Recording(), store, "ctx"
+        ).validate(files);
+        Files.writeString(files.get(0).toPath(), "changed");
+        final IncrementalValidatorTest.Recording second =
+            new IncrementalValidatorTest.Recording();
+        new IncrementalValidator(second, store, "ctx").validate(files);
+        MatcherAssert.assertThat(
+            "the whole directory of the changed file must be validated",
+            second.seen(),
+            Matchers.containsInAnyOrder(files.get(0), files.get(1))
+        );
+    }
+
+    @Test
+    void revalidatesAllWhenConfigurationChanges(@TempDir final Path dir)
+        throws Exception {
+        final List<File> files = IncrementalValidatorTest.files(dir);
+        final File store = dir.resolve("store.bin").toFile();
+        new IncrementalValidator(
+            new IncrementalValidatorTest.Recording(), store, "before"
+        ).validate(files);
+        final IncrementalValidatorTest.Recording second =
+            new IncrementalValidatorTest.Recording();
+        new IncrementalValidator(second, store, "after").validate(files);
+        MatcherAssert.assertThat(
+            "all files must be validated under a new configuration",
+            second.seen(),
+            Matchers.hasSize(files.size())
+        );
+    }
+
+    @Test
+    void revalidatesDirectoryOfUnsureFile(@TempDir final Path dir)
+        throws Exception {
+        final List<File> files = IncrementalValidatorTest.files(dir);
+        final File store = dir.resolve("store.bin").toFile();
+        new IncrementalValidator(
+            new IncrementalValidatorTest.Recording(List.of(files.get(0))), store, "ctx"
+        ).validate(files);
+        final IncrementalValidatorTest.Recording second =
+            new IncrementalValidatorTest.Recording();
+        new IncrementalValidator(second, store, "ctx").validate(files);
+        MatcherAssert.assertThat(
+            "the directory of a file the validator was unsure about must be validated again",
+            second.seen(),
+            Matchers.containsInAnyOrder(files.get(0), files.get(1))
+        );
+    }
+
+    /**
+     * Create three files in two directories.
+     * @param dir Where to create them
+     * @return Files
+     * @throws Exception If fails
+     */
+    private static List<File> files(final Path dir) throws Exception {
+        final List<File> files = new ArrayList<>(3);
+        for (final String name : new String[] {"a/A.java", "a/B.java", "b/C.java"}) {
+            final Path path = dir.resolve(name);
+            Files.createDirectories(path.getParent());
+            files.add(
+                Files.write(path, name.getBytes(StandardCharsets.UTF_8)).toFile()
+            );
+        }
+        return files;
+    }
+
+    /**
+     * Validator that reports one violation per file and remembers
+     * which files it has seen, unsure about some of them.
+     * @since 1.0
+     */
+    private static final class Recording implements ResourceValidator {
+
+        /**
+         * Files seen.
+         */
+        private final Collection<File> files = new ArrayList<>(0);
+
+        /**
+         * Files to be unsure about.
+         */
+        private final Collection<File> doubtful;
+
+        /**
+         * Ctor.
+         */
+        Recording() {
+            this(Collections.emptyList());
+        }
+
+        /**
+         * Ctor.
+         * @param doubtful Files to be unsure about
+         */
+        Recording(final Collection<File> doubtful) {
+            this.doubtful = doubtful;
+        }
+
+        @Override
+        public void validate(final Collection<File> sources, final ViolationSink sink) {
+            for (final Violation violation : this.validate(sources)) {
+                sink.accept(violation);
+            }
+            for (final File file : sources) {
+                if (this.doubtful.contains(file)) {
+                    sink.unsure(file);
+                }
+            }
+        }
+
+        @Override
+        public Collection<Violation> validate(final Collection<File> sources) {
+            final Collection<Violation> violations = new ArrayList<>(0);
+            for (final File file : sources) {
+                this.files.add(file);
+                violations.add(
+                    new Violation.Default(
+                        this.name(), "Check", file.getAbsolutePath(), "1", "bad"
+                    )
+                );
+            }
+            return violations;
+        }
+
+        @Override
+        public String name() {
+            return "Recording";
+        }
+
+        /**
+         * Files seen so far.
+         * @return Files
+         */
+        Collection<File> seen() {
+            return this.files;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Inventory}.
+ * @since 1.0
+ */
+final class InventoryTest {
+
+    @Test
+    void listsTextFilesMatchingWildcard(@TempDir final Path dir)
+        throws Exception {
+        final Path src = dir.resolve("src/main/java/Foo.java");
+        Files.createDirectories(src.getParent());
+        Files.writeString(src, "class Foo {}");
+        Files.write(dir.resolve("src/main/java/Foo.class"), new byte[] {0, 1});
+        Files.write(dir.resolve("src/main/java/Bar.java"), new byte[] {0, 1});
+        MatcherAssert.assertThat(
+            "only text files matching the wildcard must be listed",
+            new Inventory().files(dir.toFile(), "*.java"),
+            Matchers.contains(src.toFile())
+        );
+    }
+
+    @Test
+    void doesNotSniffUnchangedFilesAgain(@TempDir final Path dir)
+        throws Exception {
+        final Path root = dir.resolve("src");
+        final Path file = root.resolve("a.txt");
+        Files.createDirectories(root);
+        Files.writeString(file, "ab");
+        final FileTime time = Files.getLastModifiedTime(file);
+        final File store = dir.resolve("inventory.bin").toFile();
+        final Inventory first = new Inventory(store);
+        first.entries(root.toFile());
+        first.save();
+        Files.write(file, new byte[] {0, 0});
+        Files.setLastModifiedTime(file, time);
+        MatcherAssert.assertThat(
+            "stored binary flag must be trusted for an unchanged file",
+            new Inventory(store).files(root.toFile(), "*.txt"),
+            Matchers.contains(file.toFile())
+        );
+    }
+
+    @Test
+    void sniffsChangedFiles(@TempDir final Path dir) throws Exception {
+        final Path root = dir.resolve("src");
+        final Path file = root.resolve("a.txt");
+        Files.createDirectories(root);
+        Files.writeString(file, "ab");
+        final File store = dir.resolve("inventory.bin").toFile();
+        final Inventory first = new Inventory(store);
+        first.entries(root.toFile());
+        first.save();
+        Files.write(file, new byte[] {0, 0, 0});
+        MatcherAssert.assertThat(
+            "changed file must be sniffed again",
+            new Inventory(store).files(root.toFile(), "*.txt"),
+            Matchers.empty()
+        );
+    }
+}
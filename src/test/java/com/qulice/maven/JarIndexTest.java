@@ -0,0 +1,92 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link JarIndex}.
+ * @since 1.0
+ */
+final class JarIndexTest {
+
+    @Test
+    void listsTopLevelClasses(@TempDir final Path dir) throws Exception {
+        MatcherAssert.assertThat(
+            "Only top-level classes must be listed",
+            new JarIndex("").classes(
+                JarIndexTest.jar(
+                    dir.resolve("a.jar"), "com/a/Foo.class", "com/a/Foo$Bar.class",
+                    "com/a/package-info.class", "META-INF/MANIFEST.MF"
+                )
+            ),
+            Matchers.contains("com.a.Foo")
+        );
+    }
+
+    @Test
+    void savesIndexByKeyOfJar(@TempDir final Path dir) throws Exception {
+        final Path index = dir.resolve("index");
+        new JarIndex(index.toString()).classes(
+            JarIndexTest.jar(dir.resolve("b.jar"), "com/b/Saved.class")
+        );
+        try (Stream<Path> files = Files.list(index)) {
+            final Path file = files.findFirst().orElseThrow();
+            MatcherAssert.assertThat(
+                "The index must be saved under the SHA-256 of the key of the JAR",
+                file.getFileName().toString(),
+                Matchers.matchesPattern("[0-9a-f]{64}\\.txt")
+            );
+            MatcherAssert.assertThat(
+                "The index must list the classes",
+                Files.readString(file, StandardCharsets.UTF_8).trim(),
+                Matchers.equalTo("com.b.Saved")
+            );
+        }
+    }
+
+    @Test
+    void indexesJarAgainAfterItChanged(@TempDir final Path dir) throws Exception {
+        final Path path = dir.resolve("c.jar");
+        final JarIndex index = new JarIndex(dir.resolve("index").toString());
+        index.classes(JarIndexTest.jar(path, "com/c/Old.class"));
+        JarIndexTest.jar(path, "com/c/Old.class", "com/c/New.class");
+        Files.setLastModifiedTime(path, FileTime.fromMillis(1_000L));
+        MatcherAssert.assertThat(
+            "A JAR of another size or time must be indexed again",
+            index.classes(path.toFile()),
+            Matchers.hasItem("com.c.New")
+        );
+    }
+
+    /**
+     * Create a JAR with the entries.
+     * @param path Where to create it
+     * @param entries Names of entries
+     * @return The JAR
+     * @throws Exception If fails
+     */
+    private static File jar(final Path path, final String... entries) throws Exception {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(path))) {
+            for (final String entry : entries) {
+                out.putNextEntry(new JarEntry(entry));
+                out.write(new byte[]{0});
+                out.closeEntry();
+            }
+        }
+        return path.toFile();
+    }
+}
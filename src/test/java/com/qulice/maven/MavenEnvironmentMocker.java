@@ -208,6 +208,11 @@ public final class MavenEnvironmentMocker {
          */
         private final Collection<String> assrts;
 
+        /**
+         * Inventory.
+         */
+        private final Inventory inv;
+
         FakeMavenEnvironment(
             final MavenProject prj,
             final Context ctx,
@@ -216,6 +221,7 @@ public final class MavenEnvironmentMocker {
             this.proj = prj;
             this.ctx = ctx;
             this.assrts = asserts;
+            this.inv = new Inventory();
         }
 
         @Override
@@ -248,6 +254,11 @@ public final class MavenEnvironmentMocker {
             return this.assrts;
         }
 
+        @Override
+        public Inventory inventory() {
+            return this.inv;
+        }
+
         @Override
         public File basedir() {
             return this.proj.getBasedir();
@@ -278,6 +289,11 @@ public final class MavenEnvironmentMocker {
             return Collections.emptyList();
         }
 
+        @Override
+        public Collection<File> roots() {
+            return Collections.emptyList();
+        }
+
         @Override
         public Collection<File> files(final String pattern) {
             return Collections.emptyList();
@@ -8,13 +8,17 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Properties;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
- * Test case for {@link MojoExecutor} conversion of Properties into Xpp3Dom.
+ * Test case for {@link MojoExecutor}.
  * @since 1.0
  */
 @SuppressWarnings("PMD.AvoidDuplicateLiterals")
@@ -156,4 +160,33 @@ final class MojoExecutorTest {
             Matchers.equalTo("17")
         );
     }
+
+    /**
+     * MojoExecutor resolves a plugin and sets up its realm once per
+     * session, however many modules execute it.
+     * Every constructor of {@link MavenSession} is deprecated, but there
+     * is no other way to make one outside of Maven.
+     * @throws Exception If something wrong happens inside
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    void preparesPluginOncePerSession() throws Exception {
+        final FakePluginManager manager = new FakePluginManager();
+        final MavenSession session = new MavenSession(
+            null, null, new DefaultMavenExecutionRequest(),
+            new DefaultMavenExecutionResult()
+        );
+        session.setCurrentProject(new MavenProject());
+        final Properties config = new Properties();
+        config.put("fail", "true");
+        for (int idx = 0; idx < 3; ++idx) {
+            new MojoExecutor(manager, session)
+                .execute("com.example:sample:1.0", "check", config);
+        }
+        MatcherAssert.assertThat(
+            "The plugin must be resolved and its realm set up only once",
+            Arrays.asList(manager.resolutions(), manager.setups()),
+            Matchers.contains(1, 1)
+        );
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.qulice.spi.Violation;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Report}.
+ * @since 1.0
+ */
+final class ReportTest {
+
+    @Test
+    void writesSarifWithRelativeLocations(@TempDir final Path dir) throws Exception {
+        final File file = dir.resolve("qulice.sarif").toFile();
+        try (Report report = new Report.Sarif(file, dir.toFile())) {
+            report.add(
+                new Violation.Default(
+                    "PMD", "UnusedLocal", dir.resolve("src/Foo.java").toString(),
+                    "3-5", "Avoid \"x\""
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            "SARIF result must carry the rule, the message and the region",
+            Files.readString(file.toPath()),
+            Matchers.stringContainsInOrder(
+                "\"version\": \"2.1.0\"",
+                "\"ruleId\": \"PMD/UnusedLocal\"",
+                "\"text\": \"Avoid \\\"x\\\"\"",
+                "\"uri\": \"src/Foo.java\", \"uriBaseId\": \"%SRCROOT%\"",
+                "\"startLine\": 3, \"endLine\": 5"
+            )
+        );
+    }
+
+    @Test
+    void groupsViolationsOfOneFileInXml(@TempDir final Path dir) throws Exception {
+        final File file = dir.resolve("checkstyle-result.xml").toFile();
+        try (Report report = new Report.Xml(file)) {
+            report.add(new Violation.Default("Checkstyle", "A", "/a.java", "1", "one"));
+            report.add(new Violation.Default("PMD", "B", "/a.java", "2-3", "two & <three>"));
+            report.add(new Violation.Default("Checkstyle", "C", "/b.java", "", "four"));
+        }
+        MatcherAssert.assertThat(
+            "Violations of one file must be in one element",
+            Files.readString(file.toPath()),
+            XhtmlMatchers.hasXPaths(
+                "/checkstyle[count(file)=2]",
+                "/checkstyle/file[@name='/a.java' and count(error)=2]",
+                "/checkstyle/file[@name='/a.java']/error[@line='2' and @source='PMD.B' and @message='two & <three>']",
+                "/checkstyle/file[@name='/b.java']/error[not(@line)]"
+            )
+        );
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.qulice.spi.Violation;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Spool}.
+ * @since 1.0
+ */
+final class SpoolTest {
+
+    @Test
+    void sortsViolationsSpilledToDisk(@TempDir final Path dir) {
+        final Spool spool = new Spool(dir.toFile(), 2);
+        spool.accept(new Violation.Default("PMD", "A", "b.java", "10-12", "x"));
+        spool.accept(new Violation.Default("PMD", "A", "a.java", "9", "x"));
+        spool.accept(new Violation.Default("Checkstyle", "B", "b.java", "2", "y"));
+        spool.accept(new Violation.Default("PMD", "C", "a.java", "42", "z"));
+        spool.accept(new Violation.Default("PMD", "D", "c.java", "", "w"));
+        final List<String> sorted = new ArrayList<>(5);
+        spool.drain(violation -> sorted.add(violation.file() + ":" + violation.lines()));
+        MatcherAssert.assertThat(
+            "Violations must come by file and line, whatever run they were in",
+            sorted,
+            Matchers.contains("a.java:9", "a.java:42", "b.java:2", "b.java:10-12", "c.java:")
+        );
+    }
+
+    @Test
+    void removesRunFilesAfterDraining(@TempDir final Path dir) {
+        final Spool spool = new Spool(dir.toFile(), 1);
+        spool.accept(new Violation.Default("PMD", "A", "a.java", "1", "x"));
+        spool.accept(new Violation.Default("PMD", "A", "a.java", "2", "x"));
+        spool.drain(violation -> { });
+        MatcherAssert.assertThat(
+            "Run files must be removed once merged",
+            dir.toFile().list(),
+            Matchers.emptyArray()
+        );
+    }
+
+    @Test
+    void spillsMessagesLongerThanSixtyFourKilobytes(@TempDir final Path dir) {
+        final Spool spool = new Spool(dir.toFile(), 1);
+        final String message = "\u00e9".repeat(40_000);
+        spool.accept(new Violation.Default("PMD", "A", "a.java", "1", message));
+        spool.accept(new Violation.Default("PMD", "A", "a.java", "2", "x"));
+        final List<String> messages = new ArrayList<>(2);
+        spool.drain(violation -> messages.add(violation.message()));
+        MatcherAssert.assertThat(
+            "A long message must come back from the run file as it was",
+            messages,
+            Matchers.contains(message, "x")
+        );
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.qulice.spi.Violation;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Store}.
+ * @since 1.0
+ */
+final class StoreTest {
+
+    @Test
+    void deletesLeastRecentlyUsedEntries(@TempDir final Path dir) throws Exception {
+        final File base = dir.resolve("src").toFile();
+        final List<Violation> found = List.of(
+            new Violation.Default(
+                "PMD", "Rule", new File(base, "Foo.java").getAbsolutePath(), "1", "bad"
+            )
+        );
+        final Store big = new Store(dir.resolve("store").toFile(), 1L << 20);
+        big.save("aa01", base, found);
+        Thread.sleep(20L);
+        big.save("bb02", base, found);
+        Thread.sleep(20L);
+        big.save("cc03", base, found);
+        Thread.sleep(20L);
+        MatcherAssert.assertThat(
+            "the entry must be found",
+            big.load("aa01", base).isPresent(),
+            Matchers.is(true)
+        );
+        final long size = dir.resolve("store/aa/aa01.bin").toFile().length();
+        final Store small = new Store(dir.resolve("store").toFile(), size * 2L);
+        small.trim();
+        MatcherAssert.assertThat(
+            "the least recently used entry must be deleted",
+            small.load("bb02", base).isPresent(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            "the recently used entry must be kept",
+            small.load("aa01", base).orElseThrow().get(0).file(),
+            Matchers.equalTo(found.get(0).file())
+        );
+    }
+
+    @Test
+    void savesMessagesLongerThanSixtyFourKilobytes(@TempDir final Path dir) {
+        final File base = dir.resolve("src").toFile();
+        final String message = "\u00e9".repeat(40_000);
+        final Store store = new Store(dir.resolve("store").toFile(), 1L << 20);
+        store.save(
+            "dd04", base,
+            List.of(
+                new Violation.Default(
+                    "PMD", "Rule", new File(base, "Foo.java").getAbsolutePath(), "1", message
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            "A long message must be saved and loaded as it was",
+            store.load("dd04", base).orElseThrow().get(0).message(),
+            Matchers.equalTo(message)
+        );
+    }
+}
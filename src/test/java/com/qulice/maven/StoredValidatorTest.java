@@ -0,0 +1,182 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.qulice.spi.ResourceValidator;
+import com.qulice.spi.Violation;
+import com.qulice.spi.ViolationSink;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link StoredValidator}.
+ * @since 1.0
+ */
+final class StoredValidatorTest {
+
+    @Test
+    void sharesResultsAcrossCheckouts(@TempDir final Path dir) throws Exception {
+        final Store store = new Store(dir.resolve("store").toFile(), 1L << 20);
+        final Path first = dir.resolve("first");
+        new StoredValidator(
+            new StoredValidatorTest.Recording(), store, "ctx", first.toFile()
+        ).validate(StoredValidatorTest.files(first));
+        final Path second = dir.resolve("second");
+        final List<File> files = StoredValidatorTest.files(second);
+        final StoredValidatorTest.Recording recording = new StoredValidatorTest.Recording();
+        final Collection<Violation> found = new StoredValidator(
+            recording, store, "ctx", second.toFile()
+        ).validate(files);
+        MatcherAssert.assertThat(
+            "files of another checkout must not be validated again",
+            recording.seen(),
+            Matchers.empty()
+        );
+        MatcherAssert.assertThat(
+            "stored violations must refer to the files of this checkout",
+            found.stream().map(Violation::file).collect(Collectors.toList()),
+            Matchers.containsInAnyOrder(
+                files.stream().map(File::getAbsolutePath).toArray(String[]::new)
+            )
+        );
+    }
+
+    @Test
+    void validatesDirectoryWithChangedFile(@TempDir final Path dir) throws Exception {
+        final Store store = new Store(dir.resolve("store").toFile(), 1L << 20);
+        final Path base = dir.resolve("base");
+        final List<File> files = StoredValidatorTest.files(base);
+        new StoredValidator(
+            new StoredValidatorTest.Recording(), store, "ctx", base.toFile()
+        ).validate(files);
+        Files.writeString(files.get(1).toPath(), "changed");
+        final StoredValidatorTest.Recording recording = new StoredValidatorTest.Recording();
+        new StoredValidator(recording, store, "ctx", base.toFile()).validate(files);
+        MatcherAssert.assertThat(
+            "only the directory of the changed file must be validated",
+            recording.seen(),
+            Matchers.containsInAnyOrder(files.get(0), files.get(1))
+        );
+    }
+
+    @Test
+    void validatesDirectoryOfUnsureFileAgain(@TempDir final Path dir) throws Exception {
+        final Store store = new Store(dir.resolve("store").toFile(), 1L << 20);
+        final Path base = dir.resolve("base");
+        final List<File> files = StoredValidatorTest.files(base);
+        new StoredValidator(
+            new StoredValidatorTest.Recording(List.of(files.get(2))), store, "ctx",
+            base.toFile()
+        ).validate(files);
+        final StoredValidatorTest.Recording recording = new StoredValidatorTest.Recording();
+        new StoredValidator(recording, store, "ctx", base.toFile()).validate(files);
+        MatcherAssert.assertThat(
+            "the directory of a file the validator was unsure about must not be stored",
+            recording.seen(),
+            Matchers.contains(files.get(2))
+        );
+    }
+
+    /**
+     * Create three files in two directories.
+     * @param dir Where to create them
+     * @return Files
+     * @throws Exception If fails
+     */
+    private static List<File> files(final Path dir) throws Exception {
+        final List<File> files = new ArrayList<>(3);
+        for (final String name : new String[] {"a/A.java", "a/B.java", "b/C.java"}) {
+            final Path path = dir.resolve(name);
+            Files.createDirectories(path.getParent());
+            files.add(
+                Files.write(path, name.getBytes(StandardCharsets.UTF_8)).toFile()
+            );
+        }
+        return files;
+    }
+
+    /**
+     * Validator that reports one violation per file and remembers
+     * which files it has seen, unsure about some of them.
+     * @since 1.0
+     */
+    private static final class Recording implements ResourceValidator {
+
+        /**
+         * Files seen.
+         */
+        private final Collection<File> files = new ArrayList<>(0);
+
+        /**
+         * Files to be unsure about.
+         */
+        private final Collection<File> doubtful;
+
+        /**
+         * Ctor.
+         */
+        Recording() {
+            this(Collections.emptyList());
+        }
+
+        /**
+         * Ctor.
+         * @param doubtful Files to be unsure about
+         */
+        Recording(final Collection<File> doubtful) {
+            this.doubtful = doubtful;
+        }
+
+        @Override
+        public void validate(final Collection<File> sources, final ViolationSink sink) {
+            for (final Violation violation : this.validate(sources)) {
+                sink.accept(violation);
+            }
+            for (final File file : sources) {
+                if (this.doubtful.contains(file)) {
+                    sink.unsure(file);
+                }
+            }
+        }
+
+        @Override
+        public Collection<Violation> validate(final Collection<File> sources) {
+            final Collection<Violation> violations = new ArrayList<>(0);
+            for (final File file : sources) {
+                this.files.add(file);
+                violations.add(
+                    new Violation.Default(
+                        this.name(), "Check", file.getAbsolutePath(), "1", "bad"
+                    )
+                );
+            }
+            return violations;
+        }
+
+        @Override
+        public String name() {
+            return "Recording";
+        }
+
+        /**
+         * Files seen so far.
+         * @return Files
+         */
+        Collection<File> seen() {
+            return this.files;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import com.qulice.spi.ResourceValidator;
+import com.qulice.spi.Violation;
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * A test fake {@link ResourceValidator} that always reports exactly
+ * one violation, whatever files it gets.
+ * @since 1.0
+ */
+final class ViolatingValidator implements ResourceValidator {
+
+    @Override
+    public Collection<Violation> validate(final Collection<File> files) {
+        return Collections.singletonList(
+            new Violation.Default(this.name(), "Check", "Foo.java", "1", "bad")
+        );
+    }
+
+    @Override
+    public String name() {
+        return "violating";
+    }
+}
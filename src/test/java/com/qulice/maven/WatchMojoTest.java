@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.maven;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.monitor.logging.DefaultLog;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.context.DefaultContext;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link WatchMojo} class.
+ * @since 1.0
+ */
+final class WatchMojoTest {
+
+    @Test
+    void validatesOnlyChangedFiles(@TempDir final Path dir) throws Exception {
+        Files.createDirectories(dir.resolve("src"));
+        Files.writeString(dir.resolve("src/Foo.java"), "class Foo {}");
+        final FakeResourceValidator validator = new FakeResourceValidator("fake");
+        final Thread thread = WatchMojoTest.watch(dir, validator);
+        final Path changed = dir.resolve("src/Bar.java");
+        for (int attempt = 0; attempt < 100 && thread.isAlive(); ++attempt) {
+            Files.writeString(changed, String.format("class Bar { int x = %d; }", attempt));
+            thread.join(TimeUnit.SECONDS.toMillis(1L));
+        }
+        MatcherAssert.assertThat(
+            "Only the changed file must be validated again",
+            validator.last(),
+            Matchers.contains(changed.toFile())
+        );
+    }
+
+    @Test
+    void validatesAllFilesFirst(@TempDir final Path dir) throws Exception {
+        Files.createDirectories(dir.resolve("src/foo"));
+        Files.writeString(dir.resolve("src/foo/Foo.java"), "class Foo {}");
+        final FakeResourceValidator validator = new FakeResourceValidator("fake");
+        final Thread thread = WatchMojoTest.watch(dir, validator);
+        for (int attempt = 0; attempt < 100 && validator.count() == 0; ++attempt) {
+            TimeUnit.MILLISECONDS.sleep(100L);
+        }
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(10L));
+        MatcherAssert.assertThat(
+            "All files must be validated before watching",
+            validator.last(),
+            Matchers.contains(new File(dir.toFile(), "src/foo/Foo.java"))
+        );
+    }
+
+    /**
+     * Start watching the directory in a new thread, for one round.
+     * @param dir Base directory of the project
+     * @param validator Validator to use
+     * @return The thread
+     */
+    private static Thread watch(final Path dir, final FakeResourceValidator validator) {
+        final WatchMojo mojo = new WatchMojo();
+        mojo.setValidatorsProvider(
+            new ValidatorsProviderMocker()
+                .withExternalResource(validator)
+                .mock()
+        );
+        final MavenProject project = new MavenProject();
+        project.setFile(dir.resolve("pom.xml").toFile());
+        project.getBuild().setDirectory(dir.resolve("target").toString());
+        mojo.setProject(project);
+        mojo.setWatchDelay(50);
+        mojo.setWatchRounds(1);
+        mojo.setLog(new DefaultLog(new FakeLogger()));
+        mojo.contextualize(new DefaultContext());
+        final Thread thread = new Thread(
+            () -> {
+                try {
+                    mojo.execute();
+                } catch (final MojoFailureException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        );
+        thread.start();
+        return thread;
+    }
+}
@@ -5,12 +5,18 @@
 package com.qulice.pmd;
 
 import com.qulice.spi.Environment;
+import com.qulice.spi.Timings;
 import com.qulice.spi.Violation;
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Test case for general {@link PmdValidator} behavior that is
@@ -34,6 +40,21 @@ final class PmdValidatorTest {
         );
     }
 
+    @Test
+    void skipsLargeFiles() throws Exception {
+        final String file = "src/main/java/Main.java";
+        final Environment env = new Environment.Mock()
+            .withParam("large.size", "1")
+            .withFile(file, String.format("class Main { int x = 0; }%n%2000s", ""));
+        MatcherAssert.assertThat(
+            "Large file must not be analyzed",
+            new PmdValidator(env).validate(
+                Collections.singletonList(new File(env.basedir(), file))
+            ),
+            Matchers.<Violation>empty()
+        );
+    }
+
     @Test
     void acceptsJavaFilesWithUppercaseExtension() throws Exception {
         final String file = "src/main/java/Main.JAVA";
@@ -47,4 +68,126 @@ final class PmdValidatorTest {
             Matchers.not(Matchers.empty())
         );
     }
+
+    @Test
+    void keepsIncrementalAnalysisCache() throws Exception {
+        final String file = "src/main/java/Main.java";
+        final Environment env = new Environment.Mock()
+            .withFile(file, "class Main { int x = 0; }");
+        new PmdValidator(env).validate(
+            Collections.singletonList(new File(env.basedir(), file))
+        );
+        MatcherAssert.assertThat(
+            "PMD cache should be saved in the temporary directory",
+            new File(env.tempdir(), "pmd").list(),
+            Matchers.arrayWithSize(1)
+        );
+    }
+
+    @Test
+    void skipsCacheWhileTimingRules(@TempDir final Path dir) throws Exception {
+        final String file = "src/main/java/Main.java";
+        final Environment env = new Environment.Mock()
+            .withParam("timings", dir.resolve("timings.json").toString())
+            .withFile(file, "class Main { int x = 0; }");
+        new PmdValidator(env).validate(
+            Collections.singletonList(new File(env.basedir(), file))
+        );
+        MatcherAssert.assertThat(
+            "PMD cache should not be used while rules are timed",
+            new File(env.tempdir(), "pmd").exists(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void keepsCacheInSharedDirectory(@TempDir final Path dir) throws Exception {
+        final String file = "src/main/java/Main.java";
+        final Environment env = new Environment.Mock()
+            .withParam("pmd.cache", dir.toString())
+            .withFile(file, "class Main { int x = 0; }");
+        new PmdValidator(env).validate(
+            Collections.singletonList(new File(env.basedir(), file))
+        );
+        MatcherAssert.assertThat(
+            "PMD cache should be saved in the shared directory",
+            dir.toFile().list(),
+            Matchers.arrayWithSize(1)
+        );
+    }
+
+    @Test
+    void findsSameProblemsWithWorkerThreads() throws Exception {
+        final String file = "src/main/java/Main.java";
+        final Environment.Mock env = new Environment.Mock()
+            .withFile(file, "class Main { int x = 0; }");
+        final Collection<Violation> sequential = new PmdValidator(env).validate(
+            Collections.singletonList(new File(env.basedir(), file))
+        );
+        MatcherAssert.assertThat(
+            "Worker threads should not change the violations found",
+            new PmdValidator(env.withParam("pmd.threads", "2")).validate(
+                Collections.singletonList(new File(env.basedir(), file))
+            ),
+            Matchers.hasSize(sequential.size())
+        );
+    }
+
+    @Test
+    void findsSameProblemsWithSharedRules() throws Exception {
+        final String file = "src/main/java/Main.java";
+        final Environment first = new Environment.Mock()
+            .withFile(file, "class Main { int x = 0; }");
+        final Environment second = new Environment.Mock()
+            .withFile(file, "class Main { int x = 0; }");
+        final Rules rules = new Rules();
+        final Collection<Violation> before = new PmdValidator(first, rules).validate(
+            Collections.singletonList(new File(first.basedir(), file))
+        );
+        MatcherAssert.assertThat(
+            "Rules shared with another module should find the same problems",
+            new PmdValidator(second, rules).validate(
+                Collections.singletonList(new File(second.basedir(), file))
+            ),
+            Matchers.hasSize(before.size())
+        );
+    }
+
+    @Test
+    void savesTimeOfEveryRule(@TempDir final Path dir) throws Exception {
+        final String file = "src/main/java/Main.java";
+        final Path json = dir.resolve("timings.json");
+        final Environment env = new Environment.Mock()
+            .withParam("timings", json.toString())
+            .withFile(file, "class Main { int x = 0; }");
+        new PmdValidator(env).validate(
+            Collections.singletonList(new File(env.basedir(), file))
+        );
+        Timings.of(env).report(3);
+        MatcherAssert.assertThat(
+            "Time of PMD rules and files must be saved",
+            Files.readString(json),
+            Matchers.allOf(
+                Matchers.containsString("\"UnnecessaryLocalRule\""),
+                Matchers.containsString("\"/src/main/java/Main.java\"")
+            )
+        );
+    }
+
+    @Test
+    void pushesViolationsIntoSink() throws Exception {
+        final String file = "src/main/java/Main.java";
+        final Environment env = new Environment.Mock()
+            .withFile(file, "class Main { int x = 0; }");
+        final Collection<Violation> pushed = new ArrayList<>(0);
+        new PmdValidator(env).validate(
+            Collections.singletonList(new File(env.basedir(), file)),
+            pushed::add
+        );
+        MatcherAssert.assertThat(
+            "Violations should be pushed into the sink",
+            pushed,
+            Matchers.not(Matchers.<Violation>empty())
+        );
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Budget}.
+ * @since 1.0
+ */
+final class BudgetTest {
+
+    @Test
+    void findsLargeFilesByLines(@TempDir final Path dir) throws Exception {
+        final Path small = dir.resolve("Small.java");
+        Files.writeString(small, "class Small {\n}\n", StandardCharsets.UTF_8);
+        final Path large = dir.resolve("Large.java");
+        Files.writeString(large, "class Large {\n\n\n\n}\n", StandardCharsets.UTF_8);
+        final Budget budget = new Budget(0L, 4, 0L);
+        MatcherAssert.assertThat(
+            "Only the file with more lines than the limit must be large",
+            new boolean[] {
+                budget.large(small.toFile(), StandardCharsets.UTF_8),
+                budget.large(large.toFile(), StandardCharsets.UTF_8),
+            },
+            Matchers.equalTo(new boolean[] {false, true})
+        );
+    }
+
+    @Test
+    void noticesExceededTimeOnce() throws Exception {
+        new Budget(1L, 0, 0L).start();
+        try {
+            Thread.sleep(10L);
+            MatcherAssert.assertThat(
+                "The exceeded time must be noticed by the first caller only",
+                new boolean[] {Budget.exceeded(), Budget.notice(), Budget.notice()},
+                Matchers.equalTo(new boolean[] {true, true, false})
+            );
+        } finally {
+            Budget.stop();
+        }
+        MatcherAssert.assertThat(
+            "A stopped clock must never be over",
+            Budget.exceeded(),
+            Matchers.is(false)
+        );
+    }
+}
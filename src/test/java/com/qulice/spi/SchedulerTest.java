@@ -0,0 +1,80 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Scheduler}.
+ * @since 1.0
+ */
+final class SchedulerTest {
+
+    @Test
+    void neverRunsMoreTasksThanCap() throws Exception {
+        final Scheduler scheduler = new Scheduler(2);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger most = new AtomicInteger();
+        final Collection<Future<?>> futures = new ArrayList<>(8);
+        for (int idx = 0; idx < 8; ++idx) {
+            futures.add(
+                scheduler.submit(
+                    1,
+                    () -> {
+                        most.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(20L);
+                        } catch (final InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                        running.decrementAndGet();
+                    }
+                )
+            );
+        }
+        for (final Future<?> future : futures) {
+            future.get(1L, TimeUnit.MINUTES);
+        }
+        MatcherAssert.assertThat(
+            "no more tasks than the cap may run at once",
+            most.get(),
+            Matchers.lessThanOrEqualTo(2)
+        );
+    }
+
+    @Test
+    void givesSlotsBackWhileWaiting() throws Exception {
+        final Scheduler scheduler = new Scheduler(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Future<?> waiting = scheduler.submit(
+            1,
+            () -> {
+                final int held = scheduler.pause();
+                try {
+                    latch.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    scheduler.resume(held);
+                }
+            }
+        );
+        scheduler.submit(1, latch::countDown).get(1L, TimeUnit.MINUTES);
+        waiting.get(1L, TimeUnit.MINUTES);
+        MatcherAssert.assertThat(
+            "waiting task must let the other one run",
+            latch.getCount(),
+            Matchers.equalTo(0L)
+        );
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Shards}.
+ * @since 1.0
+ */
+final class ShardsTest {
+
+    @Test
+    void producesOneEmptyShardForNoFiles() {
+        MatcherAssert.assertThat(
+            "validator must still be called once when there are no files",
+            new Shards(Collections.emptyList(), 4).all(),
+            Matchers.contains(Matchers.empty())
+        );
+    }
+
+    @Test
+    void keepsEveryFileExactlyOnce(@TempDir final Path dir) throws Exception {
+        final Collection<File> files = ShardsTest.files(dir, 6, 3);
+        final List<File> merged = new ArrayList<>(0);
+        for (final List<File> shard : new Shards(files, 3).all()) {
+            merged.addAll(shard);
+        }
+        MatcherAssert.assertThat(
+            "all files must be distributed among shards without duplicates",
+            merged,
+            Matchers.containsInAnyOrder(files.toArray(new File[0]))
+        );
+    }
+
+    @Test
+    void balancesShardsBySize(@TempDir final Path dir) throws Exception {
+        final List<List<File>> shards =
+            new Shards(ShardsTest.files(dir, 4, 4), 2).all();
+        MatcherAssert.assertThat(
+            "largest-first placement must balance 4+3 against 2+1 as 5 and 5",
+            ShardsTest.size(shards.get(0)),
+            Matchers.equalTo(ShardsTest.size(shards.get(1)))
+        );
+    }
+
+    @Test
+    void neverSplitsOneDirectory(@TempDir final Path dir) throws Exception {
+        MatcherAssert.assertThat(
+            "files from the same directory must stay in one shard",
+            new Shards(ShardsTest.files(dir, 5, 1), 3).all(),
+            Matchers.hasSize(1)
+        );
+    }
+
+    /**
+     * Create files of growing size, spread across directories.
+     * @param dir Where to create them
+     * @param total How many files
+     * @param dirs How many directories
+     * @return Files created
+     * @throws Exception If fails
+     */
+    private static Collection<File> files(final Path dir, final int total,
+        final int dirs) throws Exception {
+        final Collection<File> files = new ArrayList<>(total);
+        for (int idx = 0; idx < total; ++idx) {
+            final Path sub = dir.resolve(String.format("d%d", idx % dirs));
+            Files.createDirectories(sub);
+            files.add(
+                Files.write(
+                    sub.resolve(String.format("F%d.java", idx)),
+                    "x".repeat(idx + 1).getBytes(StandardCharsets.UTF_8)
+                ).toFile()
+            );
+        }
+        return files;
+    }
+
+    /**
+     * Total size of files.
+     * @param files The files
+     * @return Size in bytes
+     */
+    private static long size(final Collection<File> files) {
+        long size = 0L;
+        for (final File file : files) {
+            size += file.length();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Sources}.
+ * @since 1.0
+ */
+final class SourcesTest {
+
+    @Test
+    void readsFileOnceUntilItChanges(@TempDir final Path dir) throws Exception {
+        final Path path = dir.resolve("Foo.java");
+        Files.writeString(path, "class Foo {}\n", StandardCharsets.UTF_8);
+        final File file = path.toFile();
+        final Sources sources = new Sources(1024L);
+        final String first = sources.text(file, StandardCharsets.UTF_8);
+        MatcherAssert.assertThat(
+            "The same text must be returned while the file is the same",
+            sources.text(file, StandardCharsets.UTF_8),
+            Matchers.sameInstance(first)
+        );
+        Files.writeString(path, "class Foo { }\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(0L));
+        MatcherAssert.assertThat(
+            "A modified file must be read again",
+            sources.text(file, StandardCharsets.UTF_8),
+            Matchers.equalTo("class Foo { }\n")
+        );
+    }
+
+    @Test
+    void dropsLeastRecentlyUsedTexts(@TempDir final Path dir) throws Exception {
+        final Sources sources = new Sources(40L);
+        final File first = SourcesTest.write(dir, "A.java", "class A {}");
+        final File second = SourcesTest.write(dir, "B.java", "class B {}");
+        final File third = SourcesTest.write(dir, "C.java", "class C {}");
+        final String text = sources.text(first, StandardCharsets.UTF_8);
+        sources.text(second, StandardCharsets.UTF_8);
+        sources.text(first, StandardCharsets.UTF_8);
+        sources.text(third, StandardCharsets.UTF_8);
+        MatcherAssert.assertThat(
+            "Texts must fit into the budget",
+            sources.weight(),
+            Matchers.equalTo(40L)
+        );
+        MatcherAssert.assertThat(
+            "The recently used text must be kept",
+            sources.text(first, StandardCharsets.UTF_8),
+            Matchers.sameInstance(text)
+        );
+    }
+
+    @Test
+    void decodesBigFiles(@TempDir final Path dir) throws Exception {
+        final String line = "// été\n";
+        final File file = SourcesTest.write(dir, "Big.java", line.repeat(100_000));
+        MatcherAssert.assertThat(
+            "A big file must be decoded with its charset",
+            new Sources(0L).text(file, StandardCharsets.UTF_8),
+            Matchers.allOf(
+                Matchers.startsWith(line),
+                Matchers.hasLength(line.length() * 100_000)
+            )
+        );
+    }
+
+    /**
+     * Write a file.
+     * @param dir Directory
+     * @param name Name of the file
+     * @param text Content
+     * @return The file
+     * @throws Exception If fails
+     */
+    private static File write(final Path dir, final String name, final String text)
+        throws Exception {
+        return Files.writeString(dir.resolve(name), text, StandardCharsets.UTF_8).toFile();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2011-2026 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.qulice.spi;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Timings}.
+ * @since 1.0
+ */
+final class TimingsTest {
+
+    @Test
+    void savesSlowestChecksFirst(@TempDir final Path dir) throws Exception {
+        final Path json = dir.resolve("timings.json");
+        final Timings timings = new Timings(json.toString());
+        timings.check("PMD", "Fast", 1_000L, 1L);
+        timings.check("Checkstyle", "Slow \"one\"", 5_000_000L, 2L);
+        timings.check("PMD", "Fast", 1_000L, 1L);
+        timings.report(1);
+        MatcherAssert.assertThat(
+            "Checks must be saved with their totals, the slowest first",
+            Files.readString(json),
+            Matchers.stringContainsInOrder(
+                "{\"tool\": \"Checkstyle\", \"name\": \"Slow \\\"one\\\"\", \"millis\": 5.000, \"calls\": 2}",
+                "{\"tool\": \"PMD\", \"name\": \"Fast\", \"millis\": 0.002, \"calls\": 2}"
+            )
+        );
+    }
+
+    @Test
+    void ignoresTimesWhenDisabled() {
+        final Timings timings = Timings.of(new Environment.Mock());
+        timings.file("PMD", "/Foo.java", 1_000L);
+        timings.report(1);
+        MatcherAssert.assertThat(
+            "Timing must be off without the parameter",
+            timings.enabled(),
+            Matchers.is(false)
+        );
+    }
+}